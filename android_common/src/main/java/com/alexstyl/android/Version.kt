@@ -21,6 +21,10 @@ object Version {
         return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
     }
 
+    fun hasNougat(): Boolean {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+    }
+
     fun hasOreo(): Boolean {
         return Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
     }
@@ -3,8 +3,7 @@ package com.alexstyl.specialdates.wear;
 public final class SharedConstants {
 
     public static final String NEXT_CONTACT_EVENTS_PATH = "/next-contact-events";
-    public static final String KEY_DATE = "key_date";
-    public static final String KEY_CONTACTS_NAMES = "key_contacts_names";
+    public static final String KEY_EVENTS_PAYLOAD = "key_events_payload";
 
     private SharedConstants() {
         // not instantiable
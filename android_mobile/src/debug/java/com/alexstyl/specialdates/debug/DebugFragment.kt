@@ -33,6 +33,7 @@ import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsSettings
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher
 import com.alexstyl.specialdates.facebook.friendimport.FacebookFriendsIntentService
 import com.alexstyl.specialdates.facebook.login.FacebookLogInActivity
+import com.alexstyl.specialdates.images.ContactPhotoUsage
 import com.alexstyl.specialdates.support.AskForSupport
 import com.alexstyl.specialdates.ui.base.MementoPreferenceFragment
 import com.alexstyl.specialdates.upcoming.widget.today.UpcomingWidgetConfigureActivity
@@ -68,6 +69,8 @@ class DebugFragment : MementoPreferenceFragment() {
         @Inject set
     var askForSupport: AskForSupport? = null
         @Inject set
+    var contactPhotoUsage: ContactPhotoUsage? = null
+        @Inject set
 
     private val onDailyReminderDateSelectedListener = DatePickerDialog.OnDateSetListener { _, year, month, dayOfMonth ->
         val month1 = month + 1 // dialog picker months have 0 index
@@ -126,6 +129,12 @@ class DebugFragment : MementoPreferenceFragment() {
             WearSyncUpcomingEventsView(activity).reloadUpcomingEventsView()
             true
         }
+        findPreference<Preference>(R.string.key_debug_log_contact_photo_usage)!!.onPreferenceClickListener = Preference.OnPreferenceClickListener {
+            val usage = contactPhotoUsage!!.toString()
+            tracker!!.log("Contact photos served: $usage")
+            showToast(usage)
+            true
+        }
         findPreference<Preference>(R.string.key_debug_reset_donations)!!.onPreferenceClickListener = Preference.OnPreferenceClickListener { preference ->
             DebugDonationPreferences.newInstance(preference.context, monitor).reset()
             Toast.makeText(preference.context, "Donations reset. You should see ads from now on", Toast.LENGTH_SHORT).show()
@@ -49,6 +49,7 @@ import com.alexstyl.specialdates.upcoming.widget.list.UpcomingEventsScrollingApp
 import com.alexstyl.specialdates.upcoming.widget.list.WidgetRouterActivity;
 import com.alexstyl.specialdates.upcoming.widget.today.TodayAppWidgetProvider;
 import com.alexstyl.specialdates.upcoming.widget.today.UpcomingWidgetConfigureActivity;
+import com.alexstyl.specialdates.wear.WearModule;
 import com.alexstyl.specialdates.wear.WearSyncService;
 
 import javax.inject.Singleton;
@@ -81,7 +82,8 @@ import dagger.Component;
         BankHolidaysModule.class,
         ThemingModule.class,
         RecentUpcomingPeopleEventsModule.class,
-        PersonModule.class
+        PersonModule.class,
+        WearModule.class
 })
 public interface AppComponent {
     void inject(MementoApplication application);
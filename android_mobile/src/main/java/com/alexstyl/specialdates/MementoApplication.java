@@ -5,8 +5,10 @@ import android.content.Context;
 import android.support.multidex.MultiDexApplication;
 
 import com.alexstyl.resources.ResourcesModule;
+import com.alexstyl.specialdates.contact.ContactsProvider;
 import com.alexstyl.specialdates.dailyreminder.DailyReminderScheduler;
 import com.alexstyl.specialdates.dailyreminder.DailyReminderUserSettings;
+import com.alexstyl.specialdates.events.ContactsObserver;
 import com.alexstyl.specialdates.events.namedays.activity.NamedaysInADayModule;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsModule;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsUpdater;
@@ -15,11 +17,15 @@ import com.alexstyl.specialdates.facebook.FacebookModule;
 import com.alexstyl.specialdates.facebook.FacebookUserSettings;
 import com.alexstyl.specialdates.facebook.friendimport.FacebookFriendsScheduler;
 import com.alexstyl.specialdates.images.AndroidContactsImageDownloader;
+import com.alexstyl.specialdates.images.BitmapPool;
+import com.alexstyl.specialdates.images.ContactPhotoUsage;
 import com.alexstyl.specialdates.images.ImageModule;
 import com.alexstyl.specialdates.images.NutraBaseImageDecoder;
 import com.alexstyl.specialdates.permissions.MementoPermissions;
 import com.alexstyl.specialdates.theming.ThemingModule;
 import com.alexstyl.specialdates.ui.widget.ViewModule;
+import com.alexstyl.specialdates.upcoming.widget.list.WidgetAvatarPrefill;
+import com.alexstyl.specialdates.upcoming.widget.today.NextEventsPayloadWriter;
 import com.alexstyl.specialdates.upcoming.PeopleEventsRefreshJob;
 import com.evernote.android.job.DailyJob;
 import com.evernote.android.job.JobManager;
@@ -42,10 +48,15 @@ public class MementoApplication extends MultiDexApplication {
     @Inject FacebookUserSettings facebookSettings;
     @Inject JobsCreator jobCreator;
     @Inject PeopleEventsUpdater peopleEventsUpdater;
+    @Inject ContactsProvider contactsProvider;
     @Inject MementoPermissions permissions;
     @Inject UpcomingEventsSettings settings;
     @Inject DailyReminderUserSettings dailyReminderUserSettings;
     @Inject DailyReminderScheduler androidDailyReminderScheduler;
+    @Inject WidgetAvatarPrefill widgetAvatarPrefill;
+    @Inject NextEventsPayloadWriter nextEventsPayloadWriter;
+    @Inject BitmapPool bitmapPool;
+    @Inject ContactPhotoUsage contactPhotoUsage;
 
     @Override
     public void onCreate() {
@@ -70,6 +81,14 @@ public class MementoApplication extends MultiDexApplication {
 
         JobManager.create(this).addJobCreator(jobCreator);
 
+        if (permissions.canReadAndWriteContacts()) {
+            observeContactChanges();
+            widgetAvatarPrefill.start();
+            nextEventsPayloadWriter.start();
+        } else {
+            nextEventsPayloadWriter.discard();
+        }
+
         if (dailyReminderUserSettings.isEnabled()) {
             androidDailyReminderScheduler.scheduleReminderFor(dailyReminderUserSettings.getTimeSet());
         }
@@ -88,6 +107,24 @@ public class MementoApplication extends MultiDexApplication {
         schedulePeopleEventJob();
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            bitmapPool.clear();
+        }
+    }
+
+    private void observeContactChanges() {
+        new ContactsObserver(getContentResolver()).startObserving(new EventsUpdateTrigger.Callback() {
+            @Override
+            public void onMonitorTriggered() {
+                contactsProvider.invalidateContacts();
+                peopleEventsUpdater.requestUpdate();
+            }
+        });
+    }
+
     private boolean needsToInitialiseEvents() {
         return permissions.canReadAndWriteContacts() && !settings.hasBeenInitialised();
     }
@@ -104,17 +141,17 @@ public class MementoApplication extends MultiDexApplication {
     protected void initialiseDependencies() {
         Log.setShowLogs(BuildConfig.DEBUG);
         JodaTimeAndroid.init(this);
-        initImageLoader(this);
+        initImageLoader(this, bitmapPool, contactPhotoUsage);
     }
 
     @SuppressWarnings("MagicNumber")
-    public static void initImageLoader(Context context) {
+    public static void initImageLoader(Context context, BitmapPool bitmapPool, ContactPhotoUsage contactPhotoUsage) {
         ImageLoaderConfiguration.Builder config = new ImageLoaderConfiguration.Builder(context)
-                .threadPriority(Thread.MIN_PRIORITY)
-                .threadPoolSize(10)
+                .threadPriority(Thread.NORM_PRIORITY - 2)
+                .threadPoolSize(4)
                 .tasksProcessingOrder(QueueProcessingType.LIFO)
-                .imageDecoder(new NutraBaseImageDecoder(BuildConfig.DEBUG))
-                .imageDownloader(new AndroidContactsImageDownloader(context));
+                .imageDecoder(new NutraBaseImageDecoder(BuildConfig.DEBUG, bitmapPool))
+                .imageDownloader(new AndroidContactsImageDownloader(context, contactPhotoUsage));
         L.writeLogs(BuildConfig.DEBUG);
 
         com.nostra13.universalimageloader.core.ImageLoader.getInstance().init(config.build());
@@ -1,5 +1,7 @@
 package com.alexstyl.specialdates.contact
 
+import com.alexstyl.specialdates.contact.ContactSource.SOURCE_DEVICE
+
 internal class AndroidContactsProviderSource(private val cache: ContactCache, private val factory: AndroidContactFactory) : ContactsProviderSource {
 
 
@@ -17,13 +19,26 @@ internal class AndroidContactsProviderSource(private val cache: ContactCache, pr
         get() {
             val allContacts = factory.getAllContacts()
             cache.evictAll()
+            cache.resizeFor(allContacts.contacts.size)
             cache.addContacts(allContacts)
             return allContacts
         }
 
     override fun queryContacts(contactIds: List<Long>): Contacts {
-        val contacts = factory.queryContacts(contactIds)
-        cache.addContacts(contacts)
-        return contacts
+        val cachedContacts = cache.getAll(contactIds)
+        val missingIds = contactIds.filterNot { cachedContacts.containsKey(it) }.distinct()
+        if (missingIds.isEmpty()) {
+            return Contacts(SOURCE_DEVICE, cachedContacts.values())
+        }
+        val queriedContacts = factory.queryContacts(missingIds)
+        cache.addContacts(queriedContacts)
+        return Contacts(SOURCE_DEVICE, cachedContacts.values() + queriedContacts.contacts)
     }
+
+    override fun evictCachedContacts() {
+        cache.evictAll()
+    }
+
+    override val cacheStatistics: ContactCacheStatistics
+        get() = cache
 }
@@ -1,12 +1,16 @@
 package com.alexstyl.specialdates.contact
 
+import android.app.ActivityManager
 import android.content.ContentResolver
+import android.content.Context
 import com.alexstyl.specialdates.CrashAndErrorTracker
 import com.alexstyl.specialdates.contact.ContactSource.SOURCE_DEVICE
 import com.alexstyl.specialdates.contact.ContactSource.SOURCE_FACEBOOK
 import com.alexstyl.specialdates.events.database.EventSQLiteOpenHelper
 import dagger.Module
 import dagger.Provides
+import io.reactivex.schedulers.Schedulers
+import java.util.concurrent.TimeUnit
 import javax.inject.Singleton
 
 @Module
@@ -14,27 +18,36 @@ class ContactsModule {
 
     @Provides
     @Singleton
-    internal fun provider(contentResolver: ContentResolver,
+    internal fun provider(context: Context,
+                          contentResolver: ContentResolver,
                           eventSQLiteOpenHelper: EventSQLiteOpenHelper,
                           tracker: CrashAndErrorTracker): ContactsProvider {
         return ContactsProvider(mapOf(
-                Pair(SOURCE_DEVICE, buildAndroidSource(tracker, contentResolver)),
-                Pair(SOURCE_FACEBOOK, buildFacebookSource(eventSQLiteOpenHelper))
-        ))
+                Pair(SOURCE_DEVICE, buildAndroidSource(tracker, contentResolver, cacheSizingFor(context))),
+                Pair(SOURCE_FACEBOOK, buildFacebookSource(eventSQLiteOpenHelper, cacheSizingFor(context)))
+        ), tracker, SNAPSHOT_TIME_TO_LIVE, Schedulers.io())
     }
 
     companion object {
 
-        private const val CACHE_SIZE = 1024
+        private val SNAPSHOT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1)
 
-        private fun buildAndroidSource(tracker: CrashAndErrorTracker, contentResolver: ContentResolver): ContactsProviderSource {
+        private fun cacheSizingFor(context: Context): ContactCacheSizing {
+            val activityManager = context.getSystemService(Context.ACTIVITY_SERVICE) as ActivityManager
+            return ContactCacheSizing(activityManager.memoryClass)
+        }
+
+        private fun buildAndroidSource(tracker: CrashAndErrorTracker,
+                                       contentResolver: ContentResolver,
+                                       cacheSizing: ContactCacheSizing): ContactsProviderSource {
             val factory = AndroidContactFactory(contentResolver, tracker)
-            val contactCache = ContactCache(CACHE_SIZE)
+            val contactCache = ContactCache(cacheSizing)
             return AndroidContactsProviderSource(contactCache, factory)
         }
 
-        private fun buildFacebookSource(eventSQLHelper: EventSQLiteOpenHelper): ContactsProviderSource {
-            val contactCache = ContactCache(CACHE_SIZE)
+        private fun buildFacebookSource(eventSQLHelper: EventSQLiteOpenHelper,
+                                        cacheSizing: ContactCacheSizing): ContactsProviderSource {
+            val contactCache = ContactCache(cacheSizing)
             return FacebookContactsSource(eventSQLHelper, contactCache)
         }
     }
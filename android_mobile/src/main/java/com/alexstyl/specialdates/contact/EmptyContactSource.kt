@@ -12,4 +12,11 @@ class EmptyContactSource(val source: Int) : ContactsProviderSource {
     }
 
     override fun queryContacts(contactIds: List<Long>): Contacts = Contacts(source, emptyList())
+
+    override fun evictCachedContacts() {
+        // nothing is cached
+    }
+
+    override val cacheStatistics: ContactCacheStatistics
+        get() = ContactCacheStatistics.NONE
 }
@@ -38,12 +38,17 @@ internal class FacebookContactsSource(private val eventSQLHelper: EventSQLiteOpe
     }
 
     override fun queryContacts(contactIds: List<Long>): Contacts {
+        val cachedContacts = cache.getAll(contactIds)
+        val missingIds = contactIds.filterNot { cachedContacts.containsKey(it) }.distinct()
+        if (missingIds.isEmpty()) {
+            return Contacts(SOURCE_FACEBOOK, cachedContacts.values())
+        }
         val readableDatabase = eventSQLHelper.readableDatabase
         val cursor = readableDatabase.query(
                 AnnualEventsContract.TABLE_NAME,
                 null,
-                "$IS_A_FACEBOOK_CONTACT AND ${AnnualEventsContract.CONTACT_ID} IN (${List(contactIds.size, { "?" }).joinToString(",")})",
-                contactIds.map { it.toString() }.toTypedArray(),
+                "$IS_A_FACEBOOK_CONTACT AND ${AnnualEventsContract.CONTACT_ID} IN (${List(missingIds.size, { "?" }).joinToString(",")})",
+                missingIds.map { it.toString() }.toTypedArray(),
                 null,
                 null,
                 null
@@ -55,7 +60,7 @@ internal class FacebookContactsSource(private val eventSQLHelper: EventSQLiteOpe
                 createContactFrom(it)
             }))
             cache.addContacts(contacts)
-            return@use contacts
+            return@use Contacts(SOURCE_FACEBOOK, cachedContacts.values() + contacts.contacts)
         }
     }
 
@@ -63,11 +68,19 @@ internal class FacebookContactsSource(private val eventSQLHelper: EventSQLiteOpe
         get() {
             return queryAllContacts().apply {
                 cache.evictAll()
+                cache.resizeFor(contacts.size)
                 cache.addContacts(this)
             }
         }
 
 
+    override fun evictCachedContacts() {
+        cache.evictAll()
+    }
+
+    override val cacheStatistics: ContactCacheStatistics
+        get() = cache
+
     private fun queryAllContacts(): Contacts {
         val db = eventSQLHelper.readableDatabase
         val cursor = db.rawQuery(
@@ -20,6 +20,7 @@ import com.alexstyl.specialdates.R
 import com.alexstyl.specialdates.dailyreminder.actions.PersonActionsActivity
 import com.alexstyl.specialdates.events.namedays.activity.NamedaysOnADayActivity
 import com.alexstyl.specialdates.home.HomeActivity
+import com.alexstyl.specialdates.images.BitmapPool
 import com.alexstyl.specialdates.images.ImageLoader
 import com.alexstyl.specialdates.person.PersonActivity
 import java.net.URI
@@ -28,7 +29,8 @@ import java.net.URI
 class AndroidDailyReminderNotifier(private val context: Context,
                                    private val notificationManager: NotificationManager,
                                    private val imageLoader: ImageLoader,
-                                   private val colors: Colors) : DailyReminderNotifier {
+                                   private val colors: Colors,
+                                   private val bitmapPool: BitmapPool) : DailyReminderNotifier {
 
     override fun notifyFor(viewModel: DailyReminderViewModel) {
         if (viewModel.contacts.isNotEmpty()) {
@@ -62,14 +64,15 @@ class AndroidDailyReminderNotifier(private val context: Context,
                     startIntent,
                     PendingIntent.FLAG_UPDATE_CURRENT)
 
-
+            val avatar = loadAvatar(viewModel.contact.imagePath)
+            val largeIcon = if (avatar != null && Version.hasLollipop()) avatar.toCircle() else avatar
             val notification =
                     NotificationCompat.Builder(context, NotificationConstants.CHANNEL_ID_CONTACTS)
                             .setContentTitle(viewModel.title)
                             .setContentText(viewModel.label)
                             .setContentIntent(pendingIntent)
                             .setActions(viewModel)
-                            .loadLargeImage(viewModel.contact.imagePath)
+                            .setLargeIcon(largeIcon)
                             .setSmallIcon(R.drawable.ic_stat_memento)
                             .setColor(colors.getDailyReminderColor())
                             .setGroup(NotificationConstants.DAILY_REMINDER_GROUP_ID)
@@ -78,6 +81,10 @@ class AndroidDailyReminderNotifier(private val context: Context,
                             .addPerson(CONTENT_LOOKUP_URI.buildUpon().appendPath(viewModel.contact.contactID.toString()).build().toString())
                             .build()
             notificationManager.notify(viewModel.notificationId, notification)
+            if (largeIcon != null && largeIcon !== avatar) {
+                // the notification manager keeps a copy of the icon once notified
+                bitmapPool.put(largeIcon)
+            }
         }
     }
 
@@ -156,7 +163,7 @@ class AndroidDailyReminderNotifier(private val context: Context,
         notificationManager.cancel(NotificationConstants.NOTIFICATION_ID_NAMEDAYS)
     }
 
-    private fun NotificationCompat.Builder.loadLargeImage(imagePath: URI): NotificationCompat.Builder = apply {
+    private fun loadAvatar(imagePath: URI): Bitmap? {
         val width = context.resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_width)
         val height = context.resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_height)
         val bitmap =
@@ -164,17 +171,11 @@ class AndroidDailyReminderNotifier(private val context: Context,
                         .load(imagePath)
                         .withSize(width, height)
                         .synchronously()
-        if (bitmap.isPresent) {
-            if (Version.hasLollipop()) {
-                setLargeIcon(bitmap.get().toCircle())
-            } else {
-                setLargeIcon(bitmap.get())
-            }
-        }
+        return if (bitmap.isPresent) bitmap.get() else null
     }
 
-    private fun Bitmap.toCircle(): Bitmap? {
-        val output = Bitmap.createBitmap(
+    private fun Bitmap.toCircle(): Bitmap {
+        val output = bitmapPool.get(
                 this.width,
                 this.height,
                 Bitmap.Config.ARGB_8888
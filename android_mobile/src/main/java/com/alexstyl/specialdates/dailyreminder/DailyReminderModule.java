@@ -14,6 +14,7 @@ import com.alexstyl.specialdates.events.bankholidays.BankHolidaysUserSettings;
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings;
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider;
+import com.alexstyl.specialdates.images.BitmapPool;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.alexstyl.specialdates.permissions.MementoPermissions;
 import com.alexstyl.specialdates.settings.DailyReminderNavigator;
@@ -60,8 +61,9 @@ public class DailyReminderModule {
     DailyReminderNotifier notifier(Context context,
                                    ImageLoader imageLoader,
                                    Colors colors,
-                                   NotificationManager notificationManager) {
-        return new AndroidDailyReminderNotifier(context, notificationManager, imageLoader, colors);
+                                   NotificationManager notificationManager,
+                                   BitmapPool bitmapPool) {
+        return new AndroidDailyReminderNotifier(context, notificationManager, imageLoader, colors, bitmapPool);
     }
 
     @Provides
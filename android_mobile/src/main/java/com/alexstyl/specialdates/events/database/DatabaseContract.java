@@ -6,6 +6,54 @@ public final class DatabaseContract {
 
     public static final class AnnualEventsContract implements BaseColumns, ContactColumns, EventColumns {
         public static final String TABLE_NAME = "annual_events";
+
+        /**
+         * The month and day of the event in a MM-DD fashion, so that events can be looked up in order regardless of their year
+         */
+        public static final String MONTH_DAY = "month_day";
+
+        /**
+         * Creates the statement that creates a table with the schema of the annual events,
+         * under the given name
+         */
+        public static String createTableStatement(String tableName) {
+            return "CREATE TABLE " + tableName + " ("
+                    + _ID + " INTEGER NOT NULL, "
+                    + DISPLAY_NAME + " TEXT NOT NULL, "
+                    + DEVICE_EVENT_ID + " INTEGER NOT NULL, "
+                    + CONTACT_ID + " INTEGER NOT NULL, "
+                    + DATE + " TEXT NOT NULL, "
+                    + MONTH_DAY + " TEXT NOT NULL, "
+                    + EVENT_TYPE + " INTEGER NOT NULL, "
+                    + SOURCE + " INTEGER NOT NULL, "
+                    + VISIBLE + " INTEGER NOT NULL, "
+                    + "PRIMARY KEY (" + _ID + ")"
+                    + ");";
+        }
+
+        /**
+         * Creates the statement that indexes the events of the annual events table by their day of the year
+         */
+        public static String createMonthDayIndexStatement() {
+            return "CREATE INDEX IF NOT EXISTS " + TABLE_NAME + "_" + MONTH_DAY
+                    + " ON " + TABLE_NAME + " (" + MONTH_DAY + ", " + VISIBLE + ");";
+        }
+
+        /**
+         * Creates the statements that add the month and day column, and its index, to an annual events table that was
+         * created without them. The month and day of existing events are taken from the end of their date.
+         */
+        public static String[] addMonthDayColumnStatements() {
+            return new String[]{
+                    "ALTER TABLE " + TABLE_NAME + " ADD COLUMN " + MONTH_DAY + " TEXT NOT NULL DEFAULT '';",
+                    "UPDATE " + TABLE_NAME + " SET " + MONTH_DAY + " = substr(" + DATE + ", -5);",
+                    createMonthDayIndexStatement()
+            };
+        }
+
+        private AnnualEventsContract() {
+            // hide this
+        }
     }
 
     private DatabaseContract() {
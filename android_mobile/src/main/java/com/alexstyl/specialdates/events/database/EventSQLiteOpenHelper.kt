@@ -3,43 +3,39 @@ package com.alexstyl.specialdates.events.database
 import android.content.Context
 import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteOpenHelper
-import android.provider.BaseColumns._ID
-import com.alexstyl.specialdates.events.database.ContactColumns.CONTACT_ID
-import com.alexstyl.specialdates.events.database.ContactColumns.DISPLAY_NAME
+import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract
 import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract.TABLE_NAME
-import com.alexstyl.specialdates.events.database.EventColumns.DATE
-import com.alexstyl.specialdates.events.database.EventColumns.DEVICE_EVENT_ID
-import com.alexstyl.specialdates.events.database.EventColumns.EVENT_TYPE
-import com.alexstyl.specialdates.events.database.EventColumns.SOURCE
-import com.alexstyl.specialdates.events.database.EventColumns.VISIBLE
 
 class EventSQLiteOpenHelper(context: Context) : SQLiteOpenHelper(context, DATABASE_NAME, null, DATABASE_VERSION) {
 
+    init {
+        // readers keep reading the last committed data while a rebuild is being written, instead of waiting for it.
+        // Queries outside of a transaction run on the pooled reader connections of the database that the helper opens.
+        setWriteAheadLoggingEnabled(true)
+    }
+
     override fun onUpgrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) {
+        if (oldVersion == VERSION_WITHOUT_MONTH_DAY) {
+            // the events are kept, as nothing would store them again until the next refresh or Facebook import
+            AnnualEventsContract.addMonthDayColumnStatements().forEach { db.execSQL(it) }
+            return
+        }
         db.execSQL("DROP TABLE IF EXISTS dynamic_events;")
         db.execSQL("DROP TABLE IF EXISTS annual_events;")
         onCreate(db)
     }
 
     override fun onCreate(db: SQLiteDatabase) {
-        db.execSQL(("CREATE TABLE $TABLE_NAME ("
-                + "$_ID INTEGER NOT NULL, "
-                + "$DISPLAY_NAME TEXT NOT NULL, "
-                + "$DEVICE_EVENT_ID INTEGER NOT NULL, "
-                + "$CONTACT_ID INTEGER NOT NULL, "
-                + "$DATE TEXT NOT NULL, "
-                + "$EVENT_TYPE INTEGER NOT NULL, "
-                + "$SOURCE INTEGER NOT NULL, "
-                + "$VISIBLE INTEGER NOT NULL, "
-                + "PRIMARY KEY ($_ID)"
-                + ");"))
+        db.execSQL(AnnualEventsContract.createTableStatement(TABLE_NAME))
+        db.execSQL(AnnualEventsContract.createMonthDayIndexStatement())
     }
 
     companion object {
 
-        const val DATABASE_VERSION = 5
+        const val DATABASE_VERSION = 6
 
-        private const val DATABASE_NAME = "events.db"
+        private const val VERSION_WITHOUT_MONTH_DAY = 5
 
+        private const val DATABASE_NAME = "events.db"
     }
 }
@@ -1,6 +1,7 @@
 package com.alexstyl.specialdates.events.peopleevents
 
 import android.content.ContentValues
+import android.database.DatabaseUtils
 import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteException
 import android.database.sqlite.SQLiteOpenHelper
@@ -58,6 +59,123 @@ class AndroidPeopleEventsPersister(private val helper: SQLiteOpenHelper,
                 }
     }
 
+    override fun replaceAllDeviceEvents(events: List<ContactEvent>) {
+        rebuildReplacing(
+                "${EventColumns.SOURCE}  ==  ${ContactSource.SOURCE_DEVICE}" +
+                        " AND ${EventColumns.EVENT_TYPE}  != ${StandardEventType.NAMEDAY.id}",
+                events
+        )
+    }
+
+    override fun replaceAllNamedays(events: List<ContactEvent>) {
+        rebuildReplacing("${AnnualEventsContract.EVENT_TYPE}  ==  $TYPE_NAMEDAY", events)
+    }
+
+    /*
+     * The new events are written into a shadow table first, without touching the table that readers use.
+     * Only then, in a second transaction, the replaced events are deleted and the new ones are copied over.
+     * The events that are kept stay where they are, together with their ids, so the second transaction only
+     * costs as much as the events that are replaced.
+     *
+     * Rebuilds share the same shadow table, so they run one at a time across all persisters of the process.
+     */
+    private fun rebuildReplacing(replacedEvents: String, events: List<ContactEvent>) {
+        synchronized(REBUILD_LOCK) {
+            val database = helper.writableDatabase
+            val shadowFilled = database.executeTransaction {
+                execSQL("DROP TABLE IF EXISTS $SHADOW_TABLE_NAME")
+                execSQL(AnnualEventsContract.createTableStatement(SHADOW_TABLE_NAME))
+                marshaller
+                        .marshall(events)
+                        .forEach { contentValues ->
+                            insert(SHADOW_TABLE_NAME, null, contentValues)
+                        }
+            }
+            if (shadowFilled) {
+                database.executeTransaction {
+                    delete(AnnualEventsContract.TABLE_NAME, replacedEvents, null)
+                    execSQL("INSERT INTO ${AnnualEventsContract.TABLE_NAME} ($COPIED_COLUMNS)" +
+                            " SELECT $COPIED_COLUMNS FROM $SHADOW_TABLE_NAME")
+                    execSQL("DROP TABLE $SHADOW_TABLE_NAME")
+                }
+            }
+        }
+    }
+
+    override fun syncEventsOfSource(@ContactSource source: Int, events: List<ContactEvent>): EventsSyncResult {
+        var changed = false
+        val synced = helper.writableDatabase.executeTransaction {
+            val redundantRowIds = ArrayList<Long>()
+            val storedEvents = storedEventsOf(source, redundantRowIds)
+            val syncedKeys = HashSet<StoredEventKey>()
+            marshaller
+                    .marshall(events)
+                    .forEach { contentValues ->
+                        val key = StoredEventKey.of(contentValues)
+                        if (!syncedKeys.add(key)) {
+                            return@forEach
+                        }
+                        val storedEvent = storedEvents.remove(key)
+                        if (storedEvent == null) {
+                            insert(AnnualEventsContract.TABLE_NAME, null, contentValues)
+                            changed = true
+                        } else if (storedEvent.differsFrom(contentValues)) {
+                            contentValues.remove(AnnualEventsContract.VISIBLE)
+                            update(AnnualEventsContract.TABLE_NAME, contentValues, "${AnnualEventsContract._ID} = ${storedEvent.rowId}", null)
+                            changed = true
+                        }
+                    }
+            redundantRowIds.addAll(storedEvents.values.map { it.rowId })
+            redundantRowIds.forEach { rowId ->
+                delete(AnnualEventsContract.TABLE_NAME, "${AnnualEventsContract._ID} = $rowId", null)
+                changed = true
+            }
+        }
+        return when {
+            !synced -> EventsSyncResult.FAILED
+            changed -> EventsSyncResult.CHANGED
+            else -> EventsSyncResult.UNCHANGED
+        }
+    }
+
+    /*
+     * Only one event is kept for each contact and type. The ids of any other rows are added to redundantRowIds.
+     */
+    private fun SQLiteDatabase.storedEventsOf(@ContactSource source: Int,
+                                              redundantRowIds: MutableList<Long>): MutableMap<StoredEventKey, StoredEvent> {
+        val storedEvents = HashMap<StoredEventKey, StoredEvent>()
+        query(AnnualEventsContract.TABLE_NAME, STORED_EVENT_PROJECTION,
+                "${AnnualEventsContract.SOURCE} == $source", null, null, null, null).use { cursor ->
+            while (cursor.moveToNext()) {
+                val key = StoredEventKey(cursor.getLong(1), cursor.getInt(2))
+                val storedEvent = StoredEvent(cursor.getLong(0), cursor.getString(3), cursor.getString(4), cursor.getString(5), cursor.getLong(6))
+                storedEvents.put(key, storedEvent)?.let { redundantRowIds.add(it.rowId) }
+            }
+        }
+        return storedEvents
+    }
+
+    private data class StoredEventKey(val contactId: Long, val eventType: Int) {
+
+        companion object {
+            fun of(values: ContentValues) =
+                    StoredEventKey(values.getAsLong(AnnualEventsContract.CONTACT_ID), values.getAsInteger(AnnualEventsContract.EVENT_TYPE))
+        }
+    }
+
+    private class StoredEvent(val rowId: Long,
+                              private val displayName: String,
+                              private val date: String,
+                              private val monthDay: String,
+                              private val deviceEventId: Long) {
+
+        fun differsFrom(values: ContentValues): Boolean =
+                displayName != values.getAsString(AnnualEventsContract.DISPLAY_NAME)
+                        || date != values.getAsString(AnnualEventsContract.DATE)
+                        || monthDay != values.getAsString(AnnualEventsContract.MONTH_DAY)
+                        || deviceEventId != values.getAsLong(AnnualEventsContract.DEVICE_EVENT_ID)
+    }
+
     override fun markContactAsVisible(contact: Contact) {
         helper.writableDatabase
                 .executeTransaction {
@@ -95,7 +213,7 @@ class AndroidPeopleEventsPersister(private val helper: SQLiteOpenHelper,
     }
 
     override fun getVisibilityFor(contact: Contact): Boolean {
-        val database = helper.writableDatabase
+        val database = helper.readableDatabase
         // TODO just COUNT() events the contact has
         val query = database.query(
                 AnnualEventsContract.TABLE_NAME, null,
@@ -108,16 +226,48 @@ class AndroidPeopleEventsPersister(private val helper: SQLiteOpenHelper,
         return count > 0
     }
 
-    private inline fun SQLiteDatabase.executeTransaction(function: SQLiteDatabase.() -> Unit) {
+    override fun hasEventsOfSource(@ContactSource source: Int): Boolean =
+            DatabaseUtils.queryNumEntries(
+                    helper.readableDatabase,
+                    AnnualEventsContract.TABLE_NAME,
+                    "${AnnualEventsContract.SOURCE} == $source"
+            ) > 0
+
+    private inline fun SQLiteDatabase.executeTransaction(function: SQLiteDatabase.() -> Unit): Boolean {
         try {
             this.beginTransaction()
             function(this)
             this.setTransactionSuccessful()
+            return true
         } catch (e: SQLiteException) {
             tracker.track(e)
+            return false
         } finally {
             this.endTransaction()
         }
     }
+
+    companion object {
+
+        private val REBUILD_LOCK = Any()
+        private const val SHADOW_TABLE_NAME = AnnualEventsContract.TABLE_NAME + "_shadow"
+        private val STORED_EVENT_PROJECTION = arrayOf(
+                AnnualEventsContract._ID,
+                AnnualEventsContract.CONTACT_ID,
+                AnnualEventsContract.EVENT_TYPE,
+                AnnualEventsContract.DISPLAY_NAME,
+                AnnualEventsContract.DATE,
+                AnnualEventsContract.MONTH_DAY,
+                AnnualEventsContract.DEVICE_EVENT_ID
+        )
+        private const val COPIED_COLUMNS = AnnualEventsContract.DISPLAY_NAME + ", " +
+                AnnualEventsContract.DEVICE_EVENT_ID + ", " +
+                AnnualEventsContract.CONTACT_ID + ", " +
+                AnnualEventsContract.DATE + ", " +
+                AnnualEventsContract.MONTH_DAY + ", " +
+                AnnualEventsContract.EVENT_TYPE + ", " +
+                AnnualEventsContract.SOURCE + ", " +
+                AnnualEventsContract.VISIBLE
+    }
 }
 
@@ -20,6 +20,12 @@ import com.alexstyl.specialdates.events.database.EventSQLiteOpenHelper
 import com.alexstyl.specialdates.events.database.EventTypeId
 import com.alexstyl.specialdates.events.database.EventTypeId.TYPE_CUSTOM
 import com.novoda.notils.logger.simple.Log
+import io.reactivex.Emitter
+import io.reactivex.Flowable
+import io.reactivex.functions.BiConsumer
+import io.reactivex.functions.Consumer
+import java.util.ArrayDeque
+import java.util.concurrent.Callable
 
 class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHelper,
                                   private val contactsProvider: ContactsProvider,
@@ -28,51 +34,98 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
                                   private val tracker: CrashAndErrorTracker,
                                   private val shortDateLabelCreator: ShortDateLabelCreator) : PeopleEventsProvider {
 
+    private val eventDaysQuery = EventDaysQuery(shortDateLabelCreator)
+
     override fun fetchEventsOn(date: Date): ContactEventsOnADate {
         return ContactEventsOnADate.createFrom(date, fetchEventsBetween(TimePeriod.between(date, date)))
     }
 
     override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> {
         val cursor = queryEventsFor(timePeriod)
+        val reader = ContactEventsReader(cursor, Math.max(cursor.count, 1))
         val contactEvents = ArrayList<ContactEvent>(cursor.count)
+        while (true) {
+            val contactEvent = reader.next() ?: break
+            contactEvents.add(contactEvent)
+        }
+        cursor.close()
+        return contactEvents.toList()
+    }
 
-        val deviceIds = ArrayList<Long>(cursor.count)
-        val facebookIds = ArrayList<Long>(cursor.count)
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> =
+            Flowable.generate<ContactEvent, ContactEventsReader>(
+                    Callable { ContactEventsReader(queryEventsFor(timePeriod), STREAMED_ROWS_PER_READ) },
+                    BiConsumer<ContactEventsReader, Emitter<ContactEvent>> { reader, emitter ->
+                        val contactEvent = reader.next()
+                        if (contactEvent == null) {
+                            emitter.onComplete()
+                        } else {
+                            emitter.onNext(contactEvent)
+                        }
+                    },
+                    Consumer { reader -> reader.close() }
+            )
 
-        while (cursor.moveToNext()) {
-            val contactId = getContactIdFrom(cursor)
-            val source = getContactSourceFrom(cursor)
+    /*
+     * Walks the cursor a number of rows at a time, looking up the contacts of each batch of rows at once
+     */
+    private inner class ContactEventsReader(private val cursor: Cursor, private val rowsPerRead: Int) {
+
+        private val contactEvents = ArrayDeque<ContactEvent>()
 
-            when (source) {
-                ContactSource.SOURCE_DEVICE -> deviceIds.add(contactId)
-                ContactSource.SOURCE_FACEBOOK -> facebookIds.add(contactId)
-                else -> throw UnsupportedOperationException("Source $source not managed")
+        fun next(): ContactEvent? {
+            while (contactEvents.isEmpty()) {
+                if (!readRows()) {
+                    return null
+                }
             }
+            return contactEvents.poll()
+        }
+
+        fun close() {
+            cursor.close()
         }
 
-        val deviceContacts = contactsProvider.getContacts(deviceIds, ContactSource.SOURCE_DEVICE)
-        val facebookContacts = contactsProvider.getContacts(facebookIds, ContactSource.SOURCE_FACEBOOK)
-        val contacts = HashMap<Int, Contacts>()
-        contacts[ContactSource.SOURCE_DEVICE] = deviceContacts
-        contacts[ContactSource.SOURCE_FACEBOOK] = facebookContacts
+        private fun readRows(): Boolean {
+            val positionBeforeRows = cursor.position
+            val deviceIds = ArrayList<Long>(rowsPerRead)
+            val facebookIds = ArrayList<Long>(rowsPerRead)
 
-        cursor.moveToFirst()
-        while (!cursor.isAfterLast) {
-            try {
-                val contactsOfSource = contacts[getContactSourceFrom(cursor)]
-                val contact = contactsOfSource?.getContact(getContactIdFrom(cursor))
-                if (contact != null) {
-                    val contactEvent = getContactEventFrom(cursor, contact)
-                    contactEvents.add(contactEvent)
+            var rows = 0
+            while (rows < rowsPerRead && cursor.moveToNext()) {
+                val contactId = getContactIdFrom(cursor)
+                val source = getContactSourceFrom(cursor)
+
+                when (source) {
+                    ContactSource.SOURCE_DEVICE -> deviceIds.add(contactId)
+                    ContactSource.SOURCE_FACEBOOK -> facebookIds.add(contactId)
+                    else -> throw UnsupportedOperationException("Source $source not managed")
                 }
-            } catch (e: ContactNotFoundException) {
-                tracker.track(e)
+                rows++
+            }
+            if (rows == 0) {
+                return false
             }
 
-            cursor.moveToNext()
+            val contacts = HashMap<Int, Contacts>()
+            contacts[ContactSource.SOURCE_DEVICE] = contactsProvider.getContacts(deviceIds, ContactSource.SOURCE_DEVICE)
+            contacts[ContactSource.SOURCE_FACEBOOK] = contactsProvider.getContacts(facebookIds, ContactSource.SOURCE_FACEBOOK)
+
+            cursor.moveToPosition(positionBeforeRows)
+            for (i in 0 until rows) {
+                cursor.moveToNext()
+                try {
+                    val contactsOfSource = contacts[getContactSourceFrom(cursor)]
+                    val contact = contactsOfSource?.getContact(getContactIdFrom(cursor))
+                    if (contact != null) {
+                        contactEvents.add(getContactEventFrom(cursor, contact))
+                    }
+                } catch (e: ContactNotFoundException) {
+                    tracker.track(e)
+                }
+            }
+            return true
         }
-        cursor.close()
-        return contactEvents.toList()
     }
 
     override fun fetchEventsFor(contact: Contact): List<ContactEvent> {
@@ -93,7 +146,7 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
 
     private fun queryEventsFor(timeDuration: TimePeriod): Cursor {
         return if (isWithinTheSameYear(timeDuration)) {
-            queryPeopleEvents(timeDuration, AnnualEventsContract.DATE + " ASC")
+            queryPeopleEvents(timeDuration, AnnualEventsContract.MONTH_DAY + " ASC")
         } else {
             queryAllYearsIn(timeDuration)
         }
@@ -129,9 +182,9 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
     private fun queryAllYearsIn(timeDuration: TimePeriod): Cursor {
         val firstHalf = firstHalfOf(timeDuration)
         val cursors = arrayOfNulls<Cursor>(2)
-        cursors[0] = queryPeopleEvents(firstHalf, AnnualEventsContract.DATE + " ASC")
+        cursors[0] = queryPeopleEvents(firstHalf, AnnualEventsContract.MONTH_DAY + " ASC")
         val secondHalf = secondHalfOf(timeDuration)
-        cursors[1] = queryPeopleEvents(secondHalf, AnnualEventsContract.DATE + " ASC")
+        cursors[1] = queryPeopleEvents(secondHalf, AnnualEventsContract.MONTH_DAY + " ASC")
         return MergeCursor(cursors)
     }
 
@@ -139,32 +192,38 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
         return timeDuration.startingDate.year == timeDuration.endingDate.year
     }
 
-    override fun findClosestEventDateOnOrAfter(date: Date): Date? =
-            eventSQLHelper
-                    .readableDatabase
-                    .queryFirstEventOnOrAfter(date)
-                    .use { cursor ->
-                        return if (cursor.moveToFirst()) {
-                            return cursor.getDate().withYear(date.year)
-                        } else {
-                            null
+    override fun findClosestEventDateOnOrAfter(date: Date): Date? = findNextEventDates(date, 1).firstOrNull()
+
+    override fun findNextEventDates(from: Date, count: Int): List<Date> =
+            NextEventDates.collect(from, count) { start, limit ->
+                eventSQLHelper
+                        .readableDatabase
+                        .queryEventDaysOnOrAfter(start, limit)
+                        .use { cursor ->
+                            val dates = ArrayList<Date>(cursor.count)
+                            while (cursor.moveToNext()) {
+                                val monthDay = cursor.getString(0)
+                                val month = monthDay.substring(0, 2).toInt()
+                                val dayOfMonth = monthDay.substring(3, 5).toInt()
+                                dates.add(Date.on(dayOfMonth, month, start.year))
+                            }
+                            dates
                         }
-                    }
-
-    private fun Date.withYear(year: Int): Date = Date.on(this.dayOfMonth, this.month, year)
+            }
 
-    private fun SQLiteDatabase.queryFirstEventOnOrAfter(date: Date): Cursor =
+    /*
+     * Walks the month_day index in order and stops as soon as enough days are found
+     */
+    private fun SQLiteDatabase.queryEventDaysOnOrAfter(date: Date, limit: Int): Cursor =
             query(
+                    true,
                     AnnualEventsContract.TABLE_NAME,
-                    AndroidPeopleEventsProvider.PEOPLE_PROJECTION,
-                    "${AndroidPeopleEventsProvider.DATE_COLUMN_WITHOUT_YEAR} >= ?",
-                    monthAndDayOf(date),
+                    MONTH_DAY_PROJECTION,
+                    eventDaysQuery.selectionFor(date.year),
+                    eventDaysQuery.argumentsFor(date),
                     null, null,
-                    "${AndroidPeopleEventsProvider.DATE_COLUMN_WITHOUT_YEAR} ASC LIMIT 1")
-
-    private fun monthAndDayOf(date: Date): Array<String> {
-        return arrayOf(shortDateLabelCreator.createLabelWithNoYearFor(date))
-    }
+                    "${AnnualEventsContract.MONTH_DAY} ASC",
+                    limit.toString())
 
     private fun getEventType(cursor: Cursor): EventType {
         val eventTypeIndex = cursor.getColumnIndexOrThrow(AnnualEventsContract.EVENT_TYPE)
@@ -205,10 +264,11 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
 
     companion object {
 
-        private const val DATE_FROM = "substr(" + AnnualEventsContract.DATE + ",-5) >= ?"
-        private const val DATE_TO = "substr(" + AnnualEventsContract.DATE + ",-5) <= ?"
+        private const val STREAMED_ROWS_PER_READ = 50
+        private const val DATE_FROM = AnnualEventsContract.MONTH_DAY + " >= ?"
+        private const val DATE_TO = AnnualEventsContract.MONTH_DAY + " <= ?"
         private const val DATE_BETWEEN_IGNORING_YEAR = DATE_FROM + " AND " + DATE_TO + " AND " + AnnualEventsContract.VISIBLE + " == 1"
-        private val PEOPLE_PROJECTION = arrayOf(AnnualEventsContract.DATE)
+        private val MONTH_DAY_PROJECTION = arrayOf(AnnualEventsContract.MONTH_DAY)
         private val PROJECTION = arrayOf(
                 AnnualEventsContract.CONTACT_ID,
                 AnnualEventsContract.DEVICE_EVENT_ID,
@@ -217,14 +277,6 @@ class AndroidPeopleEventsProvider(private val eventSQLHelper: EventSQLiteOpenHel
                 AnnualEventsContract.SOURCE
         )
 
-        /*
-        We use this column in order to be able to do comparisons of dates, without having to worry about the year
-        So, instead of a full date 1990-12-19, this will return 12-19. Similarwise for --12-19.
-
-        an example in use: select * from annual_events WHERE substr(date,-5) >= '03-04' ORDER BY substr(date,-5) asc LIMIT 1
-     */
-        private const val DATE_COLUMN_WITHOUT_YEAR = "substr(" + AnnualEventsContract.DATE + ", -5) "
-
         private fun firstHalfOf(timeDuration: TimePeriod): TimePeriod {
             return TimePeriod.between(
                     timeDuration.startingDate,
@@ -11,7 +11,7 @@ import java.util.List;
 
 public class ContactEventsMarshaller {
 
-    private static final int DEFAULT_VALUES_SIZE = 5;
+    private static final int DEFAULT_VALUES_SIZE = 8;
     private static final int IS_VISIBILE = 1;
 
     private final ShortDateLabelCreator dateLabelCreator;
@@ -37,6 +37,7 @@ public class ContactEventsMarshaller {
         values.put(AnnualEventsContract.CONTACT_ID, contact.getContactID());
         values.put(AnnualEventsContract.DISPLAY_NAME, contact.getDisplayName().toString());
         values.put(AnnualEventsContract.DATE, dateLabelCreator.createLabelWithYearPreferredFor(event.getDate()));
+        values.put(AnnualEventsContract.MONTH_DAY, dateLabelCreator.createLabelWithNoYearFor(event.getDate()));
         values.put(AnnualEventsContract.EVENT_TYPE, event.getType().getId());
         values.put(AnnualEventsContract.SOURCE, contact.getSource());
         values.put(AnnualEventsContract.VISIBLE, IS_VISIBILE);
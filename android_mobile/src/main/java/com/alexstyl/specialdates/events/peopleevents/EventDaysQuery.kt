@@ -0,0 +1,34 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months
+import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract
+
+/**
+ * The selection of the days of a year, on or after a given day, on which visible events fall.
+ *
+ * The 29th of February is left out of the years that do not have one within the query itself, so that it never
+ * takes up a place of the limited number of days that are asked for.
+ */
+class EventDaysQuery(private val shortDateLabelCreator: ShortDateLabelCreator) {
+
+    fun selectionFor(year: Int): String {
+        val selection = "${AnnualEventsContract.MONTH_DAY} >= ? AND ${AnnualEventsContract.VISIBLE} == 1"
+        return if (isLeapYear(year)) selection else "$selection AND ${AnnualEventsContract.MONTH_DAY} != ?"
+    }
+
+    fun argumentsFor(from: Date): Array<String> {
+        val fromDay = shortDateLabelCreator.createLabelWithNoYearFor(from)
+        return if (isLeapYear(from.year)) {
+            arrayOf(fromDay)
+        } else {
+            arrayOf(fromDay, shortDateLabelCreator.createLabelWithNoYearFor(LEAP_DAY))
+        }
+    }
+
+    private fun isLeapYear(year: Int) = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0
+
+    companion object {
+        private val LEAP_DAY = Date.on(29, Months.FEBRUARY)
+    }
+}
@@ -18,6 +18,9 @@ import dagger.Module
 import dagger.Provides
 import io.reactivex.android.schedulers.AndroidSchedulers
 import io.reactivex.schedulers.Schedulers
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
 import javax.inject.Singleton
 
 @Module
@@ -25,9 +28,29 @@ import javax.inject.Singleton
 class PeopleEventsModule(private val context: Context) {
 
     @Provides
-    fun peopleEventsProvider(peopleDynamicNamedaysProvider: PeopleDynamicNamedaysProvider,
-                             androidPeopleEventsProvider: AndroidPeopleEventsProvider): PeopleEventsProvider {
-        return CompositePeopleEventsProvider(listOf(peopleDynamicNamedaysProvider, androidPeopleEventsProvider))
+    fun peopleEventsProvider(eventCalendar: EventCalendarRepository,
+                             compositeProvider: ParallelCompositePeopleEventsProvider): PeopleEventsProvider {
+        return EventCalendarPeopleEventsProvider(eventCalendar, compositeProvider)
+    }
+
+    @Provides
+    @Singleton
+    fun eventCalendar(compositeProvider: ParallelCompositePeopleEventsProvider): EventCalendarRepository {
+        return EventCalendarRepository(compositeProvider, Schedulers.io())
+    }
+
+    @Provides
+    @Singleton
+    fun compositePeopleEventsProvider(peopleDynamicNamedaysProvider: PeopleDynamicNamedaysProvider,
+                                      androidPeopleEventsProvider: AndroidPeopleEventsProvider)
+            : ParallelCompositePeopleEventsProvider {
+        // the namedays are calculated on the calling thread while the events database is queried on the pool
+        val executor = ThreadPoolExecutor(1, 1, IDLE_THREAD_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue<Runnable>())
+        executor.allowCoreThreadTimeOut(true)
+        return ParallelCompositePeopleEventsProvider(
+                listOf(peopleDynamicNamedaysProvider, androidPeopleEventsProvider),
+                executor
+        )
     }
 
     @Provides
@@ -55,12 +78,14 @@ class PeopleEventsModule(private val context: Context) {
 
     @Provides
     @Singleton
-    fun peopleEventsViewRefresher(appContext: Context, appWidgetManager: AppWidgetManager): UpcomingEventsViewRefresher {
+    fun peopleEventsViewRefresher(appContext: Context,
+                                  appWidgetManager: AppWidgetManager,
+                                  eventCalendar: EventCalendarRepository): UpcomingEventsViewRefresher {
         return UpcomingEventsViewRefresher(mutableSetOf(
                 WearSyncUpcomingEventsView(appContext),
                 TodayUpcomingEventsView(appContext, appWidgetManager),
                 UpcomingEventsScrollingWidgetView(appContext, appWidgetManager)
-        ))
+        ), eventCalendar)
     }
 
     @Provides
@@ -84,15 +109,18 @@ class PeopleEventsModule(private val context: Context) {
     }
 
     @Provides
+    @Singleton
     fun peopleEventsUpdater(staticRefresher: PeopleEventsStaticEventsRefresher,
                             namedayRefresher: NamedayDatabaseRefresher,
                             viewRefresher: UpcomingEventsViewRefresher,
-                            settings: UpcomingEventsSettings): PeopleEventsUpdater {
+                            settings: UpcomingEventsSettings,
+                            contactsProvider: ContactsProvider): PeopleEventsUpdater {
         return PeopleEventsUpdater(
                 staticRefresher,
                 namedayRefresher,
                 viewRefresher,
                 settings,
+                contactsProvider,
                 Schedulers.io(),
                 AndroidSchedulers.mainThread()
         )
@@ -122,5 +150,7 @@ class PeopleEventsModule(private val context: Context) {
     @Provides
     fun shortDateCreator() = ShortDateLabelCreator()
 
-
+    companion object {
+        private const val IDLE_THREAD_SECONDS = 30L
+    }
 }
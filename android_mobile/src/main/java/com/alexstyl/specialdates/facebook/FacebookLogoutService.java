@@ -1,5 +1,6 @@
 package com.alexstyl.specialdates.facebook;
 
+import com.alexstyl.specialdates.contact.ContactsProvider;
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher;
 import com.alexstyl.specialdates.facebook.friendimport.FacebookFriendsPersister;
 
@@ -14,6 +15,7 @@ class FacebookLogoutService {
     private final UpcomingEventsViewRefresher refresher;
     private final FacebookUserSettings preferences;
     private final FacebookFriendsPersister persister;
+    private final ContactsProvider contactsProvider;
     private final Scheduler resultScheduler;
     private final OnFacebookLogOutCallback callback;
 
@@ -22,10 +24,12 @@ class FacebookLogoutService {
     FacebookLogoutService(Scheduler resultScheduler,
                           FacebookUserSettings preferences,
                           FacebookFriendsPersister persister,
+                          ContactsProvider contactsProvider,
                           UpcomingEventsViewRefresher refresher, OnFacebookLogOutCallback callback) {
         this.resultScheduler = resultScheduler;
         this.preferences = preferences;
         this.persister = persister;
+        this.contactsProvider = contactsProvider;
         this.refresher = refresher;
         this.callback = callback;
     }
@@ -56,6 +60,7 @@ class FacebookLogoutService {
             public void run() throws Exception {
                 preferences.store(UserCredentials.ANNONYMOUS);
                 persister.removeAllFriends();
+                contactsProvider.invalidateContacts();
             }
         };
     }
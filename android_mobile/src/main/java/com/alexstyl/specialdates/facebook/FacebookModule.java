@@ -4,6 +4,8 @@ import android.content.Context;
 
 import com.alexstyl.specialdates.EasyPreferences;
 import com.alexstyl.specialdates.R;
+import com.alexstyl.specialdates.facebook.friendimport.AndroidCalendarValidatorsStore;
+import com.alexstyl.specialdates.facebook.friendimport.CalendarValidatorsStore;
 
 import dagger.Module;
 import dagger.Provides;
@@ -21,4 +23,9 @@ public class FacebookModule {
     FacebookUserSettings userSettings() {
         return new AndroidFacebookPreferences(EasyPreferences.createForPrivatePreferences(context, R.string.pref_facebook));
     }
+
+    @Provides
+    CalendarValidatorsStore calendarValidatorsStore() {
+        return AndroidCalendarValidatorsStore.newInstance(context);
+    }
 }
@@ -14,11 +14,13 @@ import com.alexstyl.specialdates.MementoApplication;
 import com.alexstyl.specialdates.R;
 import com.alexstyl.specialdates.analytics.Analytics;
 import com.alexstyl.specialdates.analytics.Screen;
+import com.alexstyl.specialdates.contact.ContactsProvider;
 import com.alexstyl.specialdates.events.database.EventSQLiteOpenHelper;
 import com.alexstyl.specialdates.events.peopleevents.ContactEventsMarshaller;
 import com.alexstyl.specialdates.events.peopleevents.AndroidPeopleEventsPersister;
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher;
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsSettings;
+import com.alexstyl.specialdates.facebook.friendimport.CalendarValidatorsStore;
 import com.alexstyl.specialdates.facebook.friendimport.FacebookFriendsPersister;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.alexstyl.specialdates.ui.base.ThemedMementoActivity;
@@ -46,6 +48,8 @@ public class FacebookProfileActivity extends ThemedMementoActivity implements Fa
     @Inject FacebookUserSettings facebookSettings;
     @Inject UpcomingEventsSettings eventsSettings;
     @Inject ContactEventsMarshaller marshaller;
+    @Inject ContactsProvider contactsProvider;
+    @Inject CalendarValidatorsStore calendarValidatorsStore;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -67,13 +71,16 @@ public class FacebookProfileActivity extends ThemedMementoActivity implements Fa
         });
 
         FacebookFriendsPersister persister = new FacebookFriendsPersister(
-                new AndroidPeopleEventsPersister(new EventSQLiteOpenHelper(this), marshaller, tracker));
+                new AndroidPeopleEventsPersister(new EventSQLiteOpenHelper(this), marshaller, tracker),
+                calendarValidatorsStore
+        );
         navigator = new ExternalNavigator(this, analytics, tracker);
 
         FacebookLogoutService service = new FacebookLogoutService(
                 AndroidSchedulers.mainThread(),
                 facebookSettings,
                 persister,
+                contactsProvider,
                 uiRefresher,
                 onLogOut()
         );
@@ -0,0 +1,45 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import android.content.Context;
+
+import com.alexstyl.specialdates.EasyPreferences;
+import com.alexstyl.specialdates.R;
+
+public final class AndroidCalendarValidatorsStore implements CalendarValidatorsStore {
+
+    private final EasyPreferences preferences;
+
+    public static AndroidCalendarValidatorsStore newInstance(Context context) {
+        EasyPreferences preferences = EasyPreferences.createForPrivatePreferences(context, R.string.pref_facebook_calendar);
+        return new AndroidCalendarValidatorsStore(preferences);
+    }
+
+    private AndroidCalendarValidatorsStore(EasyPreferences preferences) {
+        this.preferences = preferences;
+    }
+
+    @Override
+    public CalendarValidators load() {
+        String url = preferences.getString(R.string.key_facebook_calendar_url, null);
+        if (url == null) {
+            return CalendarValidators.NONE;
+        }
+        return new CalendarValidators(
+                url,
+                preferences.getString(R.string.key_facebook_calendar_etag, null),
+                preferences.getString(R.string.key_facebook_calendar_last_modified, null)
+        );
+    }
+
+    @Override
+    public void store(CalendarValidators validators) {
+        preferences.setString(R.string.key_facebook_calendar_url, validators.getUrl());
+        preferences.setString(R.string.key_facebook_calendar_etag, validators.getETag());
+        preferences.setString(R.string.key_facebook_calendar_last_modified, validators.getLastModified());
+    }
+
+    @Override
+    public void clear() {
+        preferences.clear();
+    }
+}
@@ -11,18 +11,18 @@ import com.alexstyl.specialdates.BuildConfig;
 import com.alexstyl.specialdates.CrashAndErrorTracker;
 import com.alexstyl.specialdates.MementoApplication;
 import com.alexstyl.specialdates.R;
-import com.alexstyl.specialdates.date.ContactEvent;
+import com.alexstyl.specialdates.contact.ContactsProvider;
 import com.alexstyl.specialdates.date.DateParser;
 import com.alexstyl.specialdates.events.database.EventSQLiteOpenHelper;
 import com.alexstyl.specialdates.events.peopleevents.AndroidPeopleEventsPersister;
 import com.alexstyl.specialdates.events.peopleevents.ContactEventsMarshaller;
+import com.alexstyl.specialdates.events.peopleevents.EventsSyncResult;
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher;
 import com.alexstyl.specialdates.facebook.FacebookUserSettings;
 import com.alexstyl.specialdates.facebook.UserCredentials;
 
 import javax.inject.Inject;
 import java.net.URL;
-import java.util.List;
 
 public class FacebookFriendsIntentService extends IntentService {
     private static final String TAG = FacebookFriendsIntentService.class.getSimpleName();
@@ -33,6 +33,8 @@ public class FacebookFriendsIntentService extends IntentService {
     @Inject FacebookUserSettings facebookUserSettings;
     @Inject DateParser parser;
     @Inject ContactEventsMarshaller marshaller;
+    @Inject ContactsProvider contactsProvider;
+    @Inject CalendarValidatorsStore calendarValidatorsStore;
 
     public FacebookFriendsIntentService() {
         super(TAG);
@@ -64,12 +66,15 @@ public class FacebookFriendsIntentService extends IntentService {
                         new EventSQLiteOpenHelper(this),
                         marshaller,
                         tracker
-                )
+                ),
+                calendarValidatorsStore
         );
         try {
-            List<ContactEvent> friends = calendarFetcher.fetchCalendarFrom(calendarUrl);
-            persister.keepOnly(friends);
-            uiRefresher.refreshViews();
+            FetchedCalendar calendar = calendarFetcher.fetchCalendarIfModifiedFrom(calendarUrl, persister.validatorsOfPersistedCalendar());
+            if (calendar.isModified() && persister.keepOnly(calendar) == EventsSyncResult.CHANGED) {
+                contactsProvider.invalidateContacts();
+                uiRefresher.refreshViews();
+            }
         } catch (CalendarFetcherException e) {
             tracker.track(e);
         }
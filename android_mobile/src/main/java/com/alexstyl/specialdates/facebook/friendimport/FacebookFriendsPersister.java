@@ -1,26 +1,49 @@
 package com.alexstyl.specialdates.facebook.friendimport;
 
-import com.alexstyl.specialdates.date.ContactEvent;
+import com.alexstyl.specialdates.events.peopleevents.EventsSyncResult;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsPersister;
 
-import java.util.List;
-
 import static com.alexstyl.specialdates.contact.ContactSource.SOURCE_FACEBOOK;
 
 public final class FacebookFriendsPersister {
 
     private final PeopleEventsPersister persister;
+    private final CalendarValidatorsStore validatorsStore;
 
-    public FacebookFriendsPersister(PeopleEventsPersister persister) {
+    public FacebookFriendsPersister(PeopleEventsPersister persister, CalendarValidatorsStore validatorsStore) {
         this.persister = persister;
+        this.validatorsStore = validatorsStore;
     }
 
-    void keepOnly(List<ContactEvent> friends) {
-        persister.deleteAllEventsOfSource(SOURCE_FACEBOOK);
-        persister.insertAnnualEvents(friends);
+    /**
+     * Returns the validators of the calendar that the persisted birthdays came from,
+     * or {@link CalendarValidators#NONE} if there are no birthdays to validate.
+     */
+    CalendarValidators validatorsOfPersistedCalendar() {
+        if (persister.hasEventsOfSource(SOURCE_FACEBOOK)) {
+            return validatorsStore.load();
+        }
+        return CalendarValidators.NONE;
+    }
+
+    /**
+     * Keeps the birthdays of the given calendar only, touching just the ones that changed since the last time.
+     * The validators of the calendar are kept along with them, unless the birthdays could not be persisted.
+     */
+    EventsSyncResult keepOnly(FetchedCalendar calendar) {
+        EventsSyncResult result = persister.syncEventsOfSource(SOURCE_FACEBOOK, calendar.getEvents());
+        if (result != EventsSyncResult.FAILED) {
+            validatorsStore.store(calendar.getValidators());
+        }
+        return result;
     }
 
+    /**
+     * Removes the birthdays of all friends, and forgets the calendar they came from so that it is downloaded in full
+     * the next time.
+     */
     public void removeAllFriends() {
         persister.deleteAllEventsOfSource(SOURCE_FACEBOOK);
+        validatorsStore.clear();
     }
 }
@@ -1,19 +1,45 @@
 package com.alexstyl.specialdates.images
 
+import android.content.ContentResolver
 import android.content.Context
 import android.net.Uri
 import android.provider.ContactsContract
 import com.nostra13.universalimageloader.core.download.BaseImageDownloader
+import java.io.FileNotFoundException
 import java.io.InputStream
 
-class AndroidContactsImageDownloader(context: Context) : BaseImageDownloader(context) {
+class AndroidContactsImageDownloader(context: Context, private val photoUsage: ContactPhotoUsage) : BaseImageDownloader(context) {
 
-    override fun getStreamFromContent(imageUri: String?, extra: Any?): InputStream {
+    override fun getStreamFromContent(imageUri: String?, extra: Any?): InputStream? {
         val res = context.contentResolver
         val uri = Uri.parse(imageUri)
 
-        return if (imageUri != null && imageUri.startsWith("content://com.android.contacts/")) {
-            ContactsContract.Contacts.openContactPhotoInputStream(res, uri, true)
+        return if (imageUri != null && ContactPhotoVariant.isContactPhoto(imageUri)) {
+            openContactPhoto(res, uri)
         } else res.openInputStream(uri)
     }
+
+    /*
+     * Contacts without a display photo are served their thumbnail, as ContactsContract.Contacts.openContactPhotoInputStream() does
+     */
+    private fun openContactPhoto(res: ContentResolver, uri: Uri): InputStream? {
+        val contactUri = uri.buildUpon().fragment(null).build()
+        if (ContactPhotoVariant.of(uri) == ContactPhotoVariant.DISPLAY_PHOTO) {
+            val displayPhoto = openDisplayPhoto(res, contactUri)
+            if (displayPhoto != null) {
+                return photoUsage.recordServing(ContactPhotoVariant.DISPLAY_PHOTO, displayPhoto)
+            }
+        }
+        val thumbnail = ContactsContract.Contacts.openContactPhotoInputStream(res, contactUri, false) ?: return null
+        return photoUsage.recordServing(ContactPhotoVariant.THUMBNAIL, thumbnail)
+    }
+
+    private fun openDisplayPhoto(res: ContentResolver, contactUri: Uri): InputStream? {
+        val displayPhotoUri = Uri.withAppendedPath(contactUri, ContactsContract.Contacts.Photo.DISPLAY_PHOTO)
+        return try {
+            res.openAssetFileDescriptor(displayPhotoUri, "r")?.createInputStream()
+        } catch (e: FileNotFoundException) {
+            null
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.alexstyl.specialdates.images
+
+import android.support.v7.widget.LinearLayoutManager
+import android.support.v7.widget.RecyclerView
+import android.view.View
+import java.net.URI
+
+/**
+ * Prefetches the avatars of the rows that are about to scroll into view, in the direction of the scroll.
+ *
+ * The avatars of rows that fall out of the window of rows ahead are no longer loaded, and nothing is loaded
+ * once the list is detached.
+ */
+class AvatarPrefetchScrollListener @JvmOverloads constructor(private val prefetcher: ImageLoader.Prefetcher,
+                                                            private val layoutManager: LinearLayoutManager,
+                                                            private val avatars: RowAvatars,
+                                                            private val rowsAhead: Int = DEFAULT_ROWS_AHEAD)
+    : RecyclerView.OnScrollListener() {
+
+    interface RowAvatars {
+
+        /**
+         * Returns the avatar shown in the row at the given position, if the row has one.
+         */
+        fun avatarAt(position: Int): URI?
+    }
+
+    private var windowStart = RecyclerView.NO_POSITION
+    private var scrollingForward = true
+
+    fun attachTo(list: RecyclerView) {
+        list.addOnScrollListener(this)
+        list.addOnAttachStateChangeListener(object : View.OnAttachStateChangeListener {
+            override fun onViewAttachedToWindow(view: View) = Unit
+
+            override fun onViewDetachedFromWindow(view: View) {
+                windowStart = RecyclerView.NO_POSITION
+                prefetcher.cancelAll()
+            }
+        })
+    }
+
+    override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) {
+        if (dy == 0) {
+            return
+        }
+        val forward = dy > 0
+        val start = if (forward) {
+            layoutManager.findLastVisibleItemPosition() + 1
+        } else {
+            layoutManager.findFirstVisibleItemPosition() - 1
+        }
+        if (start < 0 || (start == windowStart && forward == scrollingForward)) {
+            return
+        }
+        windowStart = start
+        scrollingForward = forward
+        prefetcher.prefetch(avatarsAheadOf(start, forward))
+    }
+
+    private fun avatarsAheadOf(start: Int, forward: Boolean): List<URI> {
+        val positions = if (forward) {
+            start until Math.min(start + rowsAhead, layoutManager.itemCount)
+        } else {
+            start downTo Math.max(start - rowsAhead + 1, 0)
+        }
+        return positions.mapNotNull { avatars.avatarAt(it) }
+    }
+
+    companion object {
+
+        private const val DEFAULT_ROWS_AHEAD = 10
+    }
+}
@@ -0,0 +1,97 @@
+package com.alexstyl.specialdates.images
+
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.graphics.Color
+import com.alexstyl.android.Version
+
+/**
+ * Keeps bitmaps that are no longer needed, so that avatars can be drawn or decoded into them
+ * instead of into newly allocated memory.
+ *
+ * Bitmaps are kept in buckets by the number of bytes they hold. Once the pool holds more than its budget,
+ * the bitmaps that were returned the longest time ago are dropped. Before KitKat a bitmap can only be reused
+ * for one of the exact same size and configuration.
+ *
+ * Only bitmaps that nothing else holds on to should be returned: a returned bitmap can be erased and drawn
+ * over at any time.
+ */
+class BitmapPool(maxBytes: Int) {
+
+    private val pool = SizeBucketedPool<Bitmap>(maxBytes) { byteCountOf(it) }
+
+    /**
+     * Returns a transparent bitmap of the given size, reusing a pooled one when possible.
+     */
+    fun get(width: Int, height: Int, config: Bitmap.Config): Bitmap {
+        val pooled = take(width, height, config)
+        return if (pooled == null) {
+            Bitmap.createBitmap(width, height, config)
+        } else {
+            pooled.eraseColor(Color.TRANSPARENT)
+            pooled
+        }
+    }
+
+    /**
+     * Returns a pooled bitmap that an image of the given size can be decoded into using [BitmapFactory.Options.inBitmap],
+     * if there is one.
+     */
+    fun bitmapToDecodeInto(width: Int, height: Int, config: Bitmap.Config): Bitmap? = take(width, height, config)
+
+    /**
+     * Decodes the given file into a pooled bitmap when one fits, or into a new one otherwise.
+     */
+    fun decodeFile(path: String): Bitmap? {
+        val options = BitmapFactory.Options()
+        options.inJustDecodeBounds = true
+        BitmapFactory.decodeFile(path, options)
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null
+        }
+        options.inJustDecodeBounds = false
+        options.inMutable = true
+        options.inBitmap = bitmapToDecodeInto(options.outWidth, options.outHeight, options.inPreferredConfig)
+        return try {
+            BitmapFactory.decodeFile(path, options)
+        } catch (e: IllegalArgumentException) {
+            // the file is of a format that cannot be decoded into an existing bitmap
+            options.inBitmap = null
+            BitmapFactory.decodeFile(path, options)
+        }
+    }
+
+    fun put(bitmap: Bitmap) {
+        if (bitmap.isRecycled || !bitmap.isMutable) {
+            return
+        }
+        pool.put(bitmap)
+    }
+
+    fun clear() {
+        pool.clear()
+    }
+
+    private fun take(width: Int, height: Int, config: Bitmap.Config): Bitmap? {
+        val neededBytes = width * height * bytesPerPixelOf(config)
+        return if (Version.hasKitKat()) {
+            pool.takeAtLeast(neededBytes, MAX_OVERSIZE_FACTOR)?.also { it.reconfigure(width, height, config) }
+        } else {
+            pool.takeExactly(neededBytes) { it.width == width && it.height == height && it.config == config }
+        }
+    }
+
+    private fun byteCountOf(bitmap: Bitmap): Int =
+            if (Version.hasKitKat()) bitmap.allocationByteCount else bitmap.byteCount
+
+    private fun bytesPerPixelOf(config: Bitmap.Config): Int = when (config) {
+        Bitmap.Config.ALPHA_8 -> 1
+        Bitmap.Config.RGB_565, Bitmap.Config.ARGB_4444 -> 2
+        else -> 4
+    }
+
+    companion object {
+
+        private const val MAX_OVERSIZE_FACTOR = 2
+    }
+}
@@ -0,0 +1,54 @@
+package com.alexstyl.specialdates.images
+
+import java.io.FilterInputStream
+import java.io.InputStream
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Counts the contact photos that were read from the contacts provider, and the bytes read, by the variant
+ * that was served. The difference between the counts before and after a screen is shown tells what its
+ * avatars cost. Debug builds log the counts from the debug screen.
+ */
+class ContactPhotoUsage {
+
+    private val photos = AtomicLongArray(ContactPhotoVariant.values().size)
+    private val bytes = AtomicLongArray(ContactPhotoVariant.values().size)
+
+    fun photosServed(variant: ContactPhotoVariant): Long = photos.get(variant.ordinal)
+
+    fun bytesServed(variant: ContactPhotoVariant): Long = bytes.get(variant.ordinal)
+
+    fun recordServing(variant: ContactPhotoVariant, stream: InputStream): InputStream {
+        photos.incrementAndGet(variant.ordinal)
+        return CountingInputStream(stream, variant.ordinal)
+    }
+
+    override fun toString(): String {
+        return ContactPhotoVariant.values().joinToString { "$it: ${photosServed(it)} photos, ${bytesServed(it)} bytes" }
+    }
+
+    private inner class CountingInputStream(stream: InputStream, private val variantIndex: Int) : FilterInputStream(stream) {
+
+        override fun read(): Int {
+            val read = super.read()
+            if (read != -1) {
+                bytes.incrementAndGet(variantIndex)
+            }
+            return read
+        }
+
+        override fun read(buffer: ByteArray, offset: Int, length: Int): Int {
+            val read = super.read(buffer, offset, length)
+            if (read > 0) {
+                bytes.addAndGet(variantIndex, read.toLong())
+            }
+            return read
+        }
+
+        override fun skip(count: Long): Long {
+            val skipped = super.skip(count)
+            bytes.addAndGet(variantIndex, skipped)
+            return skipped
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.alexstyl.specialdates.images
+
+import android.content.ContentResolver
+import android.net.Uri
+import android.provider.ContactsContract
+import android.support.annotation.Px
+
+/**
+ * The photos the contacts provider keeps for a contact: a small thumbnail, and the larger display photo
+ * for contacts that have one.
+ *
+ * The variant to load is carried in the fragment of the image uri, so that the image loader caches
+ * the two variants of the same photo apart from each other.
+ */
+enum class ContactPhotoVariant {
+    THUMBNAIL,
+    DISPLAY_PHOTO;
+
+    companion object {
+
+        private const val CONTACTS_URI_PREFIX = "content://com.android.contacts/"
+        private const val THUMBNAIL_FRAGMENT = "thumbnail"
+        @Px const val DEFAULT_THUMBNAIL_SIZE = 96
+
+        fun isContactPhoto(imageUri: String): Boolean = imageUri.startsWith(CONTACTS_URI_PREFIX)
+
+        /**
+         * Returns the uri to load the given image from, asking for the thumbnail of contact photos that are
+         * to be shown no larger than the thumbnail. Targets of unknown size get the display photo.
+         */
+        fun uriToLoad(imageUri: String, @Px width: Int, @Px height: Int, @Px thumbnailSize: Int): String {
+            return if (isContactPhoto(imageUri) && width in 1..thumbnailSize && height in 1..thumbnailSize) {
+                "$imageUri#$THUMBNAIL_FRAGMENT"
+            } else {
+                imageUri
+            }
+        }
+
+        fun of(uri: Uri): ContactPhotoVariant = if (uri.fragment == THUMBNAIL_FRAGMENT) THUMBNAIL else DISPLAY_PHOTO
+
+        @Px
+        fun thumbnailSizeOf(contentResolver: ContentResolver): Int {
+            val cursor = try {
+                contentResolver.query(
+                        ContactsContract.DisplayPhoto.CONTENT_MAX_DIMENSIONS_URI,
+                        arrayOf(ContactsContract.DisplayPhoto.THUMBNAIL_MAX_DIM),
+                        null, null, null
+                )
+            } catch (e: SecurityException) {
+                null
+            } ?: return DEFAULT_THUMBNAIL_SIZE
+            return cursor.use {
+                if (it.moveToFirst() && it.getInt(0) > 0) it.getInt(0) else DEFAULT_THUMBNAIL_SIZE
+            }
+        }
+    }
+}
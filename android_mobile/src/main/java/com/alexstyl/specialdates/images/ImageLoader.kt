@@ -12,6 +12,12 @@ interface ImageLoader {
 
     fun load(imagePath: URI): Request
 
+    /**
+     * Creates a [Prefetcher] that loads images into memory at the given size, ahead of them being shown
+     * in views of that size.
+     */
+    fun prefetcher(@Px width: Int, @Px height: Int): Prefetcher
+
     interface Request {
 
         fun withSize(@Px width: Int, @Px height: Int): FixedSizeRequest
@@ -27,4 +33,15 @@ interface ImageLoader {
         fun into(consumer: ImageLoadedConsumer)
     }
 
+    interface Prefetcher {
+
+        /**
+         * Loads the given images, in the order given, and stops loading any images asked for earlier
+         * that are no longer in the list.
+         */
+        fun prefetch(imagePaths: List<URI>)
+
+        fun cancelAll()
+    }
+
 }
@@ -1,17 +1,20 @@
 package com.alexstyl.specialdates.images;
 
+import android.content.ContentResolver;
 import android.content.res.Resources;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
+import io.reactivex.schedulers.Schedulers;
 
 @Module
 @Singleton
 public class ImageModule {
 
     private static final int CROSSFADE_DURATION = 200;
+    private static final int HEAP_FRACTION_OF_POOLED_BITMAPS = 32;
     private final Resources resources;
 
     public ImageModule(Resources resources) {
@@ -20,10 +23,25 @@ public class ImageModule {
 
     @Provides
     @Singleton
-    ImageLoader providesImageLoader() {
+    ImageLoader providesImageLoader(ContentResolver contentResolver) {
         return new UILImageLoader(
+                com.nostra13.universalimageloader.core.ImageLoader.getInstance(),
                 new CrossFadeBitmapDisplayer(resources, CROSSFADE_DURATION),
-                new CrossFadeCircleBitmapDisplayer(resources, CROSSFADE_DURATION)
+                new CrossFadeCircleBitmapDisplayer(resources, CROSSFADE_DURATION),
+                contentResolver,
+                Schedulers.io()
         );
     }
+
+    @Provides
+    @Singleton
+    ContactPhotoUsage contactPhotoUsage() {
+        return new ContactPhotoUsage();
+    }
+
+    @Provides
+    @Singleton
+    BitmapPool bitmapPool() {
+        return new BitmapPool((int) (Runtime.getRuntime().maxMemory() / HEAP_FRACTION_OF_POOLED_BITMAPS));
+    }
 }
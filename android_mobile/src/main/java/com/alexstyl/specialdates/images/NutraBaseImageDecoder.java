@@ -1,5 +1,10 @@
 package com.alexstyl.specialdates.images;
 
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import com.alexstyl.android.Version;
+import com.nostra13.universalimageloader.core.assist.ImageSize;
 import com.nostra13.universalimageloader.core.decode.BaseImageDecoder;
 import com.nostra13.universalimageloader.core.decode.ImageDecodingInfo;
 
@@ -8,8 +13,55 @@ import java.io.InputStream;
 
 public class NutraBaseImageDecoder extends BaseImageDecoder {
 
-    public NutraBaseImageDecoder(boolean loggingEnabled) {
+    private final BitmapPool bitmapPool;
+    private final ThreadLocal<Boolean> reusingBitmaps = new ThreadLocal<Boolean>() {
+        @Override
+        protected Boolean initialValue() {
+            return true;
+        }
+    };
+
+    public NutraBaseImageDecoder(boolean loggingEnabled, BitmapPool bitmapPool) {
         super(loggingEnabled);
+        this.bitmapPool = bitmapPool;
+    }
+
+    @Override
+    public Bitmap decode(ImageDecodingInfo decodingInfo) throws IOException {
+        try {
+            return super.decode(decodingInfo);
+        } catch (IllegalArgumentException e) {
+            // the image could not be decoded into the pooled bitmap
+            reusingBitmaps.set(false);
+            try {
+                return super.decode(decodingInfo);
+            } finally {
+                reusingBitmaps.set(true);
+            }
+        }
+    }
+
+    @Override
+    protected BitmapFactory.Options prepareDecodingOptions(ImageSize imageSize, ImageDecodingInfo decodingInfo) {
+        BitmapFactory.Options options = super.prepareDecodingOptions(imageSize, decodingInfo);
+        options.inBitmap = reusingBitmaps.get() ? pooledBitmapFor(imageSize, options) : null;
+        if (options.inBitmap != null) {
+            options.inMutable = true;
+        }
+        return options;
+    }
+
+    /*
+     * Before KitKat, only images that are decoded in their full size can be decoded into an existing bitmap
+     */
+    private Bitmap pooledBitmapFor(ImageSize imageSize, BitmapFactory.Options options) {
+        int sampleSize = Math.max(options.inSampleSize, 1);
+        if (sampleSize > 1 && !Version.INSTANCE.hasKitKat()) {
+            return null;
+        }
+        int width = (imageSize.getWidth() + sampleSize - 1) / sampleSize;
+        int height = (imageSize.getHeight() + sampleSize - 1) / sampleSize;
+        return bitmapPool.bitmapToDecodeInto(width, height, options.inPreferredConfig);
     }
 
     @Override
@@ -0,0 +1,95 @@
+package com.alexstyl.specialdates.images
+
+import java.util.ArrayDeque
+import java.util.TreeMap
+
+/**
+ * Keeps items in buckets by the number of bytes they hold, up to a budget of bytes.
+ * Once the pool holds more than its budget, the items that were put the longest time ago are dropped.
+ *
+ * The bookkeeping of [BitmapPool], kept apart from [android.graphics.Bitmap] so that it can run anywhere.
+ */
+internal class SizeBucketedPool<T>(private val maxBytes: Int,
+                                   private val byteCountOf: (T) -> Int) {
+
+    private val buckets = TreeMap<Int, ArrayDeque<T>>()
+    private val leastRecentlyPut = LinkedHashSet<T>()
+    private var pooledBytes = 0
+
+    val size: Int
+        @Synchronized get() = leastRecentlyPut.size
+
+    /**
+     * Returns false if the item was not kept, because it is larger than the whole budget or it is already pooled.
+     */
+    fun put(item: T): Boolean {
+        val byteCount = byteCountOf(item)
+        if (byteCount > maxBytes) {
+            return false
+        }
+        synchronized(this) {
+            if (!leastRecentlyPut.add(item)) {
+                return false
+            }
+            buckets.getOrPut(byteCount) { ArrayDeque() }.addLast(item)
+            pooledBytes += byteCount
+            trimTo(maxBytes)
+        }
+        return true
+    }
+
+    /**
+     * Takes the most recently put item of the smallest bucket that holds at least the given bytes,
+     * unless that bucket holds more than the given bytes times the given factor.
+     */
+    @Synchronized
+    fun takeAtLeast(bytes: Int, maxOversizeFactor: Int): T? {
+        val bucket = buckets.ceilingEntry(bytes) ?: return null
+        if (bucket.key > bytes * maxOversizeFactor) {
+            return null
+        }
+        val item = bucket.value.pollLast()
+        release(item, bucket.key)
+        return item
+    }
+
+    /**
+     * Takes the most recently put item that holds exactly the given bytes and matches the given condition.
+     */
+    @Synchronized
+    fun takeExactly(bytes: Int, matches: (T) -> Boolean): T? {
+        val bucket = buckets[bytes] ?: return null
+        val item = bucket.lastOrNull(matches) ?: return null
+        bucket.removeLastOccurrence(item)
+        release(item, bytes)
+        return item
+    }
+
+    @Synchronized
+    fun clear() {
+        trimTo(0)
+    }
+
+    private fun trimTo(bytes: Int) {
+        val iterator = leastRecentlyPut.iterator()
+        while (pooledBytes > bytes && iterator.hasNext()) {
+            val item = iterator.next()
+            iterator.remove()
+            val byteCount = byteCountOf(item)
+            val bucket = buckets[byteCount]!!
+            bucket.removeFirstOccurrence(item)
+            if (bucket.isEmpty()) {
+                buckets.remove(byteCount)
+            }
+            pooledBytes -= byteCount
+        }
+    }
+
+    private fun release(item: T, byteCount: Int) {
+        if (buckets[byteCount]!!.isEmpty()) {
+            buckets.remove(byteCount)
+        }
+        leastRecentlyPut.remove(item)
+        pooledBytes -= byteCount
+    }
+}
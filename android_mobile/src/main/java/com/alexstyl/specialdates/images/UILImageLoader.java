@@ -1,5 +1,6 @@
 package com.alexstyl.specialdates.images;
 
+import android.content.ContentResolver;
 import android.graphics.Bitmap;
 import android.support.annotation.NonNull;
 import android.support.annotation.Px;
@@ -12,20 +13,57 @@ import com.nostra13.universalimageloader.core.DisplayImageOptions;
 import com.nostra13.universalimageloader.core.assist.FailReason;
 import com.nostra13.universalimageloader.core.assist.ImageSize;
 import com.nostra13.universalimageloader.core.display.BitmapDisplayer;
+import com.nostra13.universalimageloader.core.imageaware.ImageViewAware;
 import com.nostra13.universalimageloader.core.listener.SimpleImageLoadingListener;
+import com.novoda.notils.logger.simple.Log;
 
 import java.net.URI;
+import java.util.concurrent.Callable;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.functions.Consumer;
 
 class UILImageLoader implements com.alexstyl.specialdates.images.ImageLoader {
 
     private final com.nostra13.universalimageloader.core.ImageLoader uil;
     private final BitmapDisplayer defaultDisplayer;
     private final BitmapDisplayer defaultCircleDisplayer;
+    private volatile int thumbnailSize = ContactPhotoVariant.DEFAULT_THUMBNAIL_SIZE;
 
-    UILImageLoader(CrossFadeBitmapDisplayer defaultDisplayer, CrossFadeCircleBitmapDisplayer circleDefaultDisplayer) {
+    UILImageLoader(com.nostra13.universalimageloader.core.ImageLoader uil,
+                   CrossFadeBitmapDisplayer defaultDisplayer,
+                   CrossFadeCircleBitmapDisplayer circleDefaultDisplayer,
+                   ContentResolver contentResolver,
+                   Scheduler workScheduler) {
+        this.uil = uil;
         this.defaultDisplayer = defaultDisplayer;
         this.defaultCircleDisplayer = circleDefaultDisplayer;
-        this.uil = com.nostra13.universalimageloader.core.ImageLoader.getInstance();
+        queryThumbnailSize(contentResolver, workScheduler);
+    }
+
+    /*
+     * Images asked for before the query completes are loaded as if the thumbnail was of the default size
+     */
+    private void queryThumbnailSize(final ContentResolver contentResolver, Scheduler workScheduler) {
+        Single.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return ContactPhotoVariant.Companion.thumbnailSizeOf(contentResolver);
+            }
+        })
+                .subscribeOn(workScheduler)
+                .subscribe(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer size) {
+                        thumbnailSize = size;
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable throwable) {
+                        Log.w(throwable);
+                    }
+                });
     }
 
     @NonNull
@@ -36,7 +74,8 @@ class UILImageLoader implements com.alexstyl.specialdates.images.ImageLoader {
 
             @Override
             public void into(@NonNull ImageView imageView) {
-                uil.displayImage(imagePath.toString(), imageView, builder.build());
+                ImageViewAware imageAware = new ImageViewAware(imageView);
+                uil.displayImage(uriToLoad(imagePath, imageAware.getWidth(), imageAware.getHeight()), imageAware, builder.build());
             }
 
             @NonNull
@@ -50,11 +89,12 @@ class UILImageLoader implements com.alexstyl.specialdates.images.ImageLoader {
             @Override
             public FixedSizeRequest withSize(@Px final int width, @Px final int height) {
                 builder.displayer(DefaultConfigurationFactory.createBitmapDisplayer());
+                final String uri = uriToLoad(imagePath, width, height);
                 return new FixedSizeRequest() {
                     @NonNull
                     @Override
                     public Optional<Bitmap> synchronously() {
-                        Bitmap bitmap = uil.loadImageSync(imagePath.toString(), new ImageSize(width, height), builder.build());
+                        Bitmap bitmap = uil.loadImageSync(uri, new ImageSize(width, height), builder.build());
                         if (bitmap == null) {
                             return Optional.Companion.absent();
                         } else {
@@ -65,7 +105,7 @@ class UILImageLoader implements com.alexstyl.specialdates.images.ImageLoader {
                     @Override
                     public void into(@NonNull final ImageLoadedConsumer consumer) {
                         builder.displayer(DefaultConfigurationFactory.createBitmapDisplayer());
-                        uil.loadImage(imagePath.toString(), builder.build(), new SimpleImageLoadingListener() {
+                        uil.loadImage(uri, builder.build(), new SimpleImageLoadingListener() {
                             @Override
                             public void onLoadingComplete(String imageUri, View view, Bitmap loadedImage) {
                                 consumer.onImageLoaded(loadedImage);
@@ -82,6 +122,23 @@ class UILImageLoader implements com.alexstyl.specialdates.images.ImageLoader {
         };
     }
 
+    @NonNull
+    @Override
+    public Prefetcher prefetcher(@Px int width, @Px int height) {
+        DisplayImageOptions options = standardBuilder()
+                .displayer(DefaultConfigurationFactory.createBitmapDisplayer()) // prefetched images have no view to fade into
+                .build();
+        return new UILPrefetcher(this, uil, new ImageSize(width, height), options);
+    }
+
+    String uriToLoad(URI imagePath, @Px int width, @Px int height) {
+        String imageUri = imagePath.toString();
+        if (!ContactPhotoVariant.Companion.isContactPhoto(imageUri)) {
+            return imageUri;
+        }
+        return ContactPhotoVariant.Companion.uriToLoad(imageUri, width, height, thumbnailSize);
+    }
+
     private DisplayImageOptions.Builder standardBuilder() {
         return new DisplayImageOptions.Builder()
                 .displayer(defaultDisplayer)
@@ -0,0 +1,124 @@
+package com.alexstyl.specialdates.images;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.nostra13.universalimageloader.core.DisplayImageOptions;
+import com.nostra13.universalimageloader.core.assist.FailReason;
+import com.nostra13.universalimageloader.core.assist.ImageSize;
+import com.nostra13.universalimageloader.core.assist.ViewScaleType;
+import com.nostra13.universalimageloader.core.imageaware.NonViewAware;
+import com.nostra13.universalimageloader.core.listener.SimpleImageLoadingListener;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads images into the memory cache of UIL at a fixed size, so that they are there by the time a view of
+ * that size asks for them.
+ *
+ * No more than {@link #MAX_CONCURRENT_DECODES} images are loaded at a time, so that prefetching never
+ * takes the threads of UIL away from the images that are on screen.
+ */
+final class UILPrefetcher implements ImageLoader.Prefetcher {
+
+    private static final int MAX_CONCURRENT_DECODES = 2;
+
+    private final UILImageLoader imageLoader;
+    private final com.nostra13.universalimageloader.core.ImageLoader uil;
+    private final ImageSize targetSize;
+    private final DisplayImageOptions options;
+
+    private final Map<String, NonViewAware> loading = new HashMap<>();
+    private final ArrayDeque<String> waiting = new ArrayDeque<>();
+
+    UILPrefetcher(UILImageLoader imageLoader,
+                  com.nostra13.universalimageloader.core.ImageLoader uil,
+                  ImageSize targetSize,
+                  DisplayImageOptions options) {
+        this.imageLoader = imageLoader;
+        this.uil = uil;
+        this.targetSize = targetSize;
+        this.options = options;
+    }
+
+    @Override
+    public synchronized void prefetch(@NonNull List<URI> imagePaths) {
+        Set<String> wanted = new LinkedHashSet<>(imagePaths.size());
+        for (URI imagePath : imagePaths) {
+            wanted.add(imageLoader.uriToLoad(imagePath, targetSize.getWidth(), targetSize.getHeight()));
+        }
+
+        Iterator<Map.Entry<String, NonViewAware>> iterator = loading.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, NonViewAware> entry = iterator.next();
+            if (!wanted.contains(entry.getKey())) {
+                uil.cancelDisplayTask(entry.getValue());
+                iterator.remove();
+            }
+        }
+        waiting.clear();
+        for (String uri : wanted) {
+            if (!loading.containsKey(uri)) {
+                waiting.add(uri);
+            }
+        }
+        loadWaiting();
+    }
+
+    @Override
+    public synchronized void cancelAll() {
+        waiting.clear();
+        for (NonViewAware imageAware : loading.values()) {
+            uil.cancelDisplayTask(imageAware);
+        }
+        loading.clear();
+    }
+
+    private void loadWaiting() {
+        while (loading.size() < MAX_CONCURRENT_DECODES && !waiting.isEmpty()) {
+            String uri = waiting.poll();
+            NonViewAware imageAware = new NonViewAware(uri, targetSize, ViewScaleType.CROP);
+            loading.put(uri, imageAware);
+            uil.displayImage(uri, imageAware, options, new PrefetchListener(imageAware));
+        }
+    }
+
+    private synchronized void onFinished(String uri, NonViewAware imageAware) {
+        if (loading.get(uri) == imageAware) {
+            loading.remove(uri);
+            loadWaiting();
+        }
+    }
+
+    private final class PrefetchListener extends SimpleImageLoadingListener {
+
+        private final NonViewAware imageAware;
+
+        PrefetchListener(NonViewAware imageAware) {
+            this.imageAware = imageAware;
+        }
+
+        @Override
+        public void onLoadingComplete(String imageUri, View view, Bitmap loadedImage) {
+            onFinished(imageUri, imageAware);
+        }
+
+        @Override
+        public void onLoadingFailed(String imageUri, View view, FailReason failReason) {
+            onFinished(imageUri, imageAware);
+        }
+
+        @Override
+        public void onLoadingCancelled(String imageUri, View view) {
+            onFinished(imageUri, imageAware);
+        }
+    }
+}
@@ -8,13 +8,15 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.alexstyl.specialdates.R;
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.alexstyl.specialdates.ui.widget.ColorImageView;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
-class PeopleAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+class PeopleAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements AvatarPrefetchScrollListener.RowAvatars {
 
     private static final int VIEW_TYPE_PERSON = 0;
     private static final int VIEW_TYPE_IMPORT_FACEBOOK = 1;
@@ -89,4 +91,13 @@ class PeopleAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         return people.size();
     }
 
+    @Override
+    public URI avatarAt(int position) {
+        PeopleRowViewModel viewModel = people.get(position);
+        if (viewModel instanceof PersonViewModel) {
+            return ((PersonViewModel) viewModel).getAvatarURI();
+        }
+        return null;
+    }
+
 }
@@ -17,6 +17,7 @@ import com.alexstyl.specialdates.contact.Contact;
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher;
 import com.alexstyl.specialdates.home.HomeActivity;
 import com.alexstyl.specialdates.home.HomeNavigator;
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.alexstyl.specialdates.ui.base.MementoFragment;
 
@@ -47,7 +48,8 @@ public class PeopleFragment extends MementoFragment implements PeopleView, Upcom
 
         loadingView = inflate.findViewById(R.id.people_loading);
         recyclerView = inflate.findViewById(R.id.people_list);
-        recyclerView.setLayoutManager(new LinearLayoutManager(getActivity(), LinearLayoutManager.VERTICAL, false));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getActivity(), LinearLayoutManager.VERTICAL, false);
+        recyclerView.setLayoutManager(layoutManager);
         adapter = new PeopleAdapter(imageLoader, inflater, new PeopleViewHolderListener() {
             @Override
             public void onPersonClicked(Contact contact) {
@@ -65,6 +67,9 @@ public class PeopleFragment extends MementoFragment implements PeopleView, Upcom
             }
         });
         recyclerView.setAdapter(adapter);
+        int avatarSize = getResources().getDimensionPixelSize(R.dimen.people_avatar_size);
+        new AvatarPrefetchScrollListener(imageLoader.prefetcher(avatarSize, avatarSize), layoutManager, adapter)
+                .attachTo(recyclerView);
         recyclerView.addItemDecoration(
                 new PeopleItemDecorator(
                         getResources().getDimensionPixelSize(R.dimen.people_import_bottom_spacing),
@@ -13,6 +13,7 @@ import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.DateLabelCreator
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsPersister
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
+import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher
 import com.alexstyl.specialdates.theming.ThemingPreferences
 import dagger.Module
 import dagger.Provides
@@ -59,12 +60,13 @@ class PersonModule {
     fun presenter(peopleEventsProvider: PeopleEventsProvider,
                   compositeContactActionsProvider: ContactActionsProvider,
                   peoplePersister: PeopleEventsPersister,
+                  viewRefresher: UpcomingEventsViewRefresher,
                   factory: PersonDetailsViewModelFactory,
                   toEventViewModel: EventViewModelFactory): PersonPresenter {
         return PersonPresenter(
                 peopleEventsProvider,
                 compositeContactActionsProvider,
-                factory, toEventViewModel, peoplePersister, Schedulers.io(),
+                factory, toEventViewModel, peoplePersister, viewRefresher, Schedulers.io(),
                 AndroidSchedulers.mainThread()
         )
 
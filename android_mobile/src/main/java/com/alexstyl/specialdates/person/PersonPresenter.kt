@@ -6,6 +6,7 @@ import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsPersister
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
 import com.alexstyl.specialdates.events.peopleevents.StandardEventType
+import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher
 import io.reactivex.Observable
 import io.reactivex.Scheduler
 import io.reactivex.disposables.CompositeDisposable
@@ -16,6 +17,7 @@ class PersonPresenter(private val provider: PeopleEventsProvider,
                       private val toPersonViewModel: PersonDetailsViewModelFactory,
                       private val toEventViewModel: EventViewModelFactory,
                       private val persister: PeopleEventsPersister,
+                      private val viewRefresher: UpcomingEventsViewRefresher,
                       private val workScheduler: Scheduler,
                       private val resultScheduler: Scheduler) {
 
@@ -90,6 +92,7 @@ class PersonPresenter(private val provider: PeopleEventsProvider,
         }
         disposable.add(Observable.fromCallable {
             persister.markContactAsHidden(contactOptional.get())
+            viewRefresher.refreshViews()
         }.observeOn(resultScheduler)
                 .subscribeOn(workScheduler)
                 .subscribe {
@@ -105,6 +108,7 @@ class PersonPresenter(private val provider: PeopleEventsProvider,
         disposable.add(
                 Observable.fromCallable {
                     persister.markContactAsVisible(contactOptional.get())
+                    viewRefresher.refreshViews()
                 }
                         .observeOn(resultScheduler)
                         .subscribeOn(workScheduler)
@@ -34,6 +34,7 @@ import com.alexstyl.specialdates.events.namedays.NameCelebrations;
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings;
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider;
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.alexstyl.specialdates.permissions.MementoPermissions;
 import com.alexstyl.specialdates.transition.FadeInTransition;
@@ -109,7 +110,7 @@ public class SearchActivity extends ThemedMementoActivity {
         int spacingInPixels = getResources().getDimensionPixelSize(R.dimen.search_result_card_vertical_padding) / HALF;
         resultView.addItemDecoration(new SpacesItemDecoration(spacingInPixels, COLUMNS));
 
-        RecyclerView.LayoutManager mLayoutManager = new LinearLayoutManager(context());
+        LinearLayoutManager mLayoutManager = new LinearLayoutManager(context());
         resultView.setLayoutManager(mLayoutManager);
 
         namesSuggestionsView = Views.findById(this, R.id.search_nameday_suggestions);
@@ -123,6 +124,9 @@ public class SearchActivity extends ThemedMementoActivity {
         adapter = new SearchResultAdapter(imageLoader, labelCreator);
         adapter.setSearchResultClickListener(listener);
         resultView.setAdapter(adapter);
+        int avatarSize = getResources().getDimensionPixelSize(R.dimen.search_result_avatar_size);
+        new AvatarPrefetchScrollListener(imageLoader.prefetcher(avatarSize, avatarSize), mLayoutManager, adapter)
+                .attachTo(resultView);
 
         searchbar.setOnBackKeyPressedListener(onBackKeyPressedListener);
 
@@ -8,13 +8,16 @@ import com.alexstyl.specialdates.contact.Contact;
 import com.alexstyl.specialdates.date.Date;
 import com.alexstyl.specialdates.date.DateLabelCreator;
 import com.alexstyl.specialdates.events.namedays.NameCelebrations;
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener;
 import com.alexstyl.specialdates.images.ImageLoader;
 import com.novoda.notils.exception.DeveloperError;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
-final class SearchResultAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+final class SearchResultAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements AvatarPrefetchScrollListener.RowAvatars {
 
     private final List<ContactEventViewModel> searchResults = new ArrayList<>();
 
@@ -149,6 +152,15 @@ final class SearchResultAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
 
     }
 
+    @Override
+    public URI avatarAt(int position) {
+        if (getItemViewType(position) != VIEWTYPE_CONTACTVIEW) {
+            return null;
+        }
+        int resultPosition = isDisplayingNamedayCard() ? position - 1 : position;
+        return searchResults.get(resultPosition).getContactAvatarURI();
+    }
+
     private boolean isDisplayingNamedayCard() {
         return namedayCard.isAvailable();
     }
@@ -33,7 +33,20 @@ class AndroidUpcomingMVPView(
 
         progressBar.visibility = View.GONE
         adapter.displayUpcomingEvents(events)
+        showListOrEmptyView(events)
 
+        if (askForSupport.shouldAskForRating()) {
+            askForSupport.askForRatingFromUser(activity)
+        }
+    }
+
+    override fun display(events: List<UpcomingRowViewModel>, changes: List<UpcomingRowsChange>) {
+        progressBar.visibility = View.GONE
+        adapter.updateUpcomingEvents(events, changes)
+        showListOrEmptyView(events)
+    }
+
+    private fun showListOrEmptyView(events: List<UpcomingRowViewModel>) {
         if (events.size > 0) {
             upcomingList.visibility = View.VISIBLE
             emptyView.visibility = View.GONE
@@ -41,10 +54,6 @@ class AndroidUpcomingMVPView(
             upcomingList.visibility = View.GONE
             emptyView.visibility = View.VISIBLE
         }
-
-        if (askForSupport.shouldAskForRating()) {
-            askForSupport.askForRatingFromUser(activity)
-        }
     }
 
 }
@@ -1,19 +1,21 @@
 package com.alexstyl.specialdates.upcoming;
 
-import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener;
 import com.alexstyl.specialdates.upcoming.view.OnUpcomingEventClickedListener;
 
-import java.util.ArrayList;
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 
-public class UpcomingEventsAdapter extends RecyclerView.Adapter<UpcomingRowViewHolder> {
+public class UpcomingEventsAdapter extends RecyclerView.Adapter<UpcomingRowViewHolder>
+        implements AvatarPrefetchScrollListener.RowAvatars {
 
     private final UpcomingViewHolderFactory viewHolderFactory;
 
-    private final List<UpcomingRowViewModel> viewModels = new ArrayList<>();
+    private List<UpcomingRowViewModel> viewModels = Collections.emptyList();
     private final OnUpcomingEventClickedListener listener;
 
     UpcomingEventsAdapter(UpcomingViewHolderFactory viewHolderFactory, OnUpcomingEventClickedListener listener) {
@@ -44,16 +46,44 @@ public class UpcomingEventsAdapter extends RecyclerView.Adapter<UpcomingRowViewH
         return viewModels.size();
     }
 
+    /**
+     * The rows are kept as they are given, so that rows that are created on demand are only created once bound.
+     */
     void displayUpcomingEvents(List<UpcomingRowViewModel> upcomingEventRows) {
-        UpcomingEventsDiffCallback diffCallback = new UpcomingEventsDiffCallback(viewModels, upcomingEventRows);
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-        this.viewModels.clear();
-        this.viewModels.addAll(upcomingEventRows);
-        diffResult.dispatchUpdatesTo(this);
+        this.viewModels = upcomingEventRows;
+        notifyDataSetChanged();
+    }
+
+    void updateUpcomingEvents(List<UpcomingRowViewModel> upcomingEventRows, List<UpcomingRowsChange> changes) {
+        this.viewModels = upcomingEventRows;
+        for (UpcomingRowsChange change : changes) {
+            switch (change.getType()) {
+                case INSERTED:
+                    notifyItemRangeInserted(change.getPosition(), change.getCount());
+                    break;
+                case REMOVED:
+                    notifyItemRangeRemoved(change.getPosition(), change.getCount());
+                    break;
+                case CHANGED:
+                    notifyItemRangeChanged(change.getPosition(), change.getCount());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown change " + change.getType());
+            }
+        }
     }
 
     @Override
     public long getItemId(int position) {
         return viewModels.get(position).getId();
     }
+
+    @Override
+    public URI avatarAt(int position) {
+        UpcomingRowViewModel viewModel = viewModels.get(position);
+        if (viewModel instanceof UpcomingContactEventViewModel) {
+            return ((UpcomingContactEventViewModel) viewModel).getContactImagePath();
+        }
+        return null;
+    }
 }
@@ -16,6 +16,7 @@ import com.alexstyl.specialdates.contact.Contact
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsViewRefresher
 import com.alexstyl.specialdates.home.HomeNavigator
+import com.alexstyl.specialdates.images.AvatarPrefetchScrollListener
 import com.alexstyl.specialdates.images.ImageLoader
 import com.alexstyl.specialdates.support.AskForSupport
 import com.alexstyl.specialdates.ui.base.MementoFragment
@@ -54,7 +55,8 @@ class UpcomingEventsFragment : MementoFragment(), UpcomingEventsView {
 
         val upcomingList = view.findViewById<RecyclerView>(R.id.upcoming_events_list)
         upcomingList.setHasFixedSize(true)
-        upcomingList.layoutManager = LinearLayoutManager(activity, LinearLayoutManager.VERTICAL, false)
+        val layoutManager = LinearLayoutManager(activity, LinearLayoutManager.VERTICAL, false)
+        upcomingList.layoutManager = layoutManager
         upcomingList.addItemDecoration(
                 UpcomingEventsDecorator(
                         resources.getDimensionPixelSize(R.dimen.upcoming_event_header_vertical_spacing),
@@ -76,6 +78,9 @@ class UpcomingEventsFragment : MementoFragment(), UpcomingEventsView {
         )
         adapter.setHasStableIds(true)
         upcomingList.adapter = adapter
+        val avatarSize = resources.getDimensionPixelSize(R.dimen.upcoming_avatar_size)
+        AvatarPrefetchScrollListener(imageLoader.prefetcher(avatarSize, avatarSize), layoutManager, adapter)
+                .attachTo(upcomingList)
         mvpView = AndroidUpcomingMVPView(
                 upcomingList, root, progressBar, emptyView, adapter, askForSupport, activity!!)
 
@@ -16,6 +16,7 @@ import com.alexstyl.specialdates.events.bankholidays.BankHolidaysUserSettings
 import com.alexstyl.specialdates.events.bankholidays.GreekBankHolidaysCalculator
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsUpdater
 import com.alexstyl.specialdates.facebook.FacebookUserSettings
@@ -72,14 +73,17 @@ class UpcomingEventsModule {
     }
 
     @Provides
-    fun presenter(permissionsChecker: MementoPermissions, provider: UpcomingEventsProvider): UpcomingEventsPresenter {
+    fun presenter(permissionsChecker: MementoPermissions,
+                  provider: UpcomingEventsProvider,
+                  eventCalendar: EventCalendarRepository): UpcomingEventsPresenter {
         val today = Date.today()
         return UpcomingEventsPresenter(
                 today,
                 permissionsChecker,
                 provider,
                 Schedulers.io(),
-                AndroidSchedulers.mainThread()
+                AndroidSchedulers.mainThread(),
+                eventCalendar.snapshots()
         )
     }
 
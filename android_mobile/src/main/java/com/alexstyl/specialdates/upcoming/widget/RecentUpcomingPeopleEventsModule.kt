@@ -2,10 +2,20 @@ package com.alexstyl.specialdates.upcoming.widget
 
 import android.appwidget.AppWidgetManager
 import android.content.Context
+import com.alexstyl.resources.Colors
+import com.alexstyl.specialdates.CrashAndErrorTracker
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
+import com.alexstyl.specialdates.images.BitmapPool
 import com.alexstyl.specialdates.images.ImageLoader
 import com.alexstyl.specialdates.permissions.MementoPermissions
+import com.alexstyl.specialdates.upcoming.widget.list.CircularAvatarFactory
+import com.alexstyl.specialdates.upcoming.widget.list.ContactPhotoVersions
+import com.alexstyl.specialdates.upcoming.widget.list.WidgetAvatarCache
+import com.alexstyl.specialdates.upcoming.widget.list.WidgetAvatarPrefill
 import com.alexstyl.specialdates.upcoming.widget.today.LuminanceAnalyzer
+import com.alexstyl.specialdates.upcoming.widget.today.NextEventsPayloadStore
+import com.alexstyl.specialdates.upcoming.widget.today.NextEventsPayloadWriter
 import com.alexstyl.specialdates.upcoming.widget.today.RecentPeopleEventsPresenter
 import com.alexstyl.specialdates.upcoming.widget.today.TodayUpcomingEventsView
 import com.alexstyl.specialdates.upcoming.widget.today.UpcomingWidgetPreferences
@@ -14,6 +24,8 @@ import dagger.Module
 import dagger.Provides
 import io.reactivex.android.schedulers.AndroidSchedulers
 import io.reactivex.schedulers.Schedulers
+import java.io.File
+import javax.inject.Singleton
 
 @Module
 class RecentUpcomingPeopleEventsModule {
@@ -31,17 +43,69 @@ class RecentUpcomingPeopleEventsModule {
 
 
     @Provides
-    fun luminanceAnalyzer(): LuminanceAnalyzer {
-        return LuminanceAnalyzer(Schedulers.io(), AndroidSchedulers.mainThread())
+    fun luminanceAnalyzer(preferences: UpcomingWidgetPreferences): LuminanceAnalyzer {
+        return LuminanceAnalyzer(preferences, Schedulers.io(), AndroidSchedulers.mainThread())
     }
 
     @Provides
-    fun presenter(eventsProvider: PeopleEventsProvider, permissions: MementoPermissions): RecentPeopleEventsPresenter {
-        return RecentPeopleEventsPresenter(eventsProvider, permissions, Schedulers.trampoline(), Schedulers.trampoline())
+    fun presenter(eventsProvider: PeopleEventsProvider,
+                  permissions: MementoPermissions,
+                  eventCalendar: EventCalendarRepository,
+                  payloadStore: NextEventsPayloadStore): RecentPeopleEventsPresenter {
+        return RecentPeopleEventsPresenter(
+                eventsProvider,
+                permissions,
+                eventCalendar,
+                payloadStore,
+                Schedulers.trampoline(),
+                Schedulers.trampoline()
+        )
+    }
+
+    @Provides
+    @Singleton
+    fun nextEventsPayloadStore(context: Context): NextEventsPayloadStore {
+        return NextEventsPayloadStore(File(context.filesDir, NEXT_EVENTS_PAYLOAD_FILE))
+    }
+
+    @Provides
+    @Singleton
+    fun nextEventsPayloadWriter(eventCalendar: EventCalendarRepository,
+                                payloadStore: NextEventsPayloadStore,
+                                tracker: CrashAndErrorTracker): NextEventsPayloadWriter {
+        return NextEventsPayloadWriter(eventCalendar, payloadStore, tracker, Schedulers.io())
+    }
+
+    @Provides
+    @Singleton
+    fun widgetAvatarCache(context: Context,
+                          imageLoader: ImageLoader,
+                          colors: Colors,
+                          bitmapPool: BitmapPool): WidgetAvatarCache {
+        return WidgetAvatarCache(
+                CircularAvatarFactory(imageLoader, colors, bitmapPool),
+                ContactPhotoVersions(context.contentResolver),
+                File(context.cacheDir, WIDGET_AVATARS_DIRECTORY),
+                bitmapPool,
+                context.resources
+        )
+    }
+
+    @Provides
+    @Singleton
+    fun widgetAvatarPrefill(eventCalendar: EventCalendarRepository,
+                            avatarCache: WidgetAvatarCache,
+                            tracker: CrashAndErrorTracker): WidgetAvatarPrefill {
+        return WidgetAvatarPrefill(eventCalendar, avatarCache, tracker, Schedulers.io())
     }
 
     @Provides
     fun todayUpcomingEventsView(context: Context, appWidgetManager: AppWidgetManager): TodayUpcomingEventsView {
         return TodayUpcomingEventsView(context, appWidgetManager)
     }
+
+    companion object {
+        private const val WIDGET_AVATARS_DIRECTORY = "widget_avatars"
+        private const val NEXT_EVENTS_PAYLOAD_FILE = "today_widget_next_events"
+    }
 }
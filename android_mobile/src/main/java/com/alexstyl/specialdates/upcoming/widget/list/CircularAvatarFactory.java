@@ -13,21 +13,24 @@ import com.alexstyl.specialdates.Optional;
 import com.alexstyl.specialdates.R;
 import com.alexstyl.specialdates.contact.Contact;
 import com.alexstyl.specialdates.contact.DisplayName;
+import com.alexstyl.specialdates.images.BitmapPool;
 import com.alexstyl.specialdates.images.ImageLoader;
 
 import static android.graphics.Shader.TileMode.CLAMP;
 
-final class CircularAvatarFactory {
+public final class CircularAvatarFactory {
 
     private static final String SMILEY_FACE = ":)";
     private static final Typeface ROBOTO_LIGHT = Typeface.create("sans-serif-light", Typeface.NORMAL);
 
     private final ImageLoader imageLoader;
     private final Colors colors;
+    private final BitmapPool bitmapPool;
 
-    CircularAvatarFactory(ImageLoader imageLoader, Colors colors) {
+    public CircularAvatarFactory(ImageLoader imageLoader, Colors colors, BitmapPool bitmapPool) {
         this.imageLoader = imageLoader;
         this.colors = colors;
+        this.bitmapPool = bitmapPool;
     }
 
     Optional<Bitmap> circularAvatarFor(Contact contact, @Px int targetSize) {
@@ -40,7 +43,7 @@ final class CircularAvatarFactory {
         }
 
         Bitmap avatar = bitmapOptional.get();
-        Bitmap circleBitmap = Bitmap.createBitmap(avatar.getWidth(), avatar.getHeight(), Bitmap.Config.ARGB_8888);
+        Bitmap circleBitmap = bitmapPool.get(avatar.getWidth(), avatar.getHeight(), Bitmap.Config.ARGB_8888);
         Canvas canvas = new Canvas(circleBitmap);
         Paint paint = createPaintFrom(avatar);
 
@@ -60,8 +63,8 @@ final class CircularAvatarFactory {
         return paint;
     }
 
-    Bitmap createLetterAvatarFor(DisplayName displayName, @Px int viewSize, @Px int letterSize) {
-        Bitmap drawingBitmap = Bitmap.createBitmap(viewSize, viewSize, Bitmap.Config.ARGB_8888);
+    Bitmap createLetterAvatar(String letter, @Px int viewSize, @Px int letterSize) {
+        Bitmap drawingBitmap = bitmapPool.get(viewSize, viewSize, Bitmap.Config.ARGB_8888);
         Canvas canvas = new Canvas(drawingBitmap);
 
         Paint backgroundPaint = createBackgroundPaint();
@@ -71,16 +74,20 @@ final class CircularAvatarFactory {
         Paint textPaint = createTextPaint(letterSize);
         int xPos = canvas.getWidth() / 2;
         int yPos = (canvas.getHeight() / 2 - ((((int) (textPaint.descent() + textPaint.ascent()))) / 2));
-        canvas.drawText(firstLetterOf(displayName), xPos, yPos, textPaint);
+        canvas.drawText(letter, xPos, yPos, textPaint);
         return drawingBitmap;
     }
 
     private Paint createBackgroundPaint() {
         Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        backgroundPaint.setColor(colors.getDailyReminderColor());
+        backgroundPaint.setColor(getLetterBackgroundColor());
         return backgroundPaint;
     }
 
+    int getLetterBackgroundColor() {
+        return colors.getDailyReminderColor();
+    }
+
     private static Paint createTextPaint(@Px int letterSize) {
         Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
         paint.setColor(Color.WHITE);
@@ -90,7 +97,7 @@ final class CircularAvatarFactory {
         return paint;
     }
 
-    private static String firstLetterOf(DisplayName displayName) {
+    static String firstLetterOf(DisplayName displayName) {
         String rawDisplayName = displayName.toString();
         if (rawDisplayName.length() == 0) {
             return SMILEY_FACE;
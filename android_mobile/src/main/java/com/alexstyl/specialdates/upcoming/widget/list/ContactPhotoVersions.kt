@@ -0,0 +1,69 @@
+package com.alexstyl.specialdates.upcoming.widget.list
+
+import android.content.ContentResolver
+import android.provider.ContactsContract.Contacts
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.contact.ContactSource
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tells which version of its photo a contact has, so that anything drawn from an older photo can be told apart.
+ *
+ * Device contacts get a new photo id and photo file id whenever their photo is replaced.
+ * The photos of Facebook contacts are always fetched from the same address and nothing tells when they change,
+ * so they get a new version every week.
+ */
+class ContactPhotoVersions(private val contentResolver: ContentResolver) {
+
+    fun versionsOf(contacts: Collection<Contact>): Map<Contact, PhotoVersion> {
+        val versions = HashMap<Contact, PhotoVersion>(contacts.size)
+        val deviceContacts = HashMap<Long, Contact>()
+        for (contact in contacts) {
+            if (contact.source == ContactSource.SOURCE_DEVICE) {
+                deviceContacts[contact.contactID] = contact
+            } else {
+                versions[contact] = currentFacebookVersion()
+            }
+        }
+        deviceContacts.keys.chunked(MAX_IDS_PER_QUERY).forEach { ids ->
+            queryPhotoIdsOf(ids, deviceContacts, versions)
+        }
+        return versions
+    }
+
+    fun versionOf(contact: Contact): PhotoVersion = versionsOf(listOf(contact))[contact] ?: NO_PHOTO
+
+    private fun currentFacebookVersion() = PhotoVersion(FACEBOOK_PHOTO_ID, System.currentTimeMillis() / A_WEEK_IN_MILLIS)
+
+    private fun queryPhotoIdsOf(ids: List<Long>, contacts: Map<Long, Contact>, versions: MutableMap<Contact, PhotoVersion>) {
+        contentResolver.query(
+                Contacts.CONTENT_URI,
+                PROJECTION,
+                "${Contacts._ID} IN (${ids.joinToString(",")})",
+                null,
+                null
+        )?.use { cursor ->
+            while (cursor.moveToNext()) {
+                val contact = contacts[cursor.getLong(0)] ?: continue
+                versions[contact] = PhotoVersion(cursor.getLong(1), cursor.getLong(2))
+            }
+        }
+    }
+
+    data class PhotoVersion(val photoId: Long, val photoFileId: Long) {
+
+        val hasPhoto: Boolean
+            get() = photoId != 0L || photoFileId != 0L
+
+        override fun toString(): String = "$photoId-$photoFileId"
+    }
+
+    companion object {
+
+        val NO_PHOTO = PhotoVersion(0, 0)
+        private const val FACEBOOK_PHOTO_ID = -1L
+        private val A_WEEK_IN_MILLIS = TimeUnit.DAYS.toMillis(7)
+        private const val MAX_IDS_PER_QUERY = 500
+        private val PROJECTION = arrayOf(Contacts._ID, Contacts.PHOTO_ID, Contacts.PHOTO_FILE_ID)
+    }
+}
@@ -2,40 +2,41 @@ package com.alexstyl.specialdates.upcoming.widget.list;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
-import android.content.res.Resources;
 import android.widget.RemoteViews;
 import android.widget.RemoteViewsService;
 
 import com.alexstyl.specialdates.R;
+import com.alexstyl.specialdates.contact.Contact;
 import com.alexstyl.specialdates.date.Date;
 import com.alexstyl.specialdates.date.TimePeriod;
+import com.alexstyl.specialdates.upcoming.UpcomingContactEventViewModel;
 import com.alexstyl.specialdates.upcoming.UpcomingEventsProvider;
 import com.alexstyl.specialdates.upcoming.UpcomingRowViewModel;
 import com.alexstyl.specialdates.upcoming.UpcomingRowViewType;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 class UpcomingEventsViewsFactory implements RemoteViewsService.RemoteViewsFactory {
 
     private static final int VIEW_TYPE_COUNT = 3;
-    private static final int DAYS_IN_A_MONTH = 30;
+    static final int DAYS_IN_A_MONTH = 30;
     private final String packageName;
     private final UpcomingEventsProvider upcomingEventsProvider;
-    private final Resources resources;
-    private final CircularAvatarFactory avatarFactory;
+    private final WidgetAvatarCache avatarCache;
     private final Context context;
 
     private List<UpcomingRowViewModel> rows;
 
     UpcomingEventsViewsFactory(String packageName,
                                UpcomingEventsProvider upcomingEventsProvider,
-                               Context context, Resources resources,
-                               CircularAvatarFactory avatarFactory) {
+                               Context context,
+                               WidgetAvatarCache avatarCache) {
         this.packageName = packageName;
         this.context = context;
-        this.resources = resources;
         this.upcomingEventsProvider = upcomingEventsProvider;
-        this.avatarFactory = avatarFactory;
+        this.avatarCache = avatarCache;
     }
 
     @Override
@@ -47,6 +48,17 @@ class UpcomingEventsViewsFactory implements RemoteViewsService.RemoteViewsFactor
     public void onDataSetChanged() {
         Date date = Date.Companion.today();
         rows = upcomingEventsProvider.calculateEventsBetween(aMonthFrom(date));
+        avatarCache.refreshVersionsOf(contactsIn(rows));
+    }
+
+    private static Set<Contact> contactsIn(List<UpcomingRowViewModel> rows) {
+        Set<Contact> contacts = new HashSet<>();
+        for (UpcomingRowViewModel row : rows) {
+            if (row instanceof UpcomingContactEventViewModel) {
+                contacts.add(((UpcomingContactEventViewModel) row).getContact());
+            }
+        }
+        return contacts;
     }
 
     private TimePeriod aMonthFrom(Date date) {
@@ -78,7 +90,7 @@ class UpcomingEventsViewsFactory implements RemoteViewsService.RemoteViewsFactor
             }
             case UpcomingRowViewType.CONTACT_EVENT: {
                 RemoteViews remoteViews = new RemoteViews(packageName, R.layout.widget_upcoming_events_list_contact_event);
-                return new ContactEventBinder(remoteViews, resources, context, avatarFactory);
+                return new ContactEventBinder(remoteViews, context, avatarCache);
             }
             default:
                 throw new IllegalStateException("Unhandled type " + viewModel.getViewType());
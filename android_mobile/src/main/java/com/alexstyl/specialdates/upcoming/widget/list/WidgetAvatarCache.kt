@@ -0,0 +1,145 @@
+package com.alexstyl.specialdates.upcoming.widget.list
+
+import android.content.res.Resources
+import android.graphics.Bitmap
+import android.support.annotation.Px
+import android.util.LruCache
+import com.alexstyl.specialdates.R
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.images.BitmapPool
+import com.novoda.notils.logger.simple.Log
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Keeps the avatars of the upcoming events widget circled and sized for the widget, in memory and on disk,
+ * so that binding a row of the widget does not need to decode or draw anything.
+ *
+ * Photo avatars are kept by the version of the contact's photo, which means a new photo is never answered
+ * with an avatar of the old one. Letter avatars are kept by their letter and colour and are shared by all
+ * contacts whose name starts with the same letter.
+ *
+ * Avatars are drawn or decoded into bitmaps taken from the [BitmapPool], but are never returned to it:
+ * an avatar dropped from memory may still be bound to a widget row that has not been sent to the launcher yet.
+ */
+class WidgetAvatarCache(private val avatarFactory: CircularAvatarFactory,
+                        private val photoVersions: ContactPhotoVersions,
+                        private val directory: File,
+                        private val bitmapPool: BitmapPool,
+                        resources: Resources) {
+
+    @Px private val avatarSize = resources.getDimensionPixelSize(R.dimen.widget_upcoming_avatar_size)
+    @Px private val letterSize = resources.getDimensionPixelSize(R.dimen.widget_upcoming_avatar_text_size)
+
+    private val memory = object : LruCache<String, Bitmap>(MEMORY_BUDGET_BYTES) {
+        override fun sizeOf(key: String, value: Bitmap): Int = value.byteCount
+    }
+    private val knownVersions = ConcurrentHashMap<Contact, ContactPhotoVersions.PhotoVersion>()
+    private val keysWithoutPhoto: MutableSet<String> = Collections.newSetFromMap(ConcurrentHashMap<String, Boolean>())
+
+    fun avatarFor(contact: Contact): Bitmap {
+        val version = knownVersions[contact] ?: photoVersions.versionOf(contact).also { knownVersions[contact] = it }
+        if (version.hasPhoto) {
+            val photoKey = photoKeyOf(contact, version)
+            if (!keysWithoutPhoto.contains(photoKey)) {
+                val photoAvatar = cached(photoKey) { avatarFactory.circularAvatarFor(contact, avatarSize).let { if (it.isPresent) it.get() else null } }
+                if (photoAvatar != null) {
+                    return photoAvatar
+                }
+                keysWithoutPhoto.add(photoKey)
+            }
+        }
+        val letter = CircularAvatarFactory.firstLetterOf(contact.displayName)
+        return cached(letterKeyOf(letter)) { avatarFactory.createLetterAvatar(letter, avatarSize, letterSize) }!!
+    }
+
+    /**
+     * Reads again which photo the given contacts have, so that the avatars of contacts
+     * whose photo changed since the last [prefill] are drawn again.
+     */
+    fun refreshVersionsOf(contacts: Collection<Contact>) {
+        knownVersions.putAll(photoVersions.versionsOf(contacts))
+    }
+
+    /**
+     * Prepares the avatars of the given contacts, on the calling thread,
+     * and drops the photo avatars that were kept for any other photo or contact.
+     */
+    fun prefill(contacts: Collection<Contact>) {
+        val versions = photoVersions.versionsOf(contacts)
+        knownVersions.clear()
+        knownVersions.putAll(versions)
+
+        val photoKeys = HashSet<String>()
+        for (contact in contacts) {
+            val version = versions[contact] ?: continue
+            if (version.hasPhoto) {
+                photoKeys.add(photoKeyOf(contact, version))
+            }
+            avatarFor(contact)
+        }
+        directory.listFiles()
+                ?.filter { it.name.startsWith(PHOTO_PREFIX) && !photoKeys.contains(it.nameWithoutExtension) }
+                ?.forEach { it.delete() }
+        memory.snapshot().keys
+                .filter { it.startsWith(PHOTO_PREFIX) && !photoKeys.contains(it) }
+                .forEach { memory.remove(it) }
+        keysWithoutPhoto.retainAll(photoKeys)
+    }
+
+    private inline fun cached(key: String, create: () -> Bitmap?): Bitmap? {
+        memory.get(key)?.let { return it }
+
+        val file = fileOf(key)
+        val bitmap = (if (file.exists()) bitmapPool.decodeFile(file.path) else null)
+                ?: create()?.also { writeToDisk(it, file) }
+                ?: return null
+        memory.put(key, bitmap)
+        return bitmap
+    }
+
+    /*
+     * Written to a temporary file of its own first, so that a file with the name of a key is always complete,
+     * even when the widget and the prefill draw the same avatar at the same time
+     */
+    private fun writeToDisk(bitmap: Bitmap, file: File) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            return
+        }
+        val temporaryFile = try {
+            File.createTempFile(file.nameWithoutExtension, TEMPORARY_SUFFIX, directory)
+        } catch (e: IOException) {
+            Log.w(e)
+            return
+        }
+        try {
+            FileOutputStream(temporaryFile).use { bitmap.compress(Bitmap.CompressFormat.PNG, PNG_QUALITY, it) }
+            if (!temporaryFile.renameTo(file)) {
+                temporaryFile.delete()
+            }
+        } catch (e: IOException) {
+            Log.w(e)
+            temporaryFile.delete()
+        }
+    }
+
+    private fun fileOf(key: String) = File(directory, "$key.png")
+
+    private fun photoKeyOf(contact: Contact, version: ContactPhotoVersions.PhotoVersion) =
+            "${PHOTO_PREFIX}${contact.source}_${contact.contactID}_${version}_$avatarSize"
+
+    private fun letterKeyOf(letter: String) =
+            "${LETTER_PREFIX}${letter.codePointAt(0)}_${avatarFactory.letterBackgroundColor}_${avatarSize}_$letterSize"
+
+    companion object {
+
+        private const val PHOTO_PREFIX = "photo_"
+        private const val LETTER_PREFIX = "letter_"
+        private const val TEMPORARY_SUFFIX = ".tmp"
+        private const val PNG_QUALITY = 100
+        private val MEMORY_BUDGET_BYTES = (Runtime.getRuntime().maxMemory() / 32).toInt()
+    }
+}
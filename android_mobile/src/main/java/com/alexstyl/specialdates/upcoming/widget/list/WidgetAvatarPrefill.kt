@@ -0,0 +1,44 @@
+package com.alexstyl.specialdates.upcoming.widget.list
+
+import com.alexstyl.specialdates.CrashAndErrorTracker
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarSnapshot
+import io.reactivex.Scheduler
+import io.reactivex.disposables.Disposable
+
+/**
+ * Prepares the avatars of the contacts that the upcoming events widget shows, every time the events change,
+ * so that the widget finds them ready when it is scrolled.
+ */
+class WidgetAvatarPrefill(private val eventCalendar: EventCalendarRepository,
+                          private val avatarCache: WidgetAvatarCache,
+                          private val tracker: CrashAndErrorTracker,
+                          private val workScheduler: Scheduler) {
+
+    private var disposable: Disposable? = null
+
+    fun start() {
+        if (disposable != null) {
+            return
+        }
+        disposable = eventCalendar.snapshots()
+                .observeOn(workScheduler)
+                .subscribe { snapshot ->
+                    try {
+                        avatarCache.prefill(contactsShownFrom(snapshot))
+                    } catch (e: RuntimeException) {
+                        tracker.track(e)
+                    }
+                }
+    }
+
+    private fun contactsShownFrom(snapshot: EventCalendarSnapshot): Set<Contact> {
+        val timePeriod = TimePeriod.between(
+                snapshot.startDate,
+                snapshot.startDate.addDay(UpcomingEventsViewsFactory.DAYS_IN_A_MONTH)
+        )
+        return snapshot.eventsBetween(timePeriod).mapTo(LinkedHashSet()) { it.contact }
+    }
+}
@@ -11,7 +11,6 @@ import com.alexstyl.specialdates.Strings
 import com.alexstyl.specialdates.contact.Contact
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.DateLabelCreator
-import com.alexstyl.specialdates.events.peopleevents.ContactEventsOnADate
 import com.alexstyl.specialdates.home.HomeActivity
 import com.alexstyl.specialdates.person.PersonActivity
 import com.alexstyl.specialdates.util.NaturalLanguageUtils
@@ -25,17 +24,17 @@ class AndroidRecentPeopleEventsView(private val context: Context,
                                     private val labelCreator: DateLabelCreator)
     : RecentPeopleEventsView {
 
-    override fun onNextDateLoaded(events: ContactEventsOnADate) {
-        val eventDate = events.date
+    override fun onNextDateLoaded(nextEvents: NextEvents) {
+        val eventDate = nextEvents.date
         val date = Date.on(eventDate.dayOfMonth, eventDate.month, Date.today().year)
         val intent = HomeActivity.getStartIntent(context)
         intent.data = Uri.parse(date.hashCode().toString())
 
-        val contacts = events.contacts
+        val contacts = nextEvents.contacts
         val pendingIntent = pendingIntentFor(context, intent, contacts)
         val title = labelOf(date)
 
-        val label = NaturalLanguageUtils.joinContacts(strings, events.contacts, 2)
+        val label = NaturalLanguageUtils.joinContacts(strings, nextEvents.contacts, 2)
 
         val selectedVariant = preferences.selectedVariant
         val transparencyColorCalculator = TransparencyColorCalculator()
@@ -63,7 +62,7 @@ class AndroidRecentPeopleEventsView(private val context: Context,
             remoteViews.setOnClickPendingIntent(R.id.upcoming_widget_background, pendingIntent)
             appWidgetManager.updateAppWidget(appWidgetId, remoteViews)
 
-            widgetImageLoader.loadPicture(events.contacts, appWidgetId, remoteViews, avatarSizeInPx)
+            widgetImageLoader.loadPicture(nextEvents.contacts, appWidgetId, remoteViews, avatarSizeInPx)
         }
     }
 
@@ -1,17 +1,41 @@
 package com.alexstyl.specialdates.upcoming.widget.today
 
 import android.graphics.Bitmap
+import android.graphics.Canvas
 import android.graphics.Color
+import android.graphics.drawable.BitmapDrawable
 import android.graphics.drawable.Drawable
-import com.alexstyl.android.toBitmap
 import io.reactivex.Observable
 import io.reactivex.Scheduler
 
-class LuminanceAnalyzer(private val workScheduler: Scheduler, private val resultScheduler: Scheduler) {
+/**
+ * Tells whether a wallpaper is light, meaning that at least 90% of it is made of light pixels.
+ *
+ * Only a grid of [SAMPLES_PER_SIDE] by [SAMPLES_PER_SIDE] pixels is looked at, which is plenty to tell
+ * a light wallpaper apart from a dark one, and the sampling stops as soon as the answer is settled.
+ * The answer is kept by the id of the wallpaper, so the same wallpaper is only analysed once.
+ */
+class LuminanceAnalyzer(private val preferences: UpcomingWidgetPreferences,
+                        private val workScheduler: Scheduler,
+                        private val resultScheduler: Scheduler) {
 
-    fun analyse(drawable: Drawable, result: (Boolean) -> Unit) {
+    /**
+     * @param wallpaper reads the drawable of the wallpaper. It is only called, on the work scheduler,
+     * when the wallpaper has not been analysed before
+     * @param wallpaperId the id of the wallpaper the drawable is of, or null if it is not known
+     */
+    fun analyse(wallpaper: () -> Drawable, wallpaperId: Int?, result: (Boolean) -> Unit) {
+        val knownResult = if (wallpaperId == null) null else preferences.isWallpaperLight(wallpaperId)
+        if (knownResult != null) {
+            result(knownResult)
+            return
+        }
         Observable.fromCallable {
-            isLight(drawable.toBitmap())
+            isLight(wallpaper()).also { isLight ->
+                if (wallpaperId != null) {
+                    preferences.storeWallpaperLuminance(wallpaperId, isLight)
+                }
+            }
         }
                 .subscribeOn(workScheduler)
                 .observeOn(resultScheduler)
@@ -20,23 +44,61 @@ class LuminanceAnalyzer(private val workScheduler: Scheduler, private val result
                 }
     }
 
+    private fun isLight(drawable: Drawable): Boolean {
+        return if (drawable is BitmapDrawable && drawable.bitmap != null) {
+            isLight(drawable.bitmap)
+        } else {
+            isLight(drawable.toSampleBitmap())
+        }
+    }
+
+    /*
+     * Drawables that are not bitmaps are drawn straight into a bitmap the size of the grid
+     */
+    private fun Drawable.toSampleBitmap(): Bitmap {
+        val bitmap = Bitmap.createBitmap(SAMPLES_PER_SIDE, SAMPLES_PER_SIDE, Bitmap.Config.ARGB_8888)
+        setBounds(0, 0, SAMPLES_PER_SIDE, SAMPLES_PER_SIDE)
+        draw(Canvas(bitmap))
+        return bitmap
+    }
+
     private fun isLight(bitmap: Bitmap): Boolean {
-        val darkThreshold = bitmap.width.toFloat() * bitmap.height.toFloat() * 0.90f
-        var lightPixels = 0
-
-        val pixels = IntArray(bitmap.width * bitmap.height)
-        bitmap.getPixels(pixels, 0, bitmap.width, 0, 0, bitmap.width, bitmap.height)
-
-        for (pixel in pixels) {
-            val r = Color.red(pixel)
-            val g = Color.green(pixel)
-            val b = Color.blue(pixel)
-            val luminance = 0.299 * r + 0.0 + 0.587 * g + 0.0 + 0.114 * b + 0.0
-            if (luminance > 150) {
-                lightPixels++
+        val columns = Math.min(bitmap.width, SAMPLES_PER_SIDE)
+        val rows = Math.min(bitmap.height, SAMPLES_PER_SIDE)
+        val samples = columns * rows
+        val lightSamplesNeeded = (samples * LIGHT_PERCENTAGE + 99) / 100
+        val darkSamplesAllowed = samples - lightSamplesNeeded
+
+        var lightSamples = 0
+        var darkSamples = 0
+        for (row in 0 until rows) {
+            val y = (row * 2 + 1) * bitmap.height / (rows * 2)
+            for (column in 0 until columns) {
+                val x = (column * 2 + 1) * bitmap.width / (columns * 2)
+                if (isLight(bitmap.getPixel(x, y))) {
+                    if (++lightSamples >= lightSamplesNeeded) {
+                        return true
+                    }
+                } else if (++darkSamples > darkSamplesAllowed) {
+                    return false
+                }
             }
         }
+        return lightSamples >= lightSamplesNeeded
+    }
+
+    /*
+     * The luma weights of ITU-R BT.601, in thousandths
+     */
+    private fun isLight(pixel: Int): Boolean {
+        val luma = 299 * Color.red(pixel) + 587 * Color.green(pixel) + 114 * Color.blue(pixel)
+        return luma > LIGHT_LUMA_THRESHOLD * 1000
+    }
+
+    companion object {
 
-        return lightPixels >= darkThreshold
+        private const val SAMPLES_PER_SIDE = 64
+        private const val LIGHT_PERCENTAGE = 90
+        private const val LIGHT_LUMA_THRESHOLD = 150
     }
 }
@@ -159,8 +159,9 @@ class UpcomingWidgetConfigureActivity : MementoActivity() {
     }
 
     private fun displayWallpaper() {
-        val wallpaper = WallpaperManager.getInstance(this).drawable
-        luminanceAnalyzer.analyse(wallpaper, { isLight ->
+        val wallpaperManager = WallpaperManager.getInstance(this)
+        val wallpaperId = if (Version.hasNougat()) wallpaperManager.getWallpaperId(WallpaperManager.FLAG_SYSTEM) else -1
+        luminanceAnalyzer.analyse({ wallpaperManager.drawable }, if (wallpaperId >= 0) wallpaperId else null, { isLight ->
             if (isLight) {
                 loadDarkUI()
             } else {
@@ -25,6 +25,21 @@ class UpcomingWidgetPreferences(context: Context) {
         preferences.setInteger(R.string.key_upcoming_widget_variant, userOptions.widgetVariant.id)
     }
 
+    /**
+     * Returns whether the wallpaper with the given id was found to be light, if it is the last one analysed.
+     */
+    fun isWallpaperLight(wallpaperId: Int): Boolean? {
+        if (preferences.getInt(R.string.key_upcoming_widget_wallpaper_id, NO_WALLPAPER_ID) != wallpaperId) {
+            return null
+        }
+        return preferences.getBoolean(R.string.key_upcoming_widget_wallpaper_is_light, false)
+    }
+
+    fun storeWallpaperLuminance(wallpaperId: Int, isLight: Boolean) {
+        preferences.setBoolean(R.string.key_upcoming_widget_wallpaper_is_light, isLight)
+        preferences.setInteger(R.string.key_upcoming_widget_wallpaper_id, wallpaperId)
+    }
+
     fun addListener(listener: SharedPreferences.OnSharedPreferenceChangeListener) {
         preferences.addOnPreferenceChangedListener(listener)
     }
@@ -37,5 +52,6 @@ class UpcomingWidgetPreferences(context: Context) {
 
         private val DEFAULT_VARIANT_ID = WidgetVariant.LIGHT.id
         private val DEFAULT_OPACITY = 1.0f
+        private const val NO_WALLPAPER_ID = -1
     }
 }
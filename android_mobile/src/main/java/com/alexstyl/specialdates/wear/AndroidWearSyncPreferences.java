@@ -0,0 +1,35 @@
+package com.alexstyl.specialdates.wear;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.alexstyl.specialdates.EasyPreferences;
+import com.alexstyl.specialdates.R;
+
+public final class AndroidWearSyncPreferences implements WearSyncPreferences {
+
+    private static final long NO_HASH = -1;
+
+    private final EasyPreferences preferences;
+
+    public static AndroidWearSyncPreferences newInstance(Context context) {
+        EasyPreferences preferences = EasyPreferences.createForPrivatePreferences(context, R.string.pref_wear_sync);
+        return new AndroidWearSyncPreferences(preferences);
+    }
+
+    private AndroidWearSyncPreferences(EasyPreferences preferences) {
+        this.preferences = preferences;
+    }
+
+    @Nullable
+    @Override
+    public Long lastSyncedPayloadHash() {
+        long hash = preferences.getLong(R.string.key_wear_last_synced_payload_hash, NO_HASH);
+        return hash == NO_HASH ? null : hash;
+    }
+
+    @Override
+    public void setLastSyncedPayloadHash(long hash) {
+        preferences.setLong(R.string.key_wear_last_synced_payload_hash, hash);
+    }
+}
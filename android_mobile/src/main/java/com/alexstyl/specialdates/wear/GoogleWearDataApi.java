@@ -0,0 +1,46 @@
+package com.alexstyl.specialdates.wear;
+
+import android.content.Context;
+
+import com.google.android.gms.common.api.GoogleApiClient;
+import com.google.android.gms.wearable.DataApi;
+import com.google.android.gms.wearable.PutDataMapRequest;
+import com.google.android.gms.wearable.Wearable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts the events payload into the wearable data layer, through a single client that stays connected between syncs.
+ * <p>
+ * The calls block, so they should not be made on the main thread.
+ */
+public class GoogleWearDataApi implements WearDataApi {
+
+    private static final long CONNECTION_TIMEOUT_SECONDS = 30;
+
+    private final GoogleApiClient googleApiClient;
+
+    public GoogleWearDataApi(Context context) {
+        this.googleApiClient = new GoogleApiClient.Builder(context.getApplicationContext())
+                .addApi(Wearable.API)
+                .build();
+    }
+
+    @Override
+    public synchronized boolean putEventsPayload(byte[] payload) {
+        if (!isConnected()) {
+            return false;
+        }
+        PutDataMapRequest putDataMapRequest = PutDataMapRequest.create(SharedConstants.NEXT_CONTACT_EVENTS_PATH);
+        putDataMapRequest.getDataMap().putByteArray(SharedConstants.KEY_EVENTS_PAYLOAD, payload);
+        DataApi.DataItemResult result = Wearable.DataApi
+                .putDataItem(googleApiClient, putDataMapRequest.asPutDataRequest())
+                .await();
+        return result.getStatus().isSuccess();
+    }
+
+    private boolean isConnected() {
+        return googleApiClient.isConnected()
+                || googleApiClient.blockingConnect(CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS).isSuccess();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alexstyl.specialdates.wear;
+
+import android.content.Context;
+
+import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+
+@Module
+public class WearModule {
+
+    @Provides
+    @Singleton
+    WearDataApi wearDataApi(Context context) {
+        return new GoogleWearDataApi(context);
+    }
+
+    @Provides
+    WearSyncPreferences preferences(Context context) {
+        return AndroidWearSyncPreferences.newInstance(context);
+    }
+
+    @Provides
+    WearEventsSync wearEventsSync(PeopleEventsProvider peopleEventsProvider,
+                                  WearDataApi wearDataApi,
+                                  WearSyncPreferences preferences) {
+        return new WearEventsSync(peopleEventsProvider, wearDataApi, preferences);
+    }
+}
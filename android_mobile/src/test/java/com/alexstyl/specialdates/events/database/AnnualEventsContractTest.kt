@@ -0,0 +1,76 @@
+package com.alexstyl.specialdates.events.database
+
+import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.sql.Connection
+import java.sql.DriverManager
+
+class AnnualEventsContractTest {
+
+    private lateinit var connection: Connection
+
+    @Before
+    fun setUp() {
+        Class.forName("org.sqlite.JDBC")
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:")
+        execute("CREATE TABLE ${AnnualEventsContract.TABLE_NAME} (" +
+                "${AnnualEventsContract._ID} INTEGER NOT NULL, " +
+                "${AnnualEventsContract.DISPLAY_NAME} TEXT NOT NULL, " +
+                "${AnnualEventsContract.DEVICE_EVENT_ID} INTEGER NOT NULL, " +
+                "${AnnualEventsContract.CONTACT_ID} INTEGER NOT NULL, " +
+                "${AnnualEventsContract.DATE} TEXT NOT NULL, " +
+                "${AnnualEventsContract.EVENT_TYPE} INTEGER NOT NULL, " +
+                "${AnnualEventsContract.SOURCE} INTEGER NOT NULL, " +
+                "${AnnualEventsContract.VISIBLE} INTEGER NOT NULL, " +
+                "PRIMARY KEY (${AnnualEventsContract._ID}));")
+    }
+
+    @After
+    fun tearDown() {
+        connection.close()
+    }
+
+    @Test
+    fun addingTheMonthDayColumnKeepsTheEventsAndFillsItFromTheirDates() {
+        insertEventOn("1988-12-19")
+        insertEventOn("--02-29")
+
+        AnnualEventsContract.addMonthDayColumnStatements().forEach { execute(it) }
+
+        assertThat(monthDays()).containsExactly("02-29", "12-19")
+    }
+
+    private fun monthDays(): List<String> {
+        val statement = connection.createStatement()
+        try {
+            val results = statement.executeQuery("SELECT ${AnnualEventsContract.MONTH_DAY} FROM ${AnnualEventsContract.TABLE_NAME}" +
+                    " ORDER BY ${AnnualEventsContract.MONTH_DAY} ASC")
+            val monthDays = ArrayList<String>()
+            while (results.next()) {
+                monthDays.add(results.getString(1))
+            }
+            return monthDays
+        } finally {
+            statement.close()
+        }
+    }
+
+    private fun insertEventOn(date: String) {
+        execute("INSERT INTO ${AnnualEventsContract.TABLE_NAME} (" +
+                "${AnnualEventsContract.DISPLAY_NAME}, ${AnnualEventsContract.DEVICE_EVENT_ID}, ${AnnualEventsContract.CONTACT_ID}, " +
+                "${AnnualEventsContract.DATE}, ${AnnualEventsContract.EVENT_TYPE}, ${AnnualEventsContract.SOURCE}, " +
+                "${AnnualEventsContract.VISIBLE}) VALUES ('Alex', -1, 1, '$date', 1, 0, 1)")
+    }
+
+    private fun execute(sql: String) {
+        val statement = connection.createStatement()
+        try {
+            statement.execute(sql)
+        } finally {
+            statement.close()
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.alexstyl.specialdates.events.database
+
+import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.sqlite.SQLiteConfig
+import java.io.File
+import java.sql.Connection
+import java.sql.DriverManager
+
+/**
+ * Rebuilds the events the way AndroidPeopleEventsPersister does, with write-ahead logging like the app:
+ * the events are written into a shadow table first, and then replace the events of the events table in a second transaction.
+ * A second connection reads the events of March while each transaction is open, and must neither wait for the writer
+ * nor see half of a rebuild.
+ */
+class AnnualEventsRebuildTest {
+
+    private lateinit var file: File
+    private lateinit var writer: Connection
+    private lateinit var reader: Connection
+
+    @Before
+    fun setUp() {
+        Class.forName("org.sqlite.JDBC")
+        file = File.createTempFile("events", ".db")
+        writer = open(file, readOnly = false)
+        // a small cache makes the writer spill its changes to the file before it commits, like a large rebuild does
+        writer.createStatement().closing { it.execute("PRAGMA cache_size = 10") }
+        writer.createStatement().closing { it.execute(AnnualEventsContract.createTableStatement(AnnualEventsContract.TABLE_NAME)) }
+        writer.fill(AnnualEventsContract.TABLE_NAME, OLD_EVENT_COUNT)
+        writer.createStatement().closing { it.execute(AnnualEventsContract.createMonthDayIndexStatement()) }
+        reader = open(file, readOnly = true)
+    }
+
+    @After
+    fun tearDown() {
+        reader.close()
+        writer.close()
+        File(file.path + "-wal").delete()
+        File(file.path + "-shm").delete()
+        file.delete()
+    }
+
+    @Test
+    fun theOldEventsAreReadWhileTheShadowTableIsWritten() {
+        writer.createStatement().closing { it.execute(AnnualEventsContract.createTableStatement(SHADOW_TABLE_NAME)) }
+        writer.autoCommit = false
+        writer.insertInto(SHADOW_TABLE_NAME, NEW_EVENT_COUNT)
+
+        assertThat(reader.countMarchEvents()).isEqualTo(marchEventsOf(OLD_EVENT_COUNT))
+
+        writer.commit()
+    }
+
+    @Test
+    fun theOldEventsAreReadWhileTheEventsAreReplaced() {
+        writer.createStatement().closing { it.execute(AnnualEventsContract.createTableStatement(SHADOW_TABLE_NAME)) }
+        writer.fill(SHADOW_TABLE_NAME, NEW_EVENT_COUNT)
+        writer.autoCommit = false
+        writer.replaceEventsWithShadowTable()
+
+        assertThat(reader.countMarchEvents()).isEqualTo(marchEventsOf(OLD_EVENT_COUNT))
+
+        writer.commit()
+    }
+
+    @Test
+    fun theNewEventsAreReadOnceTheEventsAreReplaced() {
+        writer.createStatement().closing { it.execute(AnnualEventsContract.createTableStatement(SHADOW_TABLE_NAME)) }
+        writer.fill(SHADOW_TABLE_NAME, NEW_EVENT_COUNT)
+        writer.autoCommit = false
+        writer.replaceEventsWithShadowTable()
+        writer.commit()
+
+        assertThat(reader.countMarchEvents()).isEqualTo(marchEventsOf(NEW_EVENT_COUNT))
+    }
+
+    private fun open(file: File, readOnly: Boolean): Connection {
+        val config = SQLiteConfig()
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL)
+        config.setReadOnly(readOnly)
+        // a read that has to wait for the writer fails right away instead
+        config.setBusyTimeout("0")
+        return DriverManager.getConnection("jdbc:sqlite:" + file.path, config.toProperties())
+    }
+
+    private fun Connection.fill(tableName: String, count: Int) {
+        autoCommit = false
+        insertInto(tableName, count)
+        commit()
+        autoCommit = true
+    }
+
+    private fun Connection.insertInto(tableName: String, count: Int) {
+        prepareStatement("INSERT INTO $tableName ($COLUMNS) VALUES (?, ?, ?, ?, ?, ?, ?, ?)").closing { statement ->
+            for (i in 0 until count) {
+                val monthDay = String.format("%02d-%02d", i % 12 + 1, i % 28 + 1)
+                statement.setString(1, "Contact $i")
+                statement.setLong(2, i.toLong())
+                statement.setLong(3, i.toLong())
+                statement.setString(4, "--" + monthDay)
+                statement.setString(5, monthDay)
+                statement.setInt(6, i % 3)
+                statement.setInt(7, 0)
+                statement.setInt(8, 1)
+                statement.executeUpdate()
+            }
+        }
+    }
+
+    private fun Connection.replaceEventsWithShadowTable() {
+        createStatement().closing {
+            it.execute("DELETE FROM ${AnnualEventsContract.TABLE_NAME}")
+            it.execute("INSERT INTO ${AnnualEventsContract.TABLE_NAME} ($COLUMNS) SELECT $COLUMNS FROM $SHADOW_TABLE_NAME")
+            it.execute("DROP TABLE $SHADOW_TABLE_NAME")
+        }
+    }
+
+    private fun Connection.countMarchEvents(): Int {
+        return prepareStatement("SELECT $COLUMNS FROM ${AnnualEventsContract.TABLE_NAME}" +
+                " WHERE ${AnnualEventsContract.MONTH_DAY} BETWEEN '03-01' AND '03-31'" +
+                " AND ${AnnualEventsContract.VISIBLE} == 1" +
+                " ORDER BY ${AnnualEventsContract.MONTH_DAY} ASC").closing { statement ->
+            statement.executeQuery().closing { results ->
+                var count = 0
+                while (results.next()) {
+                    count++
+                }
+                count
+            }
+        }
+    }
+
+    private fun marchEventsOf(count: Int) = (0 until count).count { it % 12 == 2 }
+
+    private inline fun <T : AutoCloseable, R> T.closing(block: (T) -> R): R {
+        try {
+            return block(this)
+        } finally {
+            close()
+        }
+    }
+
+    companion object {
+
+        private const val OLD_EVENT_COUNT = 2000
+        private const val NEW_EVENT_COUNT = 1000
+        private const val SHADOW_TABLE_NAME = AnnualEventsContract.TABLE_NAME + "_shadow"
+        private const val COLUMNS = AnnualEventsContract.DISPLAY_NAME + ", " +
+                AnnualEventsContract.DEVICE_EVENT_ID + ", " +
+                AnnualEventsContract.CONTACT_ID + ", " +
+                AnnualEventsContract.DATE + ", " +
+                AnnualEventsContract.MONTH_DAY + ", " +
+                AnnualEventsContract.EVENT_TYPE + ", " +
+                AnnualEventsContract.SOURCE + ", " +
+                AnnualEventsContract.VISIBLE
+    }
+}
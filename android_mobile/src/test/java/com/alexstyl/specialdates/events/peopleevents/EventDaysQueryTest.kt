@@ -0,0 +1,94 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.FEBRUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import com.alexstyl.specialdates.events.database.DatabaseContract.AnnualEventsContract
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.sql.Connection
+import java.sql.DriverManager
+
+class EventDaysQueryTest {
+
+    private val labels = ShortDateLabelCreator()
+    private val query = EventDaysQuery(labels)
+    private lateinit var connection: Connection
+
+    @Before
+    fun setUp() {
+        Class.forName("org.sqlite.JDBC")
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:")
+        execute(AnnualEventsContract.createTableStatement(AnnualEventsContract.TABLE_NAME))
+        execute(AnnualEventsContract.createMonthDayIndexStatement())
+    }
+
+    @After
+    fun tearDown() {
+        connection.close()
+    }
+
+    @Test
+    fun theTwentyNinthOfFebruaryDoesNotHideTheLaterDaysOfANonLeapYear() {
+        insertEventOn(Date.on(29, FEBRUARY))
+        insertEventOn(Date.on(10, MARCH))
+
+        val dates = NextEventDates.collect(Date.on(1, FEBRUARY, 2019), 1) { start, limit -> eventDaysOnOrAfter(start, limit) }
+
+        assertThat(dates).containsExactly(Date.on(10, MARCH, 2019))
+    }
+
+    @Test
+    fun theTwentyNinthOfFebruaryIsFoundOnLeapYears() {
+        insertEventOn(Date.on(29, FEBRUARY))
+        insertEventOn(Date.on(10, MARCH))
+
+        val dates = NextEventDates.collect(Date.on(1, FEBRUARY, 2019), 3) { start, limit -> eventDaysOnOrAfter(start, limit) }
+
+        assertThat(dates).containsExactly(Date.on(10, MARCH, 2019), Date.on(29, FEBRUARY, 2020), Date.on(10, MARCH, 2020))
+    }
+
+    private fun eventDaysOnOrAfter(start: Date, limit: Int): List<Date> {
+        val statement = connection.prepareStatement(
+                "SELECT DISTINCT ${AnnualEventsContract.MONTH_DAY} FROM ${AnnualEventsContract.TABLE_NAME}" +
+                        " WHERE ${query.selectionFor(start.year)}" +
+                        " ORDER BY ${AnnualEventsContract.MONTH_DAY} ASC LIMIT $limit")
+        try {
+            query.argumentsFor(start).forEachIndexed { index, argument -> statement.setString(index + 1, argument) }
+            val results = statement.executeQuery()
+            val dates = ArrayList<Date>()
+            while (results.next()) {
+                val monthDay = results.getString(1)
+                dates.add(Date.on(monthDay.substring(3, 5).toInt(), monthDay.substring(0, 2).toInt(), start.year))
+            }
+            return dates
+        } finally {
+            statement.close()
+        }
+    }
+
+    private fun insertEventOn(date: Date) {
+        val statement = connection.prepareStatement("INSERT INTO ${AnnualEventsContract.TABLE_NAME} (" +
+                "${AnnualEventsContract.DISPLAY_NAME}, ${AnnualEventsContract.DEVICE_EVENT_ID}, ${AnnualEventsContract.CONTACT_ID}, " +
+                "${AnnualEventsContract.DATE}, ${AnnualEventsContract.MONTH_DAY}, ${AnnualEventsContract.EVENT_TYPE}, " +
+                "${AnnualEventsContract.SOURCE}, ${AnnualEventsContract.VISIBLE}) VALUES ('Alex', -1, 1, ?, ?, 1, 0, 1)")
+        try {
+            statement.setString(1, "--" + labels.createLabelWithNoYearFor(date))
+            statement.setString(2, labels.createLabelWithNoYearFor(date))
+            statement.executeUpdate()
+        } finally {
+            statement.close()
+        }
+    }
+
+    private fun execute(sql: String) {
+        val statement = connection.createStatement()
+        try {
+            statement.execute(sql)
+        } finally {
+            statement.close()
+        }
+    }
+}
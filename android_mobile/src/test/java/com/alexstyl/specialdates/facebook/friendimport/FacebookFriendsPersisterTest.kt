@@ -0,0 +1,81 @@
+package com.alexstyl.specialdates.facebook.friendimport
+
+import com.alexstyl.specialdates.contact.ContactSource.SOURCE_FACEBOOK
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.events.peopleevents.EventsSyncResult
+import com.alexstyl.specialdates.events.peopleevents.PeopleEventsPersister
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.Mockito
+
+class FacebookFriendsPersisterTest {
+
+    private val peopleEventsPersister = Mockito.mock(PeopleEventsPersister::class.java)
+    private val validatorsStore = InMemoryCalendarValidatorsStore()
+    private val persister = FacebookFriendsPersister(peopleEventsPersister, validatorsStore)
+
+    @Test
+    fun theStoredValidatorsAreSentWhenThereAreFriendsPersisted() {
+        validatorsStore.store(VALIDATORS)
+        Mockito.`when`(peopleEventsPersister.hasEventsOfSource(SOURCE_FACEBOOK)).thenReturn(true)
+
+        assertThat(persister.validatorsOfPersistedCalendar()).isEqualTo(VALIDATORS)
+    }
+
+    @Test
+    fun noValidatorsAreSentWhenThereAreNoFriendsPersisted() {
+        validatorsStore.store(VALIDATORS)
+        Mockito.`when`(peopleEventsPersister.hasEventsOfSource(SOURCE_FACEBOOK)).thenReturn(false)
+
+        assertThat(persister.validatorsOfPersistedCalendar()).isEqualTo(CalendarValidators.NONE)
+    }
+
+    @Test
+    fun theValidatorsAreStoredWhenTheFriendsChanged() {
+        givenSyncingTheFriendsResultsIn(EventsSyncResult.CHANGED)
+
+        assertThat(persister.keepOnly(CALENDAR)).isEqualTo(EventsSyncResult.CHANGED)
+        assertThat(validatorsStore.load()).isEqualTo(VALIDATORS)
+    }
+
+    @Test
+    fun theValidatorsAreStoredWhenTheFriendsWereAlreadyUpToDate() {
+        givenSyncingTheFriendsResultsIn(EventsSyncResult.UNCHANGED)
+
+        assertThat(persister.keepOnly(CALENDAR)).isEqualTo(EventsSyncResult.UNCHANGED)
+        assertThat(validatorsStore.load()).isEqualTo(VALIDATORS)
+    }
+
+    @Test
+    fun theValidatorsAreNotStoredWhenTheFriendsCouldNotBePersisted() {
+        givenSyncingTheFriendsResultsIn(EventsSyncResult.FAILED)
+
+        assertThat(persister.keepOnly(CALENDAR)).isEqualTo(EventsSyncResult.FAILED)
+        assertThat(validatorsStore.load()).isEqualTo(CalendarValidators.NONE)
+    }
+
+    private fun givenSyncingTheFriendsResultsIn(result: EventsSyncResult) {
+        Mockito.`when`(peopleEventsPersister.syncEventsOfSource(SOURCE_FACEBOOK, CALENDAR.events)).thenReturn(result)
+    }
+
+    private class InMemoryCalendarValidatorsStore : CalendarValidatorsStore {
+
+        private var validators = CalendarValidators.NONE
+
+        override fun load(): CalendarValidators = validators
+
+        override fun store(validators: CalendarValidators) {
+            this.validators = validators
+        }
+
+        override fun clear() {
+            validators = CalendarValidators.NONE
+        }
+    }
+
+    companion object {
+
+        private val VALIDATORS = CalendarValidators("https://www.facebook.com/ical/b.php?uid=1&key=2", "\"etag\"", null)
+        private val CALENDAR = FetchedCalendar(emptyList<ContactEvent>(), VALIDATORS)
+    }
+}
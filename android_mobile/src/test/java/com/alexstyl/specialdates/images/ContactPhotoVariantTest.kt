@@ -0,0 +1,42 @@
+package com.alexstyl.specialdates.images
+
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class ContactPhotoVariantTest {
+
+    @Test
+    fun theThumbnailIsLoadedForTargetsThatFitInIt() {
+        val uri = ContactPhotoVariant.uriToLoad(CONTACT_PHOTO, THUMBNAIL_SIZE, THUMBNAIL_SIZE / 2, THUMBNAIL_SIZE)
+
+        assertThat(uri).isEqualTo("$CONTACT_PHOTO#thumbnail")
+    }
+
+    @Test
+    fun theDisplayPhotoIsLoadedForTargetsLargerThanTheThumbnail() {
+        val uri = ContactPhotoVariant.uriToLoad(CONTACT_PHOTO, THUMBNAIL_SIZE + 1, THUMBNAIL_SIZE, THUMBNAIL_SIZE)
+
+        assertThat(uri).isEqualTo(CONTACT_PHOTO)
+    }
+
+    @Test
+    fun theDisplayPhotoIsLoadedForTargetsOfUnknownSize() {
+        val uri = ContactPhotoVariant.uriToLoad(CONTACT_PHOTO, 0, 0, THUMBNAIL_SIZE)
+
+        assertThat(uri).isEqualTo(CONTACT_PHOTO)
+    }
+
+    @Test
+    fun imagesThatAreNotContactPhotosAreLoadedAsTheyAre() {
+        val uri = ContactPhotoVariant.uriToLoad(FACEBOOK_PHOTO, THUMBNAIL_SIZE, THUMBNAIL_SIZE, THUMBNAIL_SIZE)
+
+        assertThat(uri).isEqualTo(FACEBOOK_PHOTO)
+    }
+
+    companion object {
+
+        private const val THUMBNAIL_SIZE = 96
+        private const val CONTACT_PHOTO = "content://com.android.contacts/contacts/1/display_photo"
+        private const val FACEBOOK_PHOTO = "https://graph.facebook.com/1/picture"
+    }
+}
@@ -0,0 +1,110 @@
+package com.alexstyl.specialdates.images
+
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class SizeBucketedPoolTest {
+
+    private val pool = SizeBucketedPool<FakeBitmap>(MAX_BYTES) { it.byteCount }
+
+    @Test
+    fun aReturnedItemIsReusedForTheSameSize() {
+        val returned = FakeBitmap(100)
+        pool.put(returned)
+
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isSameAs(returned)
+        assertThat(pool.size).isEqualTo(0)
+    }
+
+    @Test
+    fun aReturnedItemIsReusedForASmallerSize() {
+        val returned = FakeBitmap(150)
+        pool.put(returned)
+
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isSameAs(returned)
+    }
+
+    @Test
+    fun anItemThatIsTooLargeIsNotReused() {
+        pool.put(FakeBitmap(300))
+
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isNull()
+        assertThat(pool.size).isEqualTo(1)
+    }
+
+    @Test
+    fun anItemThatIsTooSmallIsNotReused() {
+        pool.put(FakeBitmap(50))
+
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isNull()
+    }
+
+    @Test
+    fun theSmallestItemThatFitsIsReused() {
+        pool.put(FakeBitmap(180))
+        val smallest = FakeBitmap(120)
+        pool.put(smallest)
+
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isSameAs(smallest)
+    }
+
+    @Test
+    fun onlyAnItemThatMatchesIsReusedForTheExactSize() {
+        val matching = FakeBitmap(100)
+        pool.put(matching)
+        pool.put(FakeBitmap(100))
+
+        assertThat(pool.takeExactly(100) { it === matching }).isSameAs(matching)
+        assertThat(pool.takeExactly(100) { it === matching }).isNull()
+        assertThat(pool.size).isEqualTo(1)
+    }
+
+    @Test
+    fun theItemsReturnedTheLongestTimeAgoAreDroppedOnceOverBudget() {
+        val oldest = FakeBitmap(400)
+        val newer = FakeBitmap(400)
+        val newest = FakeBitmap(400)
+        pool.put(oldest)
+        pool.put(newer)
+        pool.put(newest)
+
+        assertThat(pool.size).isEqualTo(2)
+        assertThat(pool.takeExactly(400) { it === oldest }).isNull()
+        assertThat(pool.takeExactly(400) { it === newer }).isSameAs(newer)
+        assertThat(pool.takeExactly(400) { it === newest }).isSameAs(newest)
+    }
+
+    @Test
+    fun anItemLargerThanTheBudgetIsNotKept() {
+        assertThat(pool.put(FakeBitmap(MAX_BYTES + 1))).isFalse()
+        assertThat(pool.size).isEqualTo(0)
+    }
+
+    @Test
+    fun anItemIsKeptOnlyOnce() {
+        val returned = FakeBitmap(100)
+        pool.put(returned)
+
+        assertThat(pool.put(returned)).isFalse()
+        assertThat(pool.size).isEqualTo(1)
+    }
+
+    @Test
+    fun clearingDropsAllItems() {
+        pool.put(FakeBitmap(100))
+        pool.put(FakeBitmap(200))
+
+        pool.clear()
+
+        assertThat(pool.size).isEqualTo(0)
+        assertThat(pool.takeAtLeast(100, MAX_OVERSIZE_FACTOR)).isNull()
+    }
+
+    private class FakeBitmap(val byteCount: Int)
+
+    companion object {
+
+        private const val MAX_BYTES = 1000
+        private const val MAX_OVERSIZE_FACTOR = 2
+    }
+}
@@ -0,0 +1,71 @@
+package com.alexstyl.specialdates.images
+
+import android.content.ContentResolver
+import android.content.res.Resources
+import com.nostra13.universalimageloader.core.DisplayImageOptions
+import com.nostra13.universalimageloader.core.assist.LoadedFrom
+import com.nostra13.universalimageloader.core.imageaware.ImageAware
+import com.nostra13.universalimageloader.core.listener.ImageLoadingListener
+import io.reactivex.schedulers.Schedulers
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito
+import java.net.URI
+
+class UILPrefetcherTest {
+
+    private val uil = Mockito.mock(com.nostra13.universalimageloader.core.ImageLoader::class.java)
+    private lateinit var imageLoader: UILImageLoader
+
+    @Before
+    fun setUp() {
+        val resources = Mockito.mock(Resources::class.java)
+        imageLoader = UILImageLoader(
+                uil,
+                CrossFadeBitmapDisplayer(resources, CROSSFADE_DURATION),
+                CrossFadeCircleBitmapDisplayer(resources, CROSSFADE_DURATION),
+                Mockito.mock(ContentResolver::class.java),
+                Schedulers.trampoline()
+        )
+        Mockito.doAnswer { invocation ->
+            // what UIL does once an image is loaded
+            val imageUri = invocation.arguments[0] as String
+            val imageAware = invocation.arguments[1] as ImageAware
+            val options = invocation.arguments[2] as DisplayImageOptions
+            val listener = invocation.arguments[3] as ImageLoadingListener
+            options.displayer.display(null, imageAware, LoadedFrom.DISC_CACHE)
+            listener.onLoadingComplete(imageUri, imageAware.wrappedView, null)
+            null
+        }.`when`(uil).displayImage(
+                Mockito.anyString(),
+                Mockito.any(ImageAware::class.java),
+                Mockito.any(DisplayImageOptions::class.java),
+                Mockito.any(ImageLoadingListener::class.java)
+        )
+    }
+
+    @Test
+    fun prefetchedImagesAreLoadedToCompletion() {
+        val prefetcher = imageLoader.prefetcher(AVATAR_SIZE, AVATAR_SIZE)
+
+        prefetcher.prefetch(listOf(
+                URI.create("https://www.example.com/first.jpg"),
+                URI.create("https://www.example.com/second.jpg"),
+                URI.create("https://www.example.com/third.jpg")
+        ))
+
+        // only two images are loaded at a time, so the third is only loaded once another one completed
+        Mockito.verify(uil).displayImage(
+                Mockito.eq("https://www.example.com/third.jpg"),
+                Mockito.any(ImageAware::class.java),
+                Mockito.any(DisplayImageOptions::class.java),
+                Mockito.any(ImageLoadingListener::class.java)
+        )
+    }
+
+    companion object {
+
+        private const val CROSSFADE_DURATION = 200
+        private const val AVATAR_SIZE = 48
+    }
+}
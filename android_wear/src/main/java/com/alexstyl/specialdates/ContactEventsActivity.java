@@ -3,7 +3,6 @@ package com.alexstyl.specialdates;
 import android.app.Activity;
 import android.app.Dialog;
 import android.content.DialogInterface;
-import android.net.Uri;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -13,7 +12,8 @@ import android.view.View;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.alexstyl.specialdates.wear.SharedConstants;
+import com.alexstyl.specialdates.wear.WearEventsDay;
+import com.alexstyl.specialdates.wear.WearEventsPayload;
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GoogleApiAvailability;
 import com.google.android.gms.common.api.GoogleApiClient;
@@ -21,13 +21,18 @@ import com.google.android.gms.wearable.DataApi;
 import com.google.android.gms.wearable.DataEvent;
 import com.google.android.gms.wearable.DataEventBuffer;
 import com.google.android.gms.wearable.DataItem;
-import com.google.android.gms.wearable.DataMap;
-import com.google.android.gms.wearable.DataMapItem;
 import com.google.android.gms.wearable.Wearable;
 import com.novoda.notils.string.StringUtils;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Shows the next events that were synced from the phone. The {@link DataChangedListenerService} owns the
+ * {@link WearEventsCache}, so this activity only ever reads from it, and never on the main thread.
+ */
 public class ContactEventsActivity extends Activity {
 
     private static final String TAG = ContactEventsActivity.class.getSimpleName();
@@ -38,6 +43,9 @@ public class ContactEventsActivity extends Activity {
     private LinearLayout eventContainer;
 
     private GoogleApiClient googleApiClient;
+    private WearEventsCache cache;
+    private ExecutorService payloadExecutor;
+    private boolean needsDataLayerEvents;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,11 +57,37 @@ public class ContactEventsActivity extends Activity {
         emptyText = findViewById(R.id.contact_events_empty_text);
         eventContainer = findViewById(R.id.contact_events_event_container);
 
+        cache = WearEventsCache.newInstance(this);
+        payloadExecutor = Executors.newSingleThreadExecutor();
+
         googleApiClient = new GoogleApiClient.Builder(this)
                 .addApi(Wearable.API)
                 .addConnectionCallbacks(connectionCallback)
                 .addOnConnectionFailedListener(connectionFailedListener)
                 .build();
+
+        displayCachedPayload();
+    }
+
+    private void displayCachedPayload() {
+        payloadExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final WearEventsPayload payload = cache.read();
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        displayPayload(payload);
+                        if (payload == null) {
+                            needsDataLayerEvents = true;
+                            if (googleApiClient.isConnected()) {
+                                loadDataItems();
+                            }
+                        }
+                    }
+                });
+            }
+        });
     }
 
     private final GoogleApiClient.ConnectionCallbacks connectionCallback = new GoogleApiClient.ConnectionCallbacks() {
@@ -61,8 +95,9 @@ public class ContactEventsActivity extends Activity {
         @Override
         public void onConnected(@Nullable Bundle bundle) {
             Wearable.DataApi.addListener(googleApiClient, dataListener);
-            WearCommunicationService wearCommunicationService = new WearCommunicationService(googleApiClient);
-            wearCommunicationService.loadDataItems(itemsLoadedCallback);
+            if (needsDataLayerEvents) {
+                loadDataItems();
+            }
         }
 
         @Override
@@ -71,6 +106,11 @@ public class ContactEventsActivity extends Activity {
         }
     };
 
+    private void loadDataItems() {
+        WearCommunicationService wearCommunicationService = new WearCommunicationService(googleApiClient);
+        wearCommunicationService.loadDataItems(itemsLoadedCallback);
+    }
+
     private final GoogleApiClient.OnConnectionFailedListener connectionFailedListener = new GoogleApiClient.OnConnectionFailedListener() {
 
         private static final int CODE = 100;
@@ -113,7 +153,7 @@ public class ContactEventsActivity extends Activity {
             for (DataEvent event : dataEventBuffer) {
                 if (event.getType() == DataEvent.TYPE_CHANGED) {
                     DataItem item = event.getDataItem();
-                    if (uriIsSupported(item.getUri())) {
+                    if (WearCommunicationService.uriIsSupported(item.getUri())) {
                         displayDataItem(item);
                     }
                 }
@@ -121,15 +161,41 @@ public class ContactEventsActivity extends Activity {
         }
     };
 
-    private boolean uriIsSupported(Uri uri) {
-        return uri.getPath().equals(SharedConstants.NEXT_CONTACT_EVENTS_PATH);
+    /*
+     * The item is shown as it is, as the listener service might not have cached it yet
+     */
+    private void displayDataItem(DataItem item) {
+        final byte[] bytes = WearCommunicationService.payloadOf(item);
+        if (bytes == null) {
+            displayCachedPayload();
+            return;
+        }
+        payloadExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final WearEventsPayload payload = WearEventsPayload.Companion.decode(bytes);
+                    runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            displayPayload(payload);
+                        }
+                    });
+                } catch (IOException e) {
+                    Log.w(TAG, "Could not read the synced events", e);
+                }
+            }
+        });
     }
 
-    private void displayDataItem(DataItem item) {
-        DataMap dataMap = DataMapItem.fromDataItem(item).getDataMap();
-        long date = dataMap.getLong(SharedConstants.KEY_DATE);
-        CharSequence dateString = formatDate(date);
-        ArrayList<String> namesList = dataMap.getStringArrayList(SharedConstants.KEY_CONTACTS_NAMES);
+    private void displayPayload(@Nullable WearEventsPayload payload) {
+        WearEventsDay nextDay = payload == null ? null : payload.nextDayOnOrAfter(DeviceDate.today());
+        if (nextDay == null) {
+            showEmptyItems();
+            return;
+        }
+        CharSequence dateString = formatDate(nextDay.getDate().toMillis());
+        List<String> namesList = nextDay.getContactNames();
 
         dateText.setText(dateString);
         namesText.setText(StringUtils.join(namesList, "\n"));
@@ -158,4 +224,10 @@ public class ContactEventsActivity extends Activity {
         Wearable.DataApi.removeListener(googleApiClient, dataListener);
         googleApiClient.disconnect();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        payloadExecutor.shutdownNow();
+    }
 }
@@ -14,15 +14,13 @@ import android.support.wearable.complications.ComplicationText;
 import android.text.format.DateUtils;
 import android.util.Log;
 
-import com.alexstyl.specialdates.wear.SharedConstants;
+import com.alexstyl.specialdates.wear.WearEventsDay;
+import com.alexstyl.specialdates.wear.WearEventsPayload;
 import com.google.android.gms.common.api.GoogleApiClient;
 import com.google.android.gms.wearable.DataItem;
-import com.google.android.gms.wearable.DataMap;
-import com.google.android.gms.wearable.DataMapItem;
 import com.google.android.gms.wearable.Wearable;
 import com.novoda.notils.string.StringUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -33,28 +31,46 @@ public class ContactEventsProviderService extends ComplicationProviderService {
     private static final int NO_DATE_AVAILABLE = -1;
     private static final String NO_DATE_PLACEHOLDER = "-";
 
-    private WearCommunicationService wearCommunicationService;
-
     @Override
-    public void onComplicationUpdate(final int complicationId, final int dataType, final ComplicationManager complicationManager) {
+    public void onComplicationUpdate(int complicationId, int dataType, ComplicationManager complicationManager) {
+        WearEventsCache cache = WearEventsCache.newInstance(this);
+        WearEventsPayload payload = cache.read();
+        if (payload == null) {
+            loadIntoCache(cache, complicationId, dataType, complicationManager);
+        } else {
+            updateComplication(complicationId, dataType, complicationManager, payload);
+        }
+    }
 
-        GoogleApiClient.ConnectionCallbacks connectionCallbacks = new GoogleApiClient.ConnectionCallbacks() {
+    /*
+     * Nothing could be read from the cache, such as right after the app is installed,
+     * so the events are looked up in the data layer once.
+     */
+    private void loadIntoCache(final WearEventsCache cache,
+                               final int complicationId,
+                               final int dataType,
+                               final ComplicationManager complicationManager) {
+        final GoogleApiClient googleApiClient = new GoogleApiClient.Builder(this)
+                .addApi(Wearable.API)
+                .build();
+        googleApiClient.registerConnectionCallbacks(new GoogleApiClient.ConnectionCallbacks() {
             @Override
             public void onConnected(@Nullable Bundle bundle) {
-                wearCommunicationService.loadDataItems(new WearCommunicationService.Callback() {
+                new WearCommunicationService(googleApiClient).loadDataItems(new WearCommunicationService.Callback() {
                     @Override
                     public void onDataItemsLoaded(DataItem item) {
-                        ComplicationData complicationData = createComplicationData(item, dataType);
-
-                        if (complicationData != null) {
-                            complicationManager.updateComplicationData(complicationId, complicationData);
+                        byte[] payload = WearCommunicationService.payloadOf(item);
+                        if (payload != null) {
+                            cache.write(payload);
                         }
+                        updateComplication(complicationId, dataType, complicationManager, cache.read());
+                        googleApiClient.disconnect();
                     }
 
                     @Override
                     public void onNoDataItemsAvailable() {
-                        ComplicationData emptyComplicationData = createComplicationData(dataType, NO_DATE_AVAILABLE, Collections.<String>emptyList());
-                        complicationManager.updateComplicationData(complicationId, emptyComplicationData);
+                        updateComplication(complicationId, dataType, complicationManager, null);
+                        googleApiClient.disconnect();
                     }
                 });
             }
@@ -63,24 +79,24 @@ public class ContactEventsProviderService extends ComplicationProviderService {
             public void onConnectionSuspended(int i) {
                 // no-op
             }
-        };
-
-        GoogleApiClient googleApiClient = new GoogleApiClient.Builder(this)
-                .addApi(Wearable.API)
-                .addConnectionCallbacks(connectionCallbacks)
-                .build();
-
-        wearCommunicationService = new WearCommunicationService(googleApiClient);
-
+        });
         googleApiClient.connect();
     }
 
-    private ComplicationData createComplicationData(DataItem item, int dataType) {
-        DataMap dataMap = DataMapItem.fromDataItem(item).getDataMap();
-        long date = dataMap.getLong(SharedConstants.KEY_DATE);
-        ArrayList<String> namesList = dataMap.getStringArrayList(SharedConstants.KEY_CONTACTS_NAMES);
-
-        return createComplicationData(dataType, date, namesList);
+    private void updateComplication(int complicationId,
+                                    int dataType,
+                                    ComplicationManager complicationManager,
+                                    @Nullable WearEventsPayload payload) {
+        WearEventsDay nextDay = payload == null ? null : payload.nextDayOnOrAfter(DeviceDate.today());
+        ComplicationData complicationData;
+        if (nextDay == null) {
+            complicationData = createComplicationData(dataType, NO_DATE_AVAILABLE, Collections.<String>emptyList());
+        } else {
+            complicationData = createComplicationData(dataType, nextDay.getDate().toMillis(), nextDay.getContactNames());
+        }
+        if (complicationData != null) {
+            complicationManager.updateComplicationData(complicationId, complicationData);
+        }
     }
 
     @TargetApi(Build.VERSION_CODES.M)
@@ -3,15 +3,35 @@ package com.alexstyl.specialdates;
 import android.content.ComponentName;
 import android.support.wearable.complications.ProviderUpdateRequester;
 
+import com.google.android.gms.wearable.DataEvent;
 import com.google.android.gms.wearable.DataEventBuffer;
 import com.google.android.gms.wearable.WearableListenerService;
 
+/**
+ * Keeps the {@link WearEventsCache} up to date with the events that the phone syncs, and asks the complications
+ * to show them. The data events are delivered on a background thread.
+ */
 public class DataChangedListenerService extends WearableListenerService {
 
     @Override
     public void onDataChanged(DataEventBuffer dataEventBuffer) {
         super.onDataChanged(dataEventBuffer);
 
+        WearEventsCache cache = WearEventsCache.newInstance(this);
+        for (DataEvent event : dataEventBuffer) {
+            if (!WearCommunicationService.uriIsSupported(event.getDataItem().getUri())) {
+                continue;
+            }
+            if (event.getType() == DataEvent.TYPE_DELETED) {
+                cache.clear();
+            } else {
+                byte[] payload = WearCommunicationService.payloadOf(event.getDataItem());
+                if (payload != null) {
+                    cache.write(payload);
+                }
+            }
+        }
+
         ComponentName providerComponentName = new ComponentName(this, ContactEventsProviderService.class);
         ProviderUpdateRequester providerUpdateRequester = new ProviderUpdateRequester(this, providerComponentName);
         providerUpdateRequester.requestUpdateAll();
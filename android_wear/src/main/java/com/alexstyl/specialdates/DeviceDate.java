@@ -0,0 +1,24 @@
+package com.alexstyl.specialdates;
+
+import com.alexstyl.specialdates.date.Date;
+
+import java.util.Calendar;
+
+final class DeviceDate {
+
+    private DeviceDate() {
+        // not instantiable
+    }
+
+    /**
+     * Returns the date of today in the time zone of the watch.
+     */
+    static Date today() {
+        Calendar calendar = Calendar.getInstance();
+        return Date.Companion.on(
+                calendar.get(Calendar.DAY_OF_MONTH),
+                calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.YEAR)
+        );
+    }
+}
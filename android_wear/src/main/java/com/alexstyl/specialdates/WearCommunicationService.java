@@ -2,6 +2,7 @@ package com.alexstyl.specialdates;
 
 import android.net.Uri;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.alexstyl.specialdates.wear.SharedConstants;
 import com.google.android.gms.common.api.GoogleApiClient;
@@ -9,6 +10,7 @@ import com.google.android.gms.common.api.PendingResult;
 import com.google.android.gms.common.api.ResultCallback;
 import com.google.android.gms.wearable.DataItem;
 import com.google.android.gms.wearable.DataItemBuffer;
+import com.google.android.gms.wearable.DataMapItem;
 import com.google.android.gms.wearable.Wearable;
 
 class WearCommunicationService {
@@ -39,8 +41,20 @@ class WearCommunicationService {
         });
     }
 
+    /**
+     * Returns the encoded events payload that the given item holds, if it holds one.
+     */
+    @Nullable
+    static byte[] payloadOf(DataItem item) {
+        return DataMapItem.fromDataItem(item).getDataMap().getByteArray(SharedConstants.KEY_EVENTS_PAYLOAD);
+    }
+
+    static boolean uriIsSupported(Uri uri) {
+        return uri.getPath().equals(SharedConstants.NEXT_CONTACT_EVENTS_PATH);
+    }
+
     private boolean uriIsUnsupported(Uri uri) {
-        return !uri.getPath().equals(SharedConstants.NEXT_CONTACT_EVENTS_PATH);
+        return !uriIsSupported(uri);
     }
 
     interface Callback {
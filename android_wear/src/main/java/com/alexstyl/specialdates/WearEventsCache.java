@@ -0,0 +1,116 @@
+package com.alexstyl.specialdates;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.alexstyl.specialdates.wear.WearEventsPayload;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Keeps the last events payload that was synced from the phone in a file, so that it can be shown
+ * without connecting to the data layer.
+ *
+ * The activity, the complication provider and the listener service each create their own instance,
+ * so the file is guarded by a single lock for the whole process.
+ */
+final class WearEventsCache {
+
+    private static final String TAG = WearEventsCache.class.getSimpleName();
+    private static final String FILE_NAME = "next_contact_events";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int MAX_PAYLOAD_SIZE = 100 * 1024;
+    private static final Object LOCK = new Object();
+
+    private final File file;
+
+    static WearEventsCache newInstance(Context context) {
+        return new WearEventsCache(new File(context.getFilesDir(), FILE_NAME));
+    }
+
+    private WearEventsCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cached payload, or null if there is none that can be read, in which case the events
+     * should be looked up in the data layer. A payload that cannot be read is dropped.
+     */
+    @Nullable
+    WearEventsPayload read() {
+        synchronized (LOCK) {
+            if (!file.exists()) {
+                return null;
+            }
+            try {
+                return WearEventsPayload.Companion.decode(readBytes());
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read the cached events", e);
+                file.delete();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Replaces the cached payload. The payload is written to a temporary file of its own first, so that
+     * the file is never left half written, even if the process dies while writing.
+     */
+    void write(byte[] payload) {
+        synchronized (LOCK) {
+            File temporaryFile = null;
+            try {
+                temporaryFile = File.createTempFile(FILE_NAME, TEMPORARY_SUFFIX, file.getParentFile());
+                OutputStream output = new FileOutputStream(temporaryFile);
+                try {
+                    output.write(payload);
+                } finally {
+                    output.close();
+                }
+                if (!temporaryFile.renameTo(file)) {
+                    Log.w(TAG, "Could not replace the cached events");
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Could not cache the events", e);
+            } finally {
+                if (temporaryFile != null) {
+                    temporaryFile.delete();
+                }
+            }
+        }
+    }
+
+    void clear() {
+        synchronized (LOCK) {
+            file.delete();
+        }
+    }
+
+    private byte[] readBytes() throws IOException {
+        long length = file.length();
+        if (length > MAX_PAYLOAD_SIZE) {
+            throw new IOException("The cached events take " + length + " bytes");
+        }
+        byte[] bytes = new byte[(int) length];
+        InputStream input = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                int count = input.read(bytes, read, bytes.length - read);
+                if (count == -1) {
+                    throw new IOException("The cached events ended after " + read + " bytes");
+                }
+                read += count;
+            }
+        } finally {
+            input.close();
+        }
+        return bytes;
+    }
+}
@@ -1,29 +1,233 @@
 package com.alexstyl.specialdates.contact
 
-import android.LruCache
+import com.alexstyl.specialdates.util.LongHashMap
+import java.util.concurrent.atomic.AtomicLong
 
+/*
+ * A bounded cache of contacts keyed by their id.
+ *
+ * Contacts are spread over independently locked stripes, so that readers on different threads rarely wait on each other.
+ * Once a stripe is full, the contact of it that was used the longest time ago is the one to be evicted.
+ */
+class ContactCache private constructor(private val sizing: ContactCacheSizing?, initialMaxSize: Int) : ContactCacheStatistics {
 
-class ContactCache(maxSize: Int) {
+    constructor(maxSize: Int) : this(null, maxSize)
 
-    private val cache: LruCache<Long, Contact> = LruCache(maxSize)
+    constructor(sizing: ContactCacheSizing) : this(sizing, sizing.capacityFor(0))
+
+    private val stripes: Array<Stripe>
+    private val stripeMask: Int
+
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+    private val evictions = AtomicLong()
+
+    @Volatile override var maxSize: Int = initialMaxSize
+        private set
+
+    init {
+        val stripeCount = stripeCountFor(initialMaxSize)
+        stripeMask = stripeCount - 1
+        stripes = Array(stripeCount) { Stripe(capacityOfStripe(initialMaxSize, stripeCount)) }
+    }
+
+    override val hitCount: Long
+        get() = hits.get()
+
+    override val missCount: Long
+        get() = misses.get()
+
+    override val evictionCount: Long
+        get() = evictions.get()
+
+    override val size: Int
+        get() = stripes.sumBy { it.size() }
 
     fun addContact(contact: Contact) {
-        cache.put(keyFor(contact), contact)
+        put(contact)
     }
 
-    fun getContact(id: Long): Contact? = cache.get(id)
+    fun getContact(id: Long): Contact? {
+        val contact = stripeOf(id).get(id)
+        if (contact == null) {
+            misses.incrementAndGet()
+        } else {
+            hits.incrementAndGet()
+        }
+        return contact
+    }
+
+    /**
+     * Returns all cached contacts out of the given ids. Ids missing from the returned map were not cached.
+     */
+    fun getAll(ids: Collection<Long>): LongHashMap<Contact> {
+        val found = LongHashMap<Contact>(ids.size)
+        for (id in ids) {
+            if (found.containsKey(id)) {
+                continue
+            }
+            val contact = getContact(id)
+            if (contact != null) {
+                found.put(id, contact)
+            }
+        }
+        return found
+    }
 
-    fun size(): Int = cache.size()
+    fun size(): Int = size
 
     fun evictAll() {
-        cache.evictAll()
+        stripes.forEach { it.clear() }
     }
 
     fun addContacts(contacts: Contacts) {
-        contacts.forEach {
-            cache.put(it.contactID, it)
+        putAll(contacts)
+    }
+
+    fun putAll(contacts: Iterable<Contact>) {
+        contacts.forEach { put(it) }
+    }
+
+    /**
+     * Resizes the cache so that it fits the given number of contacts, as long as memory allows it.
+     * Has no effect on caches created with a fixed size.
+     */
+    fun resizeFor(contactCount: Int) {
+        if (sizing == null) {
+            return
+        }
+        val newMaxSize = sizing.capacityFor(contactCount)
+        if (newMaxSize == maxSize) {
+            return
+        }
+        maxSize = newMaxSize
+        val stripeCapacity = capacityOfStripe(newMaxSize, stripes.size)
+        stripes.forEach {
+            evictions.addAndGet(it.resize(stripeCapacity).toLong())
+        }
+    }
+
+    private fun put(contact: Contact) {
+        val id = keyFor(contact)
+        if (stripeOf(id).put(id, contact)) {
+            evictions.incrementAndGet()
         }
     }
 
+    private fun stripeOf(id: Long): Stripe {
+        val hash = (id xor (id ushr 32)).toInt()
+        return stripes[(hash xor (hash ushr 16)) and stripeMask]
+    }
+
     private fun keyFor(contact: Contact): Long = contact.contactID
+
+    /*
+     * The contacts of a stripe are chained from the least to the most recently used one, so that the least recently
+     * used contact can be evicted without scanning the stripe.
+     */
+    private class Stripe(private var capacity: Int) {
+
+        private val contacts = LongHashMap<Entry>(capacity)
+        private val head = Entry(0, null)
+
+        init {
+            head.previous = head
+            head.next = head
+        }
+
+        @Synchronized
+        fun get(id: Long): Contact? {
+            val entry = contacts[id] ?: return null
+            moveToMostRecent(entry)
+            return entry.contact
+        }
+
+        @Synchronized
+        fun size(): Int = contacts.size
+
+        /**
+         * Returns true if an other contact had to be evicted to make space for the given one.
+         */
+        @Synchronized
+        fun put(id: Long, contact: Contact): Boolean {
+            val existing = contacts[id]
+            if (existing != null) {
+                existing.contact = contact
+                moveToMostRecent(existing)
+                return false
+            }
+            var evicted = false
+            if (contacts.size == capacity) {
+                evictLeastRecentlyUsed()
+                evicted = true
+            }
+            val entry = Entry(id, contact)
+            contacts.put(id, entry)
+            linkAsMostRecent(entry)
+            return evicted
+        }
+
+        @Synchronized
+        fun resize(newCapacity: Int): Int {
+            var evictedCount = 0
+            while (contacts.size > newCapacity) {
+                evictLeastRecentlyUsed()
+                evictedCount++
+            }
+            capacity = newCapacity
+            return evictedCount
+        }
+
+        @Synchronized
+        fun clear() {
+            contacts.clear()
+            head.previous = head
+            head.next = head
+        }
+
+        private fun evictLeastRecentlyUsed() {
+            val eldest = head.next
+            unlink(eldest)
+            contacts.remove(eldest.id)
+        }
+
+        private fun moveToMostRecent(entry: Entry) {
+            unlink(entry)
+            linkAsMostRecent(entry)
+        }
+
+        private fun linkAsMostRecent(entry: Entry) {
+            entry.previous = head.previous
+            entry.next = head
+            head.previous.next = entry
+            head.previous = entry
+        }
+
+        private fun unlink(entry: Entry) {
+            entry.previous.next = entry.next
+            entry.next.previous = entry.previous
+        }
+    }
+
+    private class Entry(val id: Long, var contact: Contact?) {
+        lateinit var previous: Entry
+        lateinit var next: Entry
+    }
+
+    companion object {
+
+        private const val MAX_STRIPES = 8
+        private const val MIN_CONTACTS_PER_STRIPE = 32
+
+        private fun stripeCountFor(maxSize: Int): Int {
+            var count = 1
+            while (count < MAX_STRIPES && maxSize / (count * 2) >= MIN_CONTACTS_PER_STRIPE) {
+                count *= 2
+            }
+            return count
+        }
+
+        private fun capacityOfStripe(maxSize: Int, stripeCount: Int): Int =
+                Math.max(1, (maxSize + stripeCount - 1) / stripeCount)
+    }
 }
@@ -0,0 +1,26 @@
+package com.alexstyl.specialdates.contact
+
+/**
+ * Decides how many contacts a [ContactCache] may hold, given the number of contacts on the device
+ * and the memory class (in megabytes) the app runs with.
+ */
+class ContactCacheSizing(private val memoryClassMegabytes: Int) {
+
+    fun capacityFor(contactCount: Int): Int {
+        val wanted = contactCount + contactCount / HEADROOM_DIVISOR
+        return Math.min(Math.max(wanted, MIN_CAPACITY), maxCapacity())
+    }
+
+    private fun maxCapacity(): Int {
+        val budgetInBytes = memoryClassMegabytes.toLong() * BYTES_IN_MEGABYTE / MEMORY_CLASS_FRACTION
+        return Math.max(MIN_CAPACITY, (budgetInBytes / APPROXIMATE_CONTACT_SIZE_IN_BYTES).toInt())
+    }
+
+    companion object {
+        private const val MIN_CAPACITY = 256
+        private const val HEADROOM_DIVISOR = 4
+        private const val MEMORY_CLASS_FRACTION = 64
+        private const val BYTES_IN_MEGABYTE = 1024L * 1024L
+        private const val APPROXIMATE_CONTACT_SIZE_IN_BYTES = 512
+    }
+}
@@ -0,0 +1,19 @@
+package com.alexstyl.specialdates.contact
+
+interface ContactCacheStatistics {
+    val hitCount: Long
+    val missCount: Long
+    val evictionCount: Long
+    val size: Int
+    val maxSize: Int
+
+    companion object {
+        val NONE = object : ContactCacheStatistics {
+            override val hitCount: Long = 0
+            override val missCount: Long = 0
+            override val evictionCount: Long = 0
+            override val size: Int = 0
+            override val maxSize: Int = 0
+        }
+    }
+}
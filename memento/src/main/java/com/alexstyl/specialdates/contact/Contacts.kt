@@ -1,7 +1,18 @@
 package com.alexstyl.specialdates.contact
 
+import com.alexstyl.specialdates.util.LongHashMap
+
 class Contacts(val source: Int, val contacts: List<Contact>) : Iterable<Contact> {
+
+    private val contactsById = LongHashMap<Contact>(contacts.size).apply {
+        contacts.forEach {
+            if (!containsKey(it.contactID)) {
+                put(it.contactID, it)
+            }
+        }
+    }
+
     override fun iterator(): Iterator<Contact> = contacts.iterator()
 
-    fun getContact(id: Long): Contact? = contacts.find { it.contactID == id }
+    fun getContact(id: Long): Contact? = contactsById[id]
 }
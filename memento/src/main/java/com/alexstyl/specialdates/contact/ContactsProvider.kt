@@ -1,11 +1,35 @@
 package com.alexstyl.specialdates.contact
 
-class ContactsProvider(private val sources: Map<Int, ContactsProviderSource>) {
+import com.alexstyl.specialdates.CrashAndErrorTracker
+import io.reactivex.Scheduler
+import io.reactivex.schedulers.Schedulers
+
+class ContactsProvider(private val sources: Map<Int, ContactsProviderSource>,
+                       tracker: CrashAndErrorTracker,
+                       snapshotTimeToLiveMillis: Long = 0,
+                       snapshotScheduler: Scheduler = Schedulers.trampoline()) {
+
+    private val snapshots = ContactsSnapshotRepository({ loadAllContacts() }, snapshotTimeToLiveMillis, snapshotScheduler, tracker)
 
     val allContacts: List<Contact>
-        get() = sources.values.fold(emptyList(), { list, source ->
-            list + source.allContacts
-        })
+        get() = snapshots.current().contacts
+
+    val contactsSnapshot: ContactsSnapshot
+        get() = snapshots.current()
+
+    /**
+     * Marks the in-memory contacts as outdated, so that they are loaded again in the background.
+     * Contacts queried by id are read from their sources again right away.
+     */
+    fun invalidateContacts() {
+        sources.values.forEach { it.evictCachedContacts() }
+        snapshots.invalidate()
+    }
+
+    /**
+     * Loads all contacts again right away, for when callers need to be sure that they see the latest contacts.
+     */
+    fun reloadContacts(): ContactsSnapshot = snapshots.reload()
 
     fun getContacts(contactIds: List<Long>, @ContactSource source: Int): Contacts {
         return sources[source]!!.queryContacts(contactIds)
@@ -16,4 +40,12 @@ class ContactsProvider(private val sources: Map<Int, ContactsProviderSource>) {
         return sources[source]!!.getOrCreateContact(contactID)
     }
 
+    fun cacheStatisticsOf(@ContactSource source: Int): ContactCacheStatistics = sources[source]!!.cacheStatistics
+
+    private fun loadAllContacts(): List<Contact> {
+        val contactsOfSources = sources.values.map { it.allContacts.contacts }
+        val allContacts = ArrayList<Contact>(contactsOfSources.sumBy { it.size })
+        contactsOfSources.forEach { allContacts.addAll(it) }
+        return allContacts
+    }
 }
@@ -8,4 +8,11 @@ interface ContactsProviderSource {
     fun getOrCreateContact(contactID: Long): Contact
 
     fun queryContacts(contactIds: List<Long>): Contacts
+
+    /**
+     * Drops the contacts kept in memory, so that the next queries read them from their source again.
+     */
+    fun evictCachedContacts()
+
+    val cacheStatistics: ContactCacheStatistics
 }
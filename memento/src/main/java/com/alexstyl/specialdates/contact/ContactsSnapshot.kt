@@ -0,0 +1,7 @@
+package com.alexstyl.specialdates.contact
+
+/**
+ * An immutable view of all contacts, as loaded at a given point in time.
+ * The version increases every time the contacts are loaded again.
+ */
+data class ContactsSnapshot(val version: Long, val contacts: List<Contact>, val createdAtMillis: Long)
@@ -0,0 +1,109 @@
+package com.alexstyl.specialdates.contact
+
+import com.alexstyl.specialdates.CrashAndErrorTracker
+import io.reactivex.Scheduler
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Keeps the latest [ContactsSnapshot] in memory and shares it with all readers.
+ *
+ * Only the very first read blocks on loading the contacts. Afterwards, the snapshot is reloaded on the given
+ * [workScheduler] when it is [invalidate]d or when it becomes older than [timeToLiveMillis], while readers keep
+ * getting the previous snapshot. A reload that fails in the background is reported to the [tracker], and the
+ * previous snapshot is kept.
+ *
+ * A [timeToLiveMillis] of zero disables caching altogether: every read loads the contacts on the calling thread.
+ */
+class ContactsSnapshotRepository(private val loader: () -> List<Contact>,
+                                 private val timeToLiveMillis: Long,
+                                 private val workScheduler: Scheduler,
+                                 private val tracker: CrashAndErrorTracker) {
+
+    private val versions = AtomicLong()
+    private val lock = Any()
+    private val reloadLock = Any()
+
+    @Volatile private var latest: ContactsSnapshot? = null
+    private var refreshing = false
+    private var refreshAgain = false
+
+    fun current(): ContactsSnapshot {
+        if (timeToLiveMillis <= 0) {
+            return reload()
+        }
+        val snapshot = latest ?: return loadOnFirstRead()
+        if (isExpired(snapshot)) {
+            requestRefresh()
+        }
+        return latest!!
+    }
+
+    fun invalidate() {
+        requestRefresh()
+    }
+
+    private fun loadOnFirstRead(): ContactsSnapshot = synchronized(reloadLock) {
+        latest ?: reload()
+    }
+
+    private fun isExpired(snapshot: ContactsSnapshot): Boolean =
+            now() - snapshot.createdAtMillis >= timeToLiveMillis
+
+    private fun requestRefresh() {
+        synchronized(lock) {
+            if (refreshing) {
+                refreshAgain = true
+                return
+            }
+            refreshing = true
+        }
+        workScheduler.scheduleDirect {
+            refreshUntilUpToDate()
+        }
+    }
+
+    /*
+     * The refresh only stops in the same synchronized block that sees no other refresh was asked for,
+     * so that a request arriving right after the last reload is never lost
+     */
+    private fun refreshUntilUpToDate() {
+        var stopped = false
+        try {
+            while (!stopped) {
+                try {
+                    reload()
+                } catch (e: RuntimeException) {
+                    tracker.track(e)
+                }
+                stopped = synchronized(lock) {
+                    if (refreshAgain) {
+                        refreshAgain = false
+                        false
+                    } else {
+                        refreshing = false
+                        true
+                    }
+                }
+            }
+        } finally {
+            if (!stopped) {
+                synchronized(lock) {
+                    refreshing = false
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the contacts right away, on the calling thread.
+     */
+    fun reload(): ContactsSnapshot = synchronized(reloadLock) {
+        val contacts = loader()
+        val snapshot = ContactsSnapshot(versions.incrementAndGet(), contacts, now())
+        latest = snapshot
+        snapshot
+    }
+
+    private fun now() = workScheduler.now(TimeUnit.MILLISECONDS)
+}
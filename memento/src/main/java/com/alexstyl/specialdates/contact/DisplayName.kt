@@ -13,48 +13,39 @@ data class DisplayName(val displayName: String, val allNames: Names, val firstNa
     companion object {
 
         val NO_NAME = DisplayName("", Names.parse(""), Names.parse(""), "")
-        private const val SEPARATOR = " "
+        private const val MAX_INTERNED_NAMES = 4096
+
+        /*
+         * Contacts rarely change their names between refreshes, so parsed names are kept around and reused.
+         */
+        private val internedNames = object : LinkedHashMap<String, DisplayName>(MAX_INTERNED_NAMES, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, DisplayName>?): Boolean =
+                    size > MAX_INTERNED_NAMES
+        }
 
         fun from(displayName: String?): DisplayName {
             if (displayName == null || displayName.isEmpty()) {
                 return NO_NAME
             }
-            val separatorIndex = indexOfLastSeparator(displayName)
-
-            val firstNameString = subStringUpTo(displayName, separatorIndex).trim { it <= ' ' }
-
-            val allNames = Names.parse(displayName)
-            val firstNames = Names.parse(firstNameString)
-            val lastNameString = subStringAfter(displayName, separatorIndex).trim { it <= ' ' }
-            return DisplayName(displayName, allNames, firstNames, lastNameString)
-        }
-
-        private fun indexOfLastSeparator(displayName: String): Int {
-            var lastSeparatorIndex = -1
-            var currentIndex: Int
-            do {
-                currentIndex = displayName.indexOf(SEPARATOR, lastSeparatorIndex + 1)
-                if (currentIndex != -1) {
-                    lastSeparatorIndex = currentIndex
-                }
-            } while (currentIndex != -1)
-            return lastSeparatorIndex
-        }
-
-        private fun subStringUpTo(displayName: String, stringLength: Int): String {
-            if (displayName.length < stringLength) {
-                return displayName
+            synchronized(internedNames) {
+                internedNames[displayName]?.let { return it }
+            }
+            val parsed = parse(displayName)
+            synchronized(internedNames) {
+                internedNames[displayName] = parsed
             }
-            return if (stringLength == -1) {
-                displayName
-            } else displayName.substring(0, stringLength)
+            return parsed
         }
 
-        private fun subStringAfter(displayName: String, spaceIndex: Int): String {
-            return if (spaceIndex == -1) {
-                ""
-            } else displayName.substring(spaceIndex, displayName.length).trim { it <= ' ' }
-
+        private fun parse(displayName: String): DisplayName {
+            val tokens = NameTokenizer.tokenize(displayName)
+            val allNames = Names(tokens.names)
+            if (tokens.lastSeparatorIndex == -1) {
+                return DisplayName(displayName, allNames, allNames, "")
+            }
+            val firstNames = Names(tokens.names.subList(0, tokens.namesBeforeLastSeparator))
+            val lastName = displayName.substring(tokens.lastSeparatorIndex + 1).trim { it <= ' ' }
+            return DisplayName(displayName, allNames, firstNames, lastName)
         }
     }
 }
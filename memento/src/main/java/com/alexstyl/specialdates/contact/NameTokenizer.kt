@@ -0,0 +1,50 @@
+package com.alexstyl.specialdates.contact
+
+/**
+ * Splits a display name into names in a single pass.
+ *
+ * A name is any continuous sequence of latin or greek letters, digits or '@'.
+ * While scanning, the tokenizer also remembers the last space it came across and how many names preceded it,
+ * so that first and last names can be told apart without scanning the input again.
+ */
+internal object NameTokenizer {
+
+    private const val SEPARATOR = ' '
+    private const val INITIAL_CAPACITY = 4
+
+    fun tokenize(input: String): NameTokens {
+        val names = ArrayList<String>(INITIAL_CAPACITY)
+        var lastSeparatorIndex = -1
+        var namesBeforeLastSeparator = -1
+        var tokenStart = -1
+        for (i in 0 until input.length) {
+            val c = input[i]
+            if (isNameCharacter(c)) {
+                if (tokenStart == -1) {
+                    tokenStart = i
+                }
+                continue
+            }
+            if (tokenStart != -1) {
+                names.add(input.substring(tokenStart, i))
+                tokenStart = -1
+            }
+            if (c == SEPARATOR) {
+                lastSeparatorIndex = i
+                namesBeforeLastSeparator = names.size
+            }
+        }
+        if (tokenStart != -1) {
+            names.add(input.substring(tokenStart))
+        }
+        return NameTokens(names, lastSeparatorIndex, if (lastSeparatorIndex == -1) names.size else namesBeforeLastSeparator)
+    }
+
+    private fun isNameCharacter(c: Char): Boolean = when (c) {
+        in 'a'..'z', in 'A'..'Z', in '0'..'9', '@' -> true
+        in 'Ά'..'Ώ', in 'Α'..'Ω', in 'ά'..'ώ' -> true
+        else -> false
+    }
+}
+
+internal class NameTokens(val names: List<String>, val lastSeparatorIndex: Int, val namesBeforeLastSeparator: Int)
@@ -15,13 +15,7 @@ data class Names(private val names: List<String>) : Iterable<String> {
 
     companion object {
 
-        private val REGEX = "[@a-zA-Zά-ώΆ-Ώα-ωΑ-Ω\\d]+".toRegex()
-
-        fun parse(input: String): Names =
-                Names(REGEX.findAll(input)
-                        .map { it.value }
-                        .toList()
-                )
+        fun parse(input: String): Names = Names(NameTokenizer.tokenize(input).names)
 
     }
 }
@@ -1,6 +1,7 @@
 package com.alexstyl.specialdates.date
 
 import com.alexstyl.specialdates.Optional
+import org.joda.time.Days
 import org.joda.time.IllegalFieldValueException
 import org.joda.time.LocalDate
 import java.util.Locale
@@ -40,6 +41,11 @@ data class Date(private val localDate: LocalDate, private val yearOptional: Opti
         return otherDayOfYear - dayOfYear - daysOfYearsDifference
     }
 
+    /**
+     * Returns the number of days from this date to the given one, counting leap days.
+     */
+    fun daysUntil(other: Date): Int = Days.daysBetween(localDate, other.localDate).days
+
     fun hasYear(): Boolean = yearOptional.isPresent
 
     fun hasNoYear(): Boolean = !yearOptional.isPresent
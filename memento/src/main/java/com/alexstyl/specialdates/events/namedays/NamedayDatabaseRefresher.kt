@@ -8,20 +8,28 @@ class NamedayDatabaseRefresher(private val namedayUserSettings: NamedayUserSetti
                                private val perister: PeopleEventsPersister,
                                private val provider: PeopleDynamicNamedaysProvider) {
 
-    fun refreshNamedaysIfEnabled() {
-        perister.deleteAllNamedays()
+    /**
+     * Replaces the stored namedays with the ones of the contacts, unless [isCancelled] by the time they are worked out.
+     */
+    @JvmOverloads
+    fun refreshNamedaysIfEnabled(isCancelled: () -> Boolean = { false }) {
         if (namedayUserSettings.isEnabled) {
-            initialiseNamedays()
+            initialiseNamedays(isCancelled)
+        } else {
+            perister.deleteAllNamedays()
         }
     }
 
-    private fun initialiseNamedays() {
+    private fun initialiseNamedays(isCancelled: () -> Boolean) {
         val namedays = provider.loadAllStaticNamedays()
+        if (isCancelled()) {
+            return
+        }
         storeNamedaysToDisk(namedays)
     }
 
     private fun storeNamedaysToDisk(namedays: List<ContactEvent>) {
-        perister.insertAnnualEvents(namedays)
+        perister.replaceAllNamedays(namedays)
     }
 
 }
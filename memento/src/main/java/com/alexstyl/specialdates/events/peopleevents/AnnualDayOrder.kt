@@ -0,0 +1,34 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+
+/**
+ * Orders events by their day of the year, regardless of their year, counting from the given first day.
+ * The days that come earlier in the year than the first day are ordered last, as the next year of a time period.
+ */
+class AnnualDayOrder(firstDay: Date) : Comparator<ContactEvent> {
+
+    private val firstSlot = slotOf(firstDay)
+
+    fun positionOf(date: Date): Int = (slotOf(date) - firstSlot + SLOTS) % SLOTS
+
+    override fun compare(one: ContactEvent, other: ContactEvent): Int = positionOf(one.date) - positionOf(other.date)
+
+    fun isSorted(events: List<ContactEvent>): Boolean {
+        for (i in 1 until events.size) {
+            if (compare(events[i - 1], events[i]) > 0) {
+                return false
+            }
+        }
+        return true
+    }
+
+    companion object {
+
+        private const val MAX_DAYS_IN_MONTH = 31
+        private const val SLOTS = 12 * MAX_DAYS_IN_MONTH
+
+        private fun slotOf(date: Date): Int = (date.month - 1) * MAX_DAYS_IN_MONTH + date.dayOfMonth - 1
+    }
+}
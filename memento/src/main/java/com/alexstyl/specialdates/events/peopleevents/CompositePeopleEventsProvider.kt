@@ -4,6 +4,7 @@ import com.alexstyl.specialdates.contact.Contact
 import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
 
 
 class CompositePeopleEventsProvider(private var providers: List<PeopleEventsProvider>)
@@ -18,14 +19,19 @@ class CompositePeopleEventsProvider(private var providers: List<PeopleEventsProv
     }
 
     override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> =
-            providers.fold(emptyList(), { list, provider ->
-                list + provider.fetchEventsBetween(timePeriod)
-            })
+            concatenate(providers.map { it.fetchEventsBetween(timePeriod) })
+
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> =
+            OrderedMerge.of(providers.map { it.streamEventsBetween(timePeriod) }, AnnualDayOrder(timePeriod.startingDate))
 
     override fun fetchEventsFor(contact: Contact): List<ContactEvent> =
-            providers.fold(emptyList(), { list, provider ->
-                list + provider.fetchEventsFor(contact)
-            })
+            concatenate(providers.map { it.fetchEventsFor(contact) })
+
+    private fun concatenate(eventsOfProviders: List<List<ContactEvent>>): List<ContactEvent> {
+        val events = ArrayList<ContactEvent>(eventsOfProviders.sumBy { it.size })
+        eventsOfProviders.forEach { events.addAll(it) }
+        return events
+    }
 
 
     override fun findClosestEventDateOnOrAfter(date: Date): Date? {
@@ -36,6 +42,16 @@ class CompositePeopleEventsProvider(private var providers: List<PeopleEventsProv
         }.min()
     }
 
+    override fun findNextEventDates(from: Date, count: Int): List<Date> {
+        from.ensureHasYear()
+
+        return providers
+                .flatMap { it.findNextEventDates(from, count) }
+                .distinct()
+                .sorted()
+                .take(count)
+    }
+
     private fun Date.ensureHasYear() {
         if (!this.hasYear()) {
             throw IllegalArgumentException("Date must contain year")
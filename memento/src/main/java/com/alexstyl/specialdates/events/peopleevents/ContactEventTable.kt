@@ -0,0 +1,165 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import java.util.Arrays
+import java.util.RandomAccess
+
+/**
+ * Contact events stored column by column in parallel primitive arrays, sorted by their day of the year.
+ *
+ * Each event takes a few bytes in the arrays instead of a [ContactEvent] with its own [Date] and [Optional].
+ * Contacts are stored once in a dictionary that the rows point into. [ContactEvent]s are only created when
+ * a row of a slice is read, and they are not kept.
+ */
+class ContactEventTable private constructor(private val contactIds: LongArray,
+                                            private val sources: ByteArray,
+                                            private val packedDates: IntArray,
+                                            private val typeIds: ByteArray,
+                                            private val deviceEventIds: LongArray,
+                                            private val contactIndices: IntArray,
+                                            private val contacts: Array<Contact>,
+                                            private val nonStandardTypes: Map<Int, EventType>,
+                                            private val dayStarts: IntArray) {
+
+    val size: Int
+        get() = packedDates.size
+
+    /**
+     * Returns the events that fall on the month and day of month of the given date, regardless of their year.
+     */
+    fun eventsOn(date: Date): List<ContactEvent> {
+        val slot = slotOf(date.month, date.dayOfMonth)
+        return Rows(dayStarts[slot], dayStarts[slot + 1], 0, 0)
+    }
+
+    /**
+     * Returns the events from the month and day of month of [from] up to the ones of [to], in order of day,
+     * carrying on from the start of the year when [to] comes earlier in the year than [from].
+     */
+    fun eventsBetween(from: Date, to: Date): List<ContactEvent> {
+        val firstSlot = slotOf(from.month, from.dayOfMonth)
+        val lastSlot = slotOf(to.month, to.dayOfMonth)
+        return if (firstSlot <= lastSlot) {
+            Rows(dayStarts[firstSlot], dayStarts[lastSlot + 1], 0, 0)
+        } else {
+            Rows(dayStarts[firstSlot], size, 0, dayStarts[lastSlot + 1])
+        }
+    }
+
+    fun hasSameEventsAs(other: ContactEventTable): Boolean {
+        if (!Arrays.equals(packedDates, other.packedDates)
+                || !Arrays.equals(contactIds, other.contactIds)
+                || !Arrays.equals(sources, other.sources)
+                || !Arrays.equals(typeIds, other.typeIds)
+                || !Arrays.equals(deviceEventIds, other.deviceEventIds)
+                || nonStandardTypes != other.nonStandardTypes) {
+            return false
+        }
+        for (row in 0 until size) {
+            if (contactAt(row) != other.contactAt(row)) {
+                return false
+            }
+        }
+        return true
+    }
+
+    private fun contactAt(row: Int): Contact = contacts[contactIndices[row]]
+
+    private fun eventAt(row: Int): ContactEvent {
+        val deviceEventId = deviceEventIds[row]
+        return ContactEvent(
+                if (deviceEventId == NO_DEVICE_EVENT_ID) Optional.absent() else Optional(deviceEventId),
+                nonStandardTypes[row] ?: StandardEventType.fromId(typeIds[row].toInt()),
+                unpackDate(packedDates[row]),
+                contactAt(row)
+        )
+    }
+
+    /*
+     * A view over the rows in [start, end) followed by the rows in [wrappedStart, wrappedEnd)
+     */
+    private inner class Rows(private val start: Int,
+                             private val end: Int,
+                             private val wrappedStart: Int,
+                             private val wrappedEnd: Int) : AbstractList<ContactEvent>(), RandomAccess {
+
+        override val size: Int
+            get() = end - start + wrappedEnd - wrappedStart
+
+        override fun get(index: Int): ContactEvent {
+            if (index < 0 || index >= size) {
+                throw IndexOutOfBoundsException("Index $index is out of $size events")
+            }
+            val firstPart = end - start
+            return eventAt(if (index < firstPart) start + index else wrappedStart + index - firstPart)
+        }
+    }
+
+    companion object {
+
+        private const val MAX_DAYS_IN_MONTH = 31
+        private const val SLOTS = 12 * MAX_DAYS_IN_MONTH
+        private const val NO_DEVICE_EVENT_ID = Long.MIN_VALUE
+        private const val NO_YEAR = 0
+
+        fun from(events: List<ContactEvent>): ContactEventTable {
+            val dayStarts = IntArray(SLOTS + 1)
+            for (event in events) {
+                dayStarts[slotOf(event.date.month, event.date.dayOfMonth) + 1]++
+            }
+            for (slot in 1..SLOTS) {
+                dayStarts[slot] += dayStarts[slot - 1]
+            }
+
+            val size = events.size
+            val contactIds = LongArray(size)
+            val sources = ByteArray(size)
+            val packedDates = IntArray(size)
+            val typeIds = ByteArray(size)
+            val deviceEventIds = LongArray(size)
+            val contactIndices = IntArray(size)
+            val contacts = ArrayList<Contact>()
+            val contactIndex = HashMap<Contact, Int>()
+            val nonStandardTypes = HashMap<Int, EventType>()
+
+            val nextRowOfSlot = dayStarts.copyOf(SLOTS)
+            for (event in events) {
+                val row = nextRowOfSlot[slotOf(event.date.month, event.date.dayOfMonth)]++
+                val contact = event.contact
+                contactIds[row] = contact.contactID
+                sources[row] = contact.source.toByte()
+                packedDates[row] = packDate(event.date)
+                typeIds[row] = event.type.id.toByte()
+                deviceEventIds[row] = if (event.deviceEventId.isPresent) event.deviceEventId.get() else NO_DEVICE_EVENT_ID
+                contactIndices[row] = contactIndex.getOrPut(contact) {
+                    contacts.add(contact)
+                    contacts.size - 1
+                }
+                if (event.type !is StandardEventType) {
+                    nonStandardTypes[row] = event.type
+                }
+            }
+            return ContactEventTable(
+                    contactIds, sources, packedDates, typeIds, deviceEventIds,
+                    contactIndices, contacts.toTypedArray(), nonStandardTypes, dayStarts
+            )
+        }
+
+        private fun slotOf(month: Int, dayOfMonth: Int): Int = (month - 1) * MAX_DAYS_IN_MONTH + dayOfMonth - 1
+
+        private fun packDate(date: Date): Int {
+            val year = if (date.hasYear()) date.year else NO_YEAR
+            return (year shl 9) or (date.month shl 5) or date.dayOfMonth
+        }
+
+        private fun unpackDate(packedDate: Int): Date {
+            val year = packedDate ushr 9
+            val month = (packedDate ushr 5) and 0xF
+            val dayOfMonth = packedDate and 0x1F
+            return if (year == NO_YEAR) Date.on(dayOfMonth, month) else Date.on(dayOfMonth, month, year)
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
+
+/**
+ * Answers from the shared [EventCalendarSnapshot] whenever it is up to date and covers the requested dates,
+ * and from the given provider otherwise.
+ */
+class EventCalendarPeopleEventsProvider(private val eventCalendar: EventCalendarRepository,
+                                        private val peopleEventsProvider: PeopleEventsProvider) : PeopleEventsProvider {
+
+    override fun fetchEventsOn(date: Date): ContactEventsOnADate {
+        val snapshot = eventCalendar.currentSnapshot()
+        return if (snapshot != null && snapshot.covers(date)) {
+            ContactEventsOnADate.createFrom(date, snapshot.eventsOn(date))
+        } else {
+            peopleEventsProvider.fetchEventsOn(date)
+        }
+    }
+
+    override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> {
+        val snapshot = eventCalendar.currentSnapshot()
+        return if (snapshot != null && snapshot.covers(timePeriod)) {
+            snapshot.eventsBetween(timePeriod)
+        } else {
+            peopleEventsProvider.fetchEventsBetween(timePeriod)
+        }
+    }
+
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> = Flowable.defer {
+        val snapshot = eventCalendar.currentSnapshot()
+        if (snapshot != null && snapshot.covers(timePeriod)) {
+            Flowable.fromIterable(snapshot.eventsBetween(timePeriod))
+        } else {
+            peopleEventsProvider.streamEventsBetween(timePeriod)
+        }
+    }
+
+    override fun fetchEventsFor(contact: Contact): List<ContactEvent> = peopleEventsProvider.fetchEventsFor(contact)
+
+    override fun findClosestEventDateOnOrAfter(date: Date): Date? = findNextEventDates(date, 1).firstOrNull()
+
+    override fun findNextEventDates(from: Date, count: Int): List<Date> {
+        val snapshot = eventCalendar.currentSnapshot()
+        if (snapshot != null && snapshot.covers(from)) {
+            val dates = snapshot.eventDatesOnOrAfter(from, count)
+            if (dates.size == count) {
+                return dates
+            }
+        }
+        return peopleEventsProvider.findNextEventDates(from, count)
+    }
+}
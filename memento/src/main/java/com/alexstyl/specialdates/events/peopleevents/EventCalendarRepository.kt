@@ -0,0 +1,138 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+import io.reactivex.Observable
+import io.reactivex.Scheduler
+import io.reactivex.subjects.BehaviorSubject
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Builds the [EventCalendarSnapshot] of the year ahead and shares it with everyone that needs people events.
+ *
+ * A new calendar is built on the [workScheduler] when the events are [invalidate]d or when the day changes.
+ * Its version only increases when its events differ from the previous calendar, so that consumers never redo work
+ * for data that has not changed.
+ *
+ * The versions start from the time the repository was created, so that data derived from a calendar of an earlier
+ * process never matches the version of a calendar of this one.
+ *
+ * The [peopleEventsProvider] must read the events from their sources, and never from this repository.
+ */
+class EventCalendarRepository(private val peopleEventsProvider: PeopleEventsProvider,
+                              private val workScheduler: Scheduler,
+                              private val today: () -> Date = { Date.today() },
+                              private val firstVersion: Long = System.currentTimeMillis()) {
+
+    private val changes = AtomicLong()
+    private val lock = Any()
+    private val snapshots = BehaviorSubject.create<EventCalendarSnapshot>()
+    private val onBuiltCallbacks = ArrayList<() -> Unit>()
+
+    @Volatile private var latest: BuiltCalendar? = null
+    private var building = false
+
+    /**
+     * Emits the latest calendar and every newer version of it, building the first one if there is none yet.
+     */
+    fun snapshots(): Observable<EventCalendarSnapshot> = snapshots.doOnSubscribe { _ ->
+        if (latest == null) {
+            requestBuild()
+        }
+    }
+
+    /**
+     * Returns the calendar if it starts today and contains all changes of the events so far, or null while a
+     * newer one is being built.
+     */
+    fun currentSnapshot(): EventCalendarSnapshot? {
+        val built = latest
+        if (built != null && isUpToDate(built)) {
+            return built.snapshot
+        }
+        requestBuild()
+        return null
+    }
+
+    /**
+     * Returns the latest calendar that was built, up to date or not, without building a new one.
+     */
+    fun latestSnapshot(): EventCalendarSnapshot? = latest?.snapshot
+
+    /**
+     * Marks the calendar as outdated, so that a new one is built in the background.
+     */
+    fun invalidate() {
+        changes.incrementAndGet()
+        requestBuild()
+    }
+
+    /**
+     * Marks the calendar as outdated, and runs [onBuilt] on the [workScheduler] once a calendar that contains
+     * this change was built, or once building it failed.
+     */
+    fun invalidate(onBuilt: () -> Unit) {
+        synchronized(lock) {
+            onBuiltCallbacks.add(onBuilt)
+            changes.incrementAndGet()
+        }
+        requestBuild()
+    }
+
+    private fun isUpToDate(built: BuiltCalendar) = built.change == changes.get() && built.snapshot.startDate == today()
+
+    private fun requestBuild() {
+        synchronized(lock) {
+            if (building) {
+                return
+            }
+            building = true
+        }
+        workScheduler.scheduleDirect {
+            var callbacks: List<() -> Unit> = emptyList()
+            var stopped = false
+            try {
+                callbacks = buildUntilUpToDate()
+                stopped = true
+            } catch (e: RuntimeException) {
+                // readers keep falling back to the provider, which reports the same error to them
+            } finally {
+                if (!stopped) {
+                    callbacks = synchronized(lock) { takeCallbacksAndStop() }
+                }
+            }
+            callbacks.forEach { it() }
+        }
+    }
+
+    private fun buildUntilUpToDate(): List<() -> Unit> {
+        while (true) {
+            build()
+            synchronized(lock) {
+                if (isUpToDate(latest!!)) {
+                    return takeCallbacksAndStop()
+                }
+            }
+        }
+    }
+
+    private fun takeCallbacksAndStop(): List<() -> Unit> {
+        building = false
+        val callbacks = ArrayList(onBuiltCallbacks)
+        onBuiltCallbacks.clear()
+        return callbacks
+    }
+
+    private fun build() {
+        val change = changes.get()
+        val previous = latest?.snapshot
+        val snapshot = EventCalendarSnapshot.build(previous?.version?.plus(1) ?: firstVersion, today(), peopleEventsProvider)
+        if (previous != null && previous.hasSameEventsAs(snapshot)) {
+            latest = BuiltCalendar(previous, change)
+        } else {
+            latest = BuiltCalendar(snapshot, change)
+            snapshots.onNext(snapshot)
+        }
+    }
+
+    private class BuiltCalendar(val snapshot: EventCalendarSnapshot, val change: Long)
+}
@@ -0,0 +1,88 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.TimePeriod
+
+/**
+ * An immutable calendar of the people events of the [DAYS] days that start on [startDate], indexed by day.
+ *
+ * Every day but the last one is looked up by its month and day of month in a [ContactEventTable], as they are unique
+ * within a year. The last day shares them with the [startDate] on years without a 29th of February, so its events
+ * are kept apart.
+ */
+class EventCalendarSnapshot private constructor(val version: Long,
+                                                val startDate: Date,
+                                                private val eventsOfYear: ContactEventTable,
+                                                private val eventsOnLastDate: List<ContactEvent>) {
+
+    val lastDate: Date = startDate.addDay(DAYS - 1)
+
+    fun covers(date: Date): Boolean = date.hasYear() && startDate <= date && date <= lastDate
+
+    fun covers(timePeriod: TimePeriod): Boolean = covers(timePeriod.startingDate) && covers(timePeriod.endingDate)
+
+    fun eventsOn(date: Date): List<ContactEvent> {
+        ensureCovers(date)
+        return if (date == lastDate) eventsOnLastDate else eventsOfYear.eventsOn(date)
+    }
+
+    fun eventsBetween(timePeriod: TimePeriod): List<ContactEvent> {
+        ensureCovers(timePeriod.startingDate)
+        ensureCovers(timePeriod.endingDate)
+        if (timePeriod.startingDate == lastDate) {
+            return eventsOnLastDate
+        }
+        if (timePeriod.endingDate != lastDate) {
+            return eventsOfYear.eventsBetween(timePeriod.startingDate, timePeriod.endingDate)
+        }
+        val eventsOfYear = eventsOfYear.eventsBetween(timePeriod.startingDate, lastDate.minusDay(1))
+        val events = ArrayList<ContactEvent>(eventsOfYear.size + eventsOnLastDate.size)
+        events.addAll(eventsOfYear)
+        events.addAll(eventsOnLastDate)
+        return events
+    }
+
+    /**
+     * Returns at most [count] dates on or after the given one that have events, up to the [lastDate] of the calendar.
+     */
+    fun eventDatesOnOrAfter(from: Date, count: Int): List<Date> {
+        val dates = ArrayList<Date>()
+        var date = if (from < startDate) startDate else from
+        while (date <= lastDate && dates.size < count) {
+            if (eventsOn(date).isNotEmpty()) {
+                dates.add(date)
+            }
+            date = date.addDay(1)
+        }
+        return dates
+    }
+
+    fun hasSameEventsAs(other: EventCalendarSnapshot): Boolean =
+            startDate == other.startDate
+                    && eventsOfYear.hasSameEventsAs(other.eventsOfYear)
+                    && eventsOnLastDate == other.eventsOnLastDate
+
+    private fun ensureCovers(date: Date) {
+        if (!covers(date)) {
+            throw IllegalArgumentException("$date is not within $startDate and $lastDate")
+        }
+    }
+
+    companion object {
+
+        const val DAYS = 366
+
+        /**
+         * Creates the calendar of the events that the given provider returns today, with one query for the whole year
+         * and one for the last day.
+         */
+        fun build(version: Long, startDate: Date, peopleEventsProvider: PeopleEventsProvider): EventCalendarSnapshot {
+            val lastDate = startDate.addDay(DAYS - 1)
+            val eventsOfYear = peopleEventsProvider.fetchEventsBetween(TimePeriod.between(startDate, lastDate.minusDay(1)))
+
+            val eventsOnLastDate = peopleEventsProvider.fetchEventsOn(lastDate).events
+            return EventCalendarSnapshot(version, startDate, ContactEventTable.from(eventsOfYear), eventsOnLastDate)
+        }
+    }
+}
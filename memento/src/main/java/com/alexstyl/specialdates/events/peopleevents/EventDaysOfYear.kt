@@ -0,0 +1,44 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+import org.joda.time.LocalDate
+
+/**
+ * The days of a single year on which at least one event falls, kept as a bitset indexed by month and day of month.
+ */
+class EventDaysOfYear(val year: Int) {
+
+    private val days = BooleanArray(MONTHS_IN_YEAR * MAX_DAYS_IN_MONTH)
+
+    fun add(date: Date) {
+        days[indexOf(date.month, date.dayOfMonth)] = true
+    }
+
+    /**
+     * Returns at most [limit] dates of this year on or after the given one, in chronological order.
+     */
+    fun datesOnOrAfter(from: Date, limit: Int): List<Date> {
+        val dates = ArrayList<Date>()
+        var index = indexOf(from.month, from.dayOfMonth)
+        while (index < days.size && dates.size < limit) {
+            if (days[index]) {
+                val month = index / MAX_DAYS_IN_MONTH + 1
+                val dayOfMonth = index % MAX_DAYS_IN_MONTH + 1
+                if (dayOfMonth <= daysIn(month)) {
+                    dates.add(Date.on(dayOfMonth, month, year))
+                }
+            }
+            index++
+        }
+        return dates
+    }
+
+    private fun daysIn(month: Int): Int = LocalDate(year, month, 1).dayOfMonth().maximumValue
+
+    private fun indexOf(month: Int, dayOfMonth: Int): Int = (month - 1) * MAX_DAYS_IN_MONTH + dayOfMonth - 1
+
+    companion object {
+        private const val MONTHS_IN_YEAR = 12
+        private const val MAX_DAYS_IN_MONTH = 31
+    }
+}
@@ -0,0 +1,19 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+/**
+ * How syncing the stored events with a new set of events went.
+ */
+enum class EventsSyncResult {
+    /**
+     * At least one event was inserted, updated or deleted.
+     */
+    CHANGED,
+    /**
+     * The stored events already matched the new ones.
+     */
+    UNCHANGED,
+    /**
+     * The events could not be written, and the stored ones were left as they were.
+     */
+    FAILED
+}
@@ -0,0 +1,37 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+
+object NextEventDates {
+
+    /*
+     * A year that started after its last event, followed by a full leap cycle, for events that fall on the 29th of February
+     */
+    private const val MAX_YEARS_WITHOUT_EVENTS = 5
+
+    /**
+     * Collects the next [count] dates on or after [from], carrying on into the next years once a year runs out of events.
+     *
+     * @param datesOfYearOnOrAfter returns at most the given number of distinct dates that fall within the year of the given date,
+     * on or after it, in chronological order
+     */
+    fun collect(from: Date, count: Int, datesOfYearOnOrAfter: (Date, Int) -> List<Date>): List<Date> {
+        if (!from.hasYear()) {
+            throw IllegalArgumentException("Date must contain year")
+        }
+        val dates = ArrayList<Date>(Math.max(count, 0))
+        var start = from
+        var yearsWithoutEvents = 0
+        while (dates.size < count && yearsWithoutEvents < MAX_YEARS_WITHOUT_EVENTS) {
+            val datesOfYear = datesOfYearOnOrAfter(start, count - dates.size)
+            if (datesOfYear.isEmpty()) {
+                yearsWithoutEvents++
+            } else {
+                yearsWithoutEvents = 0
+                dates.addAll(datesOfYear)
+            }
+            start = Date.startOfYear(start.year + 1)
+        }
+        return dates
+    }
+}
@@ -0,0 +1,74 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import io.reactivex.Emitter
+import io.reactivex.Flowable
+import io.reactivex.disposables.Disposable
+import io.reactivex.functions.BiConsumer
+import io.reactivex.functions.Consumer
+import java.util.concurrent.Callable
+
+/**
+ * Merges streams that are each already in order into one stream in the same order.
+ *
+ * Each source is consumed a batch at a time, so no source is read further ahead than what the merge needs.
+ * Elements that are equal in order keep the order of their sources.
+ *
+ * Sources are subscribed to from the last one to the first, so that the sources that run asynchronously are already
+ * running while a first source that runs on the subscribing thread is read.
+ */
+object OrderedMerge {
+
+    private const val BATCH_SIZE = 32
+
+    fun <T> of(sources: List<Flowable<T>>, comparator: Comparator<in T>): Flowable<T> =
+            Flowable.generate<T, List<PeekingIterator<T>>>(
+                    Callable { subscribeToAll(sources) },
+                    BiConsumer<List<PeekingIterator<T>>, Emitter<T>> { iterators, emitter ->
+                        val next = iterators
+                                .filter { it.hasNext() }
+                                .minWith(Comparator { one, other -> comparator.compare(one.peek(), other.peek()) })
+                        if (next == null) {
+                            emitter.onComplete()
+                        } else {
+                            emitter.onNext(next.next())
+                        }
+                    },
+                    Consumer { iterators -> iterators.forEach { it.dispose() } }
+            )
+
+    private fun <T> subscribeToAll(sources: List<Flowable<T>>): List<PeekingIterator<T>> =
+            sources.asReversed()
+                    .map { PeekingIterator(it.blockingIterable(BATCH_SIZE).iterator()) }
+                    .asReversed()
+
+    private class PeekingIterator<T>(private val iterator: Iterator<T>) {
+
+        private var head: T? = null
+        private var hasHead = false
+
+        fun hasNext(): Boolean = hasHead || iterator.hasNext()
+
+        fun peek(): T {
+            if (!hasHead) {
+                head = iterator.next()
+                hasHead = true
+            }
+            @Suppress("UNCHECKED_CAST")
+            return head as T
+        }
+
+        fun next(): T {
+            val next = peek()
+            head = null
+            hasHead = false
+            return next
+        }
+
+        /*
+         * The iterators of blockingIterable() cancel their source when disposed
+         */
+        fun dispose() {
+            (iterator as? Disposable)?.dispose()
+        }
+    }
+}
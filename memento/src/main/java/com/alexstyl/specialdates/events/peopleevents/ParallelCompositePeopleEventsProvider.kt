@@ -0,0 +1,128 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
+import io.reactivex.schedulers.Schedulers
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+
+/**
+ * Asks all providers at the same time, on the given executor, and merges what they return.
+ *
+ * The first provider is asked on the calling thread, so that an executor of one thread less than the providers
+ * is enough for them to run side by side. The events of a time period come back ordered by day, merged from the
+ * ordered events of each provider. Events of the same day keep the order of the providers.
+ * When streaming, the first provider is subscribed to last, once the others are already running on the executor.
+ */
+class ParallelCompositePeopleEventsProvider(private val providers: List<PeopleEventsProvider>,
+                                            private val executor: ExecutorService) : PeopleEventsProvider {
+
+    override fun fetchEventsOn(date: Date): ContactEventsOnADate =
+            ContactEventsOnADate.createFrom(date, concatenate(fanOut { it.fetchEventsOn(date).events }))
+
+    override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> =
+            mergeByDay(timePeriod.startingDate, fanOut { it.fetchEventsBetween(timePeriod) })
+
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> {
+        val scheduler = Schedulers.from(executor)
+        val streams = providers.mapIndexed { index, provider ->
+            val stream = provider.streamEventsBetween(timePeriod)
+            if (index == 0) stream else stream.subscribeOn(scheduler)
+        }
+        return OrderedMerge.of(streams, AnnualDayOrder(timePeriod.startingDate))
+    }
+
+    override fun fetchEventsFor(contact: Contact): List<ContactEvent> =
+            concatenate(fanOut { it.fetchEventsFor(contact) })
+
+    override fun findClosestEventDateOnOrAfter(date: Date): Date? {
+        ensureHasYear(date)
+        return fanOut { it.findClosestEventDateOnOrAfter(date) }.filterNotNull().min()
+    }
+
+    override fun findNextEventDates(from: Date, count: Int): List<Date> {
+        ensureHasYear(from)
+        return fanOut { it.findNextEventDates(from, count) }
+                .flatten()
+                .distinct()
+                .sorted()
+                .take(count)
+    }
+
+    private fun <T> fanOut(call: (PeopleEventsProvider) -> T): List<T> {
+        if (providers.isEmpty()) {
+            return emptyList()
+        }
+        val others = providers.subList(1, providers.size).map { provider ->
+            executor.submit(Callable { call(provider) })
+        }
+        val results = ArrayList<T>(providers.size)
+        results.add(call(providers[0]))
+        others.forEach { results.add(it.await()) }
+        return results
+    }
+
+    private fun <T> Future<T>.await(): T {
+        try {
+            return get()
+        } catch (e: ExecutionException) {
+            val cause = e.cause
+            when (cause) {
+                is RuntimeException -> throw cause
+                is Error -> throw cause
+                else -> throw IllegalStateException(cause)
+            }
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw IllegalStateException("Interrupted while waiting for the events", e)
+        }
+    }
+
+    private fun concatenate(eventsOfProviders: List<List<ContactEvent>>): List<ContactEvent> {
+        val events = ArrayList<ContactEvent>(eventsOfProviders.sumBy { it.size })
+        eventsOfProviders.forEach { events.addAll(it) }
+        return events
+    }
+
+    /*
+     * A k-way merge by the day of each event, counted from the first day of the period,
+     * so that periods which carry on into the next year are ordered as well.
+     * Providers that do not return their events in order are sorted first.
+     */
+    private fun mergeByDay(firstDay: Date, eventsOfProviders: List<List<ContactEvent>>): List<ContactEvent> {
+        val order = AnnualDayOrder(firstDay)
+        val sortedEvents = eventsOfProviders.map { events ->
+            if (order.isSorted(events)) events else events.sortedWith(order)
+        }
+
+        val total = sortedEvents.sumBy { it.size }
+        val merged = ArrayList<ContactEvent>(total)
+        val positions = IntArray(sortedEvents.size)
+        while (merged.size < total) {
+            var next = -1
+            var nextDay = Int.MAX_VALUE
+            for (i in sortedEvents.indices) {
+                if (positions[i] < sortedEvents[i].size) {
+                    val day = order.positionOf(sortedEvents[i][positions[i]].date)
+                    if (day < nextDay) {
+                        next = i
+                        nextDay = day
+                    }
+                }
+            }
+            merged.add(sortedEvents[next][positions[next]++])
+        }
+        return merged
+    }
+
+    private fun ensureHasYear(date: Date) {
+        if (!date.hasYear()) {
+            throw IllegalArgumentException("Date must contain year")
+        }
+    }
+}
@@ -5,18 +5,21 @@ import com.alexstyl.specialdates.contact.Contact
 import com.alexstyl.specialdates.contact.ContactsProvider
 import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.Date
-import com.alexstyl.specialdates.date.DateComparator
 import com.alexstyl.specialdates.date.TimePeriod
 import com.alexstyl.specialdates.events.namedays.NameCelebrations
+import com.alexstyl.specialdates.events.namedays.NamedayLocale
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
 import com.alexstyl.specialdates.events.namedays.calendar.NamedayCalendar
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider
+import io.reactivex.Flowable
 
 open class PeopleDynamicNamedaysProvider(
         private val settings: NamedayUserSettings,
         private val namedayCalendarProvider: NamedayCalendarProvider,
         private val contactsProvider: ContactsProvider) : PeopleEventsProvider {
 
+    @Volatile private var eventDaysIndex: EventDaysIndex? = null
+
     private val namedayCalendar: NamedayCalendar
         get() {
             val locale = settings.selectedLanguage
@@ -53,6 +56,13 @@ open class PeopleDynamicNamedaysProvider(
         return namedayEvents.toList()
     }
 
+    /*
+     * Namedays are calculated in memory, so all of them are ready as soon as the first one is
+     */
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> = Flowable.defer {
+        Flowable.fromIterable(fetchEventsBetween(timePeriod).sortedWith(AnnualDayOrder(timePeriod.startingDate)))
+    }
+
     override fun fetchEventsFor(contact: Contact): List<ContactEvent> {
         if (!settings.isEnabled) {
             return emptyList()
@@ -70,20 +80,40 @@ open class PeopleDynamicNamedaysProvider(
         return namedays
     }
 
-    override fun findClosestEventDateOnOrAfter(date: Date): Date? {
+    override fun findClosestEventDateOnOrAfter(date: Date): Date? = findNextEventDates(date, 1).firstOrNull()
+
+    override fun findNextEventDates(from: Date, count: Int): List<Date> {
         if (!settings.isEnabled) {
-            return null
+            return emptyList()
+        }
+        return NextEventDates.collect(from, count) { start, limit ->
+            eventDaysOf(start.year).datesOnOrAfter(start, limit)
         }
-        val timePeriod = TimePeriod.between(date, Date.endOfYear(date.year))
-        val contactEvents = ArrayList(fetchEventsBetween(timePeriod))
-        contactEvents.sortWith(Comparator { (_, _, date1), (_, _, date2) -> DATE_COMPARATOR.compare(date1, date2) })
+    }
 
-        for ((_, _, contactEventDate) in contactEvents) {
-            if (DATE_COMPARATOR.compare(contactEventDate, date) >= 0) {
-                return contactEventDate
+    /*
+     * The days of the last few years asked for are kept, as looking ahead from late in the year goes on to the next one
+     */
+    private fun eventDaysOf(year: Int): EventDaysOfYear {
+        val locale = settings.selectedLanguage
+        val snapshot = contactsProvider.contactsSnapshot
+        val cached = eventDaysIndex?.takeIf { it.matches(locale, snapshot.version) }
+        val cachedDays = cached?.daysOf(year)
+        if (cachedDays != null) {
+            return cachedDays
+        }
+        val namedayCalendar = namedayCalendarProvider.loadNamedayCalendarForLocale(locale, year)
+        val days = EventDaysOfYear(year)
+        for (contact in snapshot.contacts) {
+            for (firstName in contact.displayName.firstNames) {
+                val nameDays = namedayCalendar.getSpecialNamedaysFor(firstName)
+                for (i in 0 until nameDays.size()) {
+                    days.add(nameDays.getDate(i))
+                }
             }
         }
-        return null
+        eventDaysIndex = (cached ?: EventDaysIndex(locale, snapshot.version, emptyList())).plus(days)
+        return days
     }
 
     fun loadAllStaticNamedays(): List<ContactEvent> {
@@ -126,9 +156,21 @@ open class PeopleDynamicNamedaysProvider(
         return namedayCalendar.getSpecialNamedaysFor(firstName)
     }
 
-    companion object {
+    private class EventDaysIndex(val locale: NamedayLocale,
+                                 val contactsVersion: Long,
+                                 private val daysOfYears: List<EventDaysOfYear>) {
+
+        fun matches(locale: NamedayLocale, contactsVersion: Long): Boolean =
+                this.locale == locale && this.contactsVersion == contactsVersion
 
-        private val DATE_COMPARATOR = DateComparator.INSTANCE
+        fun daysOf(year: Int): EventDaysOfYear? = daysOfYears.firstOrNull { it.year == year }
+
+        fun plus(days: EventDaysOfYear): EventDaysIndex =
+                EventDaysIndex(locale, contactsVersion, (daysOfYears + days).takeLast(MAX_CACHED_YEARS))
     }
 
+    companion object {
+
+        private const val MAX_CACHED_YEARS = 2
+    }
 }
@@ -16,6 +16,27 @@ interface PeopleEventsPersister {
     fun markContactAsHidden(contact: Contact)
 
     fun getVisibilityFor(contact: Contact): Boolean
-    
+
+    fun hasEventsOfSource(@ContactSource source: Int): Boolean
+
     fun insertAnnualEvents(events: List<ContactEvent>)
+
+    /**
+     * Replaces all events of device contacts, except namedays, with the given ones in a single atomic swap.
+     * Readers see either all of the previous events or all of the new ones, never an empty or partial set.
+     */
+    fun replaceAllDeviceEvents(events: List<ContactEvent>)
+
+    /**
+     * Replaces all namedays with the given ones in a single atomic swap.
+     */
+    fun replaceAllNamedays(events: List<ContactEvent>)
+
+    /**
+     * Makes the stored events of the given source match the given ones, writing only the events that differ.
+     * Events are matched by their contact and type, and the ones that are updated keep their visibility.
+     *
+     * @return whether any event was inserted, updated or deleted, or whether the events could not be written
+     */
+    fun syncEventsOfSource(@ContactSource source: Int, events: List<ContactEvent>): EventsSyncResult
 }
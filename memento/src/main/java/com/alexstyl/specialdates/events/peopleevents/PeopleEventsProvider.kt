@@ -4,13 +4,26 @@ import com.alexstyl.specialdates.contact.Contact
 import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
 
 interface PeopleEventsProvider {
     fun fetchEventsOn(date: Date): ContactEventsOnADate
 
     fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent>
 
+    /**
+     * Emits the events of the time period in order of their day, as they are loaded, on the thread that subscribes.
+     * Events are only loaded as fast as they are requested.
+     */
+    fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent>
+
     fun fetchEventsFor(contact: Contact): List<ContactEvent>
 
     fun findClosestEventDateOnOrAfter(date: Date): Date?
+
+    /**
+     * Returns the next [count] distinct dates on or after the given one that have events, in chronological order.
+     * Once the events of the year run out, the search carries on from the start of the next year.
+     */
+    fun findNextEventDates(from: Date, count: Int): List<Date>
 }
@@ -0,0 +1,170 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import io.reactivex.Completable
+import io.reactivex.Scheduler
+import io.reactivex.subjects.BehaviorSubject
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A step of a refresh. Long steps check whether their run was cancelled before doing work that a newer run
+ * would redo, such as replacing the stored events.
+ */
+typealias RefreshStep = (isCancelled: () -> Boolean) -> Unit
+
+/**
+ * Runs the given refresh steps on the [workScheduler], making sure that only one refresh is running at a time.
+ *
+ * Every refresh asked for while a run is in progress invalidates that run: it is cancelled before its next step,
+ * or within the running step if that step checks for it, and a single new run takes care of all the requests that
+ * came in meanwhile.
+ * To avoid starving, a run is not cancelled if the previous [MAX_CONSECUTIVE_CANCELLATIONS] runs were.
+ */
+class PeopleEventsRefreshCoordinator(private val steps: List<RefreshStep>,
+                                     private val workScheduler: Scheduler) : PeopleEventsRefreshStatistics {
+
+    private val lock = Any()
+    private var requestedGeneration = 0L
+    private var running = false
+
+    private val outcomes = BehaviorSubject.createDefault(RunOutcome(0L, null))
+
+    private val requests = AtomicLong()
+    private val completedRuns = AtomicLong()
+    private val cancelledRuns = AtomicLong()
+    private val failedRuns = AtomicLong()
+    private val totalDuration = AtomicLong()
+    @Volatile private var lastDuration = 0L
+
+    override val requestCount: Long
+        get() = requests.get()
+    override val completedRunCount: Long
+        get() = completedRuns.get()
+    override val cancelledRunCount: Long
+        get() = cancelledRuns.get()
+    override val failedRunCount: Long
+        get() = failedRuns.get()
+    override val lastRunDurationMillis: Long
+        get() = lastDuration
+    override val totalRunDurationMillis: Long
+        get() = totalDuration.get()
+
+    /**
+     * Asks for a refresh once subscribed to. Completes as soon as a run that started after the request has finished.
+     */
+    fun refresh(): Completable = Completable.defer {
+        val generation = requestRun()
+        outcomes
+                .filter { it.generation >= generation }
+                .firstOrError()
+                .flatMapCompletable { outcome ->
+                    val error = outcome.error
+                    if (error == null) Completable.complete() else Completable.error(error)
+                }
+    }
+
+    private fun requestRun(): Long {
+        val request = synchronized(lock) {
+            requests.incrementAndGet()
+            val startRunning = !running
+            running = true
+            RunRequest(++requestedGeneration, startRunning)
+        }
+        if (request.startsRun) {
+            workScheduler.scheduleDirect { runUntilUpToDate() }
+        }
+        return request.generation
+    }
+
+    private fun runUntilUpToDate() {
+        var stopped = false
+        try {
+            var consecutiveCancellations = 0
+            while (true) {
+                val target = synchronized(lock) { requestedGeneration }
+                val cancellable = consecutiveCancellations < MAX_CONSECUTIVE_CANCELLATIONS
+                val startedAt = now()
+                try {
+                    if (runSteps(target, cancellable)) {
+                        recordDurationSince(startedAt)
+                        completedRuns.incrementAndGet()
+                        consecutiveCancellations = 0
+                        outcomes.onNext(RunOutcome(target, null))
+                    } else {
+                        cancelledRuns.incrementAndGet()
+                        consecutiveCancellations++
+                    }
+                } catch (e: Exception) {
+                    recordDurationSince(startedAt)
+                    failedRuns.incrementAndGet()
+                    outcomes.onNext(RunOutcome(target, e))
+                }
+                synchronized(lock) {
+                    if (requestedGeneration == target) {
+                        running = false
+                        stopped = true
+                        return
+                    }
+                }
+            }
+        } finally {
+            if (!stopped) {
+                // an Error escaped one of the steps; the next request has to be able to start a new run
+                synchronized(lock) {
+                    running = false
+                }
+            }
+        }
+    }
+
+    private fun runSteps(generation: Long, cancellable: Boolean): Boolean {
+        val cancellation = RunCancellation(generation, cancellable)
+        for (step in steps) {
+            if (cancellation.isCancelled()) {
+                return false
+            }
+            step(cancellation::isCancelled)
+            if (cancellation.wasReported) {
+                return false
+            }
+        }
+        return true
+    }
+
+    private fun isOutdated(generation: Long): Boolean = synchronized(lock) {
+        requestedGeneration != generation
+    }
+
+    private fun recordDurationSince(startedAt: Long) {
+        val duration = now() - startedAt
+        lastDuration = duration
+        totalDuration.addAndGet(duration)
+    }
+
+    private fun now() = workScheduler.now(TimeUnit.MILLISECONDS)
+
+    /*
+     * Once a step is told that its run is cancelled, it may have skipped some of its work, so the run must not
+     * carry on with the next step
+     */
+    private inner class RunCancellation(private val generation: Long, private val cancellable: Boolean) {
+
+        var wasReported = false
+            private set
+
+        fun isCancelled(): Boolean {
+            if (cancellable && isOutdated(generation)) {
+                wasReported = true
+            }
+            return wasReported
+        }
+    }
+
+    private data class RunRequest(val generation: Long, val startsRun: Boolean)
+
+    private data class RunOutcome(val generation: Long, val error: Throwable?)
+
+    companion object {
+        private const val MAX_CONSECUTIVE_CANCELLATIONS = 3
+    }
+}
@@ -0,0 +1,13 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+interface PeopleEventsRefreshStatistics {
+    /**
+     * How many times a refresh was asked for, including the ones that were merged into another run.
+     */
+    val requestCount: Long
+    val completedRunCount: Long
+    val cancelledRunCount: Long
+    val failedRunCount: Long
+    val lastRunDurationMillis: Long
+    val totalRunDurationMillis: Long
+}
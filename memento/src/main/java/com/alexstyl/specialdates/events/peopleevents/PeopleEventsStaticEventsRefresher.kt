@@ -4,9 +4,16 @@ class PeopleEventsStaticEventsRefresher(
         private val peopleEventsRepository: PeopleEventsRepository,
         private val persister: PeopleEventsPersister) {
 
-    fun rebuildEvents() {
-        persister.deleteAllDeviceEvents()
+    /**
+     * Reads the events of the device contacts and replaces the stored ones with them, unless [isCancelled]
+     * by the time they are read.
+     */
+    @JvmOverloads
+    fun rebuildEvents(isCancelled: () -> Boolean = { false }) {
         val contacts = peopleEventsRepository.fetchPeopleWithEvents()
-        persister.insertAnnualEvents(contacts)
+        if (isCancelled()) {
+            return
+        }
+        persister.replaceAllDeviceEvents(contacts)
     }
 }
@@ -1,24 +1,56 @@
 package com.alexstyl.specialdates.events.peopleevents
 
+import com.alexstyl.specialdates.contact.ContactsProvider
 import com.alexstyl.specialdates.events.namedays.NamedayDatabaseRefresher
 import io.reactivex.Observable
 import io.reactivex.Scheduler
+import io.reactivex.subjects.PublishSubject
+import java.util.concurrent.TimeUnit
 
 open class PeopleEventsUpdater(private val peopleEventsStaticEventsRefresher: PeopleEventsStaticEventsRefresher,
                                private val namedayDatabaseRefresher: NamedayDatabaseRefresher,
                                private val viewRefresher: UpcomingEventsViewRefresher,
                                private val peopleSettings: UpcomingEventsSettings,
+                               private val contactsProvider: ContactsProvider,
                                private val workScheduler: Scheduler,
                                private val resultScheduler: Scheduler) {
 
-    open fun updateEvents() = Observable.fromCallable {
-        peopleEventsStaticEventsRefresher.rebuildEvents()
-        namedayDatabaseRefresher.refreshNamedaysIfEnabled()
-        peopleSettings.markEventsAsInitialised()
-    }.map {
-        viewRefresher.refreshViews()
+    private val coordinator = PeopleEventsRefreshCoordinator(listOf<RefreshStep>(
+            { _ -> contactsProvider.reloadContacts() },
+            { isCancelled -> peopleEventsStaticEventsRefresher.rebuildEvents(isCancelled) },
+            { isCancelled -> namedayDatabaseRefresher.refreshNamedaysIfEnabled(isCancelled) },
+            { _ -> peopleSettings.markEventsAsInitialised() },
+            { _ -> viewRefresher.refreshViews() }
+    ), workScheduler)
+
+    private val triggers = PublishSubject.create<Unit>()
+
+    init {
+        triggers
+                .debounce(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS, workScheduler)
+                .subscribe {
+                    coordinator.refresh()
+                            .onErrorComplete()
+                            .subscribe()
+                }
     }
-            .subscribeOn(workScheduler)
-            .observeOn(resultScheduler)!!
 
+    val statistics: PeopleEventsRefreshStatistics
+        get() = coordinator
+
+    open fun updateEvents(): Observable<Unit> = coordinator.refresh()
+            .andThen(Observable.just(Unit))
+            .observeOn(resultScheduler)
+
+    /**
+     * Asks for the events to be updated, once no other request has come in for a short while.
+     * Meant for triggers that tend to fire in bursts, such as changes in the contacts of the device.
+     */
+    open fun requestUpdate() {
+        triggers.onNext(Unit)
+    }
+
+    companion object {
+        private const val DEBOUNCE_MILLIS = 2000L
+    }
 }
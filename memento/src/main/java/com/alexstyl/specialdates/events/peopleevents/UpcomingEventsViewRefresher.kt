@@ -2,10 +2,19 @@ package com.alexstyl.specialdates.events.peopleevents
 
 import com.alexstyl.specialdates.UpcomingEventsView
 
-class UpcomingEventsViewRefresher(private val views: MutableSet<UpcomingEventsView>) {
+/**
+ * Reloads the [UpcomingEventsView]s once the [EventCalendarRepository] has caught up with the latest changes,
+ * so that they read the new calendar instead of querying the provider while it is being built.
+ */
+class UpcomingEventsViewRefresher(private val views: MutableSet<UpcomingEventsView>,
+                                  private val eventCalendar: EventCalendarRepository) {
 
     fun refreshViews() {
-        for (view in views) {
+        eventCalendar.invalidate { reloadViews() }
+    }
+
+    private fun reloadViews() {
+        for (view in views.toList()) {
             view.reloadUpcomingEventsView()
         }
     }
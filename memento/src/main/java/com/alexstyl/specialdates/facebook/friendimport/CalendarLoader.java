@@ -1,9 +1,13 @@
 package com.alexstyl.specialdates.facebook.friendimport;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
 
 interface CalendarLoader {
-    InputStream loadFrom(URL url) throws IOException;
+
+    /**
+     * Opens the calendar at the given url, or returns {@link CalendarResponse#NOT_MODIFIED} if it is the same one
+     * that the given validators were received with.
+     */
+    CalendarResponse loadFrom(URL url, CalendarValidators validators) throws IOException;
 }
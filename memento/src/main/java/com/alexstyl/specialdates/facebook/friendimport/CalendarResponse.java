@@ -0,0 +1,32 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import java.io.InputStream;
+
+final class CalendarResponse {
+
+    static final CalendarResponse NOT_MODIFIED = new CalendarResponse(null, CalendarValidators.NONE);
+
+    private final InputStream body;
+    private final CalendarValidators validators;
+
+    static CalendarResponse modified(InputStream body, CalendarValidators validators) {
+        return new CalendarResponse(body, validators);
+    }
+
+    private CalendarResponse(InputStream body, CalendarValidators validators) {
+        this.body = body;
+        this.validators = validators;
+    }
+
+    boolean isNotModified() {
+        return this == NOT_MODIFIED;
+    }
+
+    InputStream getBody() {
+        return body;
+    }
+
+    CalendarValidators getValidators() {
+        return validators;
+    }
+}
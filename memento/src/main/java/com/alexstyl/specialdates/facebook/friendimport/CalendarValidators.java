@@ -0,0 +1,64 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import android.support.annotation.Nullable;
+
+import java.net.URL;
+
+/**
+ * The ETag and Last-Modified headers that a calendar was last downloaded with, along with the url it was downloaded
+ * from. They are only sent back to the same url.
+ */
+public final class CalendarValidators {
+
+    public static final CalendarValidators NONE = new CalendarValidators("", null, null);
+
+    private final String url;
+    @Nullable private final String eTag;
+    @Nullable private final String lastModified;
+
+    public CalendarValidators(String url, @Nullable String eTag, @Nullable String lastModified) {
+        this.url = url;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Nullable
+    public String getETag() {
+        return eTag;
+    }
+
+    @Nullable
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    boolean canValidate(URL url) {
+        return this.url.equals(url.toString()) && (eTag != null || lastModified != null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CalendarValidators that = (CalendarValidators) o;
+        return url.equals(that.url)
+                && (eTag != null ? eTag.equals(that.eTag) : that.eTag == null)
+                && (lastModified != null ? lastModified.equals(that.lastModified) : that.lastModified == null);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = url.hashCode();
+        result = 31 * result + (eTag != null ? eTag.hashCode() : 0);
+        result = 31 * result + (lastModified != null ? lastModified.hashCode() : 0);
+        return result;
+    }
+}
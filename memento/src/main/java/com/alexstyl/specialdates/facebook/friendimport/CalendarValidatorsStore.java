@@ -0,0 +1,13 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+public interface CalendarValidatorsStore {
+
+    /**
+     * Returns the validators of the calendar whose events were persisted last, or {@link CalendarValidators#NONE}.
+     */
+    CalendarValidators load();
+
+    void store(CalendarValidators validators);
+
+    void clear();
+}
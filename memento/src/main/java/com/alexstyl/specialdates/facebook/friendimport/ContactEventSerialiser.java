@@ -3,19 +3,17 @@ package com.alexstyl.specialdates.facebook.friendimport;
 import com.alexstyl.specialdates.CrashAndErrorTracker;
 import com.alexstyl.specialdates.date.ContactEvent;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 class ContactEventSerialiser {
 
-    private static final String EVENT_END = "END:VEVENT";
-    private static final String EVENT_START = "BEGIN:VEVENT";
+    private static final String BEGIN = "BEGIN";
+    private static final String END = "END";
+    private static final String EVENT = "VEVENT";
     private static final String EVENT_DATE = "DTSTART";
     private static final String EVENT_SUMMARY = "SUMMARY";
     private static final String EVENT_UID = "UID";
@@ -29,33 +27,67 @@ class ContactEventSerialiser {
     }
 
     List<ContactEvent> createEventsFrom(InputStream inputStream) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-        String line;
-        List<ContactEvent> contactEvents = new ArrayList<>();
-        Map<String, String> map = null;
-        while ((line = reader.readLine()) != null) {
-            if (EVENT_START.equals(line)) {
-                map = new HashMap<>();
-            } else if (EVENT_END.equals(line)) {
-                try {
-                    ContactEvent contactEvent = factory.createContactFrom(map);
-                    contactEvents.add(contactEvent);
-                } catch (InvalidFacebookContactException ex) {
-                    tracker.track(ex);
+        final List<ContactEvent> contactEvents = new ArrayList<>();
+        readEventsFrom(inputStream, new Callback() {
+            @Override
+            public void onEventRead(ContactEvent event) {
+                contactEvents.add(event);
+            }
+        });
+        return contactEvents;
+    }
+
+    /**
+     * Passes each event of the calendar to the callback as soon as it is read. Events that do not describe
+     * a birthday of a friend are tracked and skipped.
+     */
+    void readEventsFrom(InputStream inputStream, Callback callback) throws IOException {
+        ICalendarTokenizer tokenizer = new ICalendarTokenizer(new InputStreamReader(inputStream, "UTF-8"));
+        FacebookEventRecord record = new FacebookEventRecord();
+        boolean inEvent = false;
+        int nestedComponents = 0;
+        while (tokenizer.nextProperty()) {
+            if (tokenizer.isProperty(BEGIN)) {
+                if (inEvent) {
+                    nestedComponents++;
+                } else if (tokenizer.valueIs(EVENT)) {
+                    record.clear();
+                    inEvent = true;
+                }
+            } else if (!inEvent) {
+                continue;
+            } else if (tokenizer.isProperty(END)) {
+                if (nestedComponents > 0) {
+                    nestedComponents--;
+                } else {
+                    inEvent = false;
+                    emit(record, callback);
+                }
+            } else if (nestedComponents > 0) {
+                continue;
+            } else if (tokenizer.isProperty(EVENT_DATE)) {
+                if (!record.setBasicDate(tokenizer)) {
+                    record.setRawDate(tokenizer.value());
                 }
-            } else if (line.startsWith(EVENT_DATE)) {
-                parse(line, map, EVENT_DATE);
-            } else if (line.startsWith(EVENT_SUMMARY)) {
-                parse(line, map, EVENT_SUMMARY);
-            } else if (line.startsWith(EVENT_UID)) {
-                parse(line, map, EVENT_UID);
+            } else if (tokenizer.isProperty(EVENT_SUMMARY)) {
+                record.setSummary(tokenizer.textValue());
+            } else if (tokenizer.isProperty(EVENT_UID)) {
+                record.setUid(tokenizer.value());
             }
         }
-        return contactEvents;
     }
 
-    private void parse(String line, Map<String, String> map, String value) {
-        String substr = line.substring(value.length() + 1, line.length());
-        map.put(value, substr);
+    private void emit(FacebookEventRecord record, Callback callback) {
+        try {
+            callback.onEventRead(factory.createContactFrom(record));
+        } catch (InvalidFacebookContactException ex) {
+            tracker.track(ex);
+        }
+    }
+
+    interface Callback {
+
+        void onEventRead(ContactEvent event);
+
     }
 }
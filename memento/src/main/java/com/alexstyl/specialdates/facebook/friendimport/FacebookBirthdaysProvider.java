@@ -18,10 +18,22 @@ class FacebookBirthdaysProvider {
     }
 
     List<ContactEvent> fetchCalendarFrom(URL url) throws CalendarFetcherException {
+        return fetchCalendarIfModifiedFrom(url, CalendarValidators.NONE).getEvents();
+    }
+
+    /**
+     * Fetches the events of the calendar, unless it is the same one that the given validators were received with.
+     * In that case nothing is downloaded or parsed and {@link FetchedCalendar#NOT_MODIFIED} is returned.
+     */
+    FetchedCalendar fetchCalendarIfModifiedFrom(URL url, CalendarValidators validators) throws CalendarFetcherException {
         InputStream inputStream = null;
         try {
-            inputStream = calendarLoader.loadFrom(url);
-            return serialiser.createEventsFrom(inputStream);
+            CalendarResponse response = calendarLoader.loadFrom(url, validators);
+            if (response.isNotModified()) {
+                return FetchedCalendar.NOT_MODIFIED;
+            }
+            inputStream = response.getBody();
+            return new FetchedCalendar(serialiser.createEventsFrom(inputStream), response.getValidators());
         } catch (IOException e) {
             throw new CalendarFetcherException(e);
         } finally {
@@ -2,11 +2,57 @@ package com.alexstyl.specialdates.facebook.friendimport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Downloads the calendar compressed, and only if it changed since the validators were received.
+ */
 class FacebookCalendarLoader implements CalendarLoader {
+
+    private static final int TIMEOUT_MS = 30 * 1000;
+    private static final String GZIP = "gzip";
+
     @Override
-    public InputStream loadFrom(URL url) throws IOException {
-        return url.openStream();
+    public CalendarResponse loadFrom(URL url, CalendarValidators validators) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        connection.setRequestProperty("Accept-Encoding", GZIP);
+        boolean conditional = validators.canValidate(url);
+        if (conditional) {
+            addValidatorsTo(connection, validators);
+        }
+
+        int responseCode = connection.getResponseCode();
+        if (conditional && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            connection.disconnect();
+            return CalendarResponse.NOT_MODIFIED;
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            connection.disconnect();
+            throw new IOException("Received " + responseCode + " while loading the calendar");
+        }
+
+        InputStream body = connection.getInputStream();
+        if (GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+            body = new GZIPInputStream(body);
+        }
+        CalendarValidators received = new CalendarValidators(
+                url.toString(),
+                connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified")
+        );
+        return CalendarResponse.modified(body, received);
+    }
+
+    private static void addValidatorsTo(HttpURLConnection connection, CalendarValidators validators) {
+        if (validators.getETag() != null) {
+            connection.setRequestProperty("If-None-Match", validators.getETag());
+        }
+        if (validators.getLastModified() != null) {
+            connection.setRequestProperty("If-Modified-Since", validators.getLastModified());
+        }
     }
 }
@@ -11,7 +11,6 @@ import com.alexstyl.specialdates.facebook.FacebookImagePath;
 import com.alexstyl.specialdates.date.DateParser;
 
 import java.net.URI;
-import java.util.Map;
 
 import static com.alexstyl.specialdates.contact.ContactSource.SOURCE_FACEBOOK;
 
@@ -23,39 +22,44 @@ class FacebookContactFactory {
         this.parser = parser;
     }
 
-    ContactEvent createContactFrom(Map<String, String> map) throws InvalidFacebookContactException {
+    ContactEvent createContactFrom(FacebookEventRecord record) throws InvalidFacebookContactException {
         try {
-            Date date = dateFrom(map);
-            DisplayName name = nameFrom(map);
-            long uid = idOf(map);
+            Date date = dateFrom(record);
+            DisplayName name = nameFrom(record);
+            long uid = idOf(record);
             URI imagePath = FacebookImagePath.INSTANCE.forUid(uid);
             return new ContactEvent(Optional.Companion.<Long>absent(), StandardEventType.BIRTHDAY, date, new Contact(uid, name, imagePath, SOURCE_FACEBOOK));
-        } catch (DateParseException | IndexOutOfBoundsException ex) {
+        } catch (DateParseException | IndexOutOfBoundsException | IllegalArgumentException ex) {
             throw new InvalidFacebookContactException(ex);
         }
     }
 
-    private Date dateFrom(Map<String, String> map) throws DateParseException {
-        String dateString = getOrThrow(map, "DTSTART");
-        return parser.parseWithoutYear(dateString);
+    /*
+     * Facebook sends its dates in the basic format of RFC 5545, which the record reads without going through the parser.
+     */
+    private Date dateFrom(FacebookEventRecord record) throws DateParseException {
+        if (record.hasBasicDate()) {
+            return Date.Companion.on(record.getDayOfMonth(), record.getMonth());
+        }
+        return parser.parseWithoutYear(getOrThrow(record.getRawDate(), "DTSTART"));
     }
 
-    private DisplayName nameFrom(Map<String, String> map) {
-        String summary = getOrThrow(map, "SUMMARY");
+    private DisplayName nameFrom(FacebookEventRecord record) {
+        String summary = getOrThrow(record.getSummary(), "SUMMARY");
         int endOfName = summary.indexOf("'s birthday");
         return DisplayName.Companion.from(summary.substring(0, endOfName));
     }
 
-    private long idOf(Map<String, String> map) {
-        String uid = getOrThrow(map, "UID");
+    private long idOf(FacebookEventRecord record) {
+        String uid = getOrThrow(record.getUid(), "UID");
         int facebookMail = uid.indexOf("@facebook.com");
         return Long.parseLong(uid.substring(1, facebookMail));
     }
 
-    private static String getOrThrow(Map<String, String> map, String key) {
-        if (map.containsKey(key)) {
-            return map.get(key);
+    private static String getOrThrow(String value, String key) {
+        if (value != null) {
+            return value;
         }
-        throw new IllegalArgumentException("Map did not contain " + key);
+        throw new IllegalArgumentException("Event did not contain " + key);
     }
 }
@@ -0,0 +1,88 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+/**
+ * The properties of a single VEVENT that a {@link com.alexstyl.specialdates.date.ContactEvent} is created from. One record is reused
+ * for every event of a calendar.
+ */
+final class FacebookEventRecord {
+
+    static final int NO_DATE = -1;
+
+    private int month = NO_DATE;
+    private int dayOfMonth = NO_DATE;
+    private String rawDate;
+    private String summary;
+    private String uid;
+
+    void clear() {
+        month = NO_DATE;
+        dayOfMonth = NO_DATE;
+        rawDate = null;
+        summary = null;
+        uid = null;
+    }
+
+    /**
+     * Keeps the month and day of month of a date in the basic format of RFC 5545, such as 20180612
+     * or 20180612T000000Z, without any string being created.
+     *
+     * @return false if the value is of some other format, in which case it has to be parsed in full
+     */
+    boolean setBasicDate(ICalendarTokenizer tokenizer) {
+        int length = tokenizer.valueLength();
+        if (length < 8 || (length > 8 && tokenizer.valueCharAt(8) != 'T')) {
+            return false;
+        }
+        for (int i = 0; i < 8; i++) {
+            if (!Character.isDigit(tokenizer.valueCharAt(i))) {
+                return false;
+            }
+        }
+        month = digitsOf(tokenizer, 4);
+        dayOfMonth = digitsOf(tokenizer, 6);
+        rawDate = null;
+        return true;
+    }
+
+    private static int digitsOf(ICalendarTokenizer tokenizer, int start) {
+        return (tokenizer.valueCharAt(start) - '0') * 10 + tokenizer.valueCharAt(start + 1) - '0';
+    }
+
+    void setRawDate(String rawDate) {
+        this.rawDate = rawDate;
+        month = NO_DATE;
+        dayOfMonth = NO_DATE;
+    }
+
+    void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    boolean hasBasicDate() {
+        return month != NO_DATE;
+    }
+
+    int getMonth() {
+        return month;
+    }
+
+    int getDayOfMonth() {
+        return dayOfMonth;
+    }
+
+    String getRawDate() {
+        return rawDate;
+    }
+
+    String getSummary() {
+        return summary;
+    }
+
+    String getUid() {
+        return uid;
+    }
+}
@@ -0,0 +1,34 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import com.alexstyl.specialdates.date.ContactEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+final class FetchedCalendar {
+
+    static final FetchedCalendar NOT_MODIFIED = new FetchedCalendar(Collections.<ContactEvent>emptyList(), CalendarValidators.NONE);
+
+    private final List<ContactEvent> events;
+    private final CalendarValidators validators;
+
+    FetchedCalendar(List<ContactEvent> events, CalendarValidators validators) {
+        this.events = events;
+        this.validators = validators;
+    }
+
+    /**
+     * Returns false if the calendar is the same one that was fetched with the validators that were sent.
+     */
+    boolean isModified() {
+        return this != NOT_MODIFIED;
+    }
+
+    List<ContactEvent> getEvents() {
+        return events;
+    }
+
+    CalendarValidators getValidators() {
+        return validators;
+    }
+}
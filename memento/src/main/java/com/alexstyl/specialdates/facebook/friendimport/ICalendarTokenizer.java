@@ -0,0 +1,162 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the content lines of an iCalendar (RFC 5545) stream one property at a time.
+ * <p>
+ * Folded lines, the ones that carry on in the next line that starts with a space or a tab, are joined back together.
+ * The current line is kept in a buffer that is reused for every line, so properties can be inspected without
+ * creating any strings.
+ */
+final class ICalendarTokenizer {
+
+    private static final int NO_INDEX = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder(256);
+    private int position;
+    private int limit;
+
+    private int nameEnd;
+    private int valueStart;
+
+    ICalendarTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Moves to the next property of the stream, skipping any empty or malformed lines.
+     *
+     * @return false once there are no more properties
+     */
+    boolean nextProperty() throws IOException {
+        while (readUnfoldedLine()) {
+            if (splitLine()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the current property has the given name. Property names are case insensitive.
+     */
+    boolean isProperty(String name) {
+        return nameEnd == name.length() && lineMatches(0, name);
+    }
+
+    /**
+     * Returns whether the value of the current property is the given one, ignoring its case.
+     */
+    boolean valueIs(String value) {
+        return valueLength() == value.length() && lineMatches(valueStart, value);
+    }
+
+    int valueLength() {
+        return line.length() - valueStart;
+    }
+
+    char valueCharAt(int index) {
+        return line.charAt(valueStart + index);
+    }
+
+    String value() {
+        return line.substring(valueStart);
+    }
+
+    /**
+     * Returns the value of the current property with the escaped characters of the TEXT value type unescaped.
+     */
+    String textValue() {
+        StringBuilder text = new StringBuilder(valueLength());
+        for (int i = valueStart; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (character == '\\' && i + 1 < line.length()) {
+                char escaped = line.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                text.append(character);
+            }
+        }
+        return text.toString();
+    }
+
+    private boolean lineMatches(int start, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toUpperCase(line.charAt(start + i)) != Character.toUpperCase(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The name runs up to the first ';' or ':' and the value starts after the first ':' that is not within
+     * a quoted parameter value.
+     */
+    private boolean splitLine() {
+        int colon = indexOutsideQuotes(':', 0, line.length());
+        if (colon == NO_INDEX) {
+            return false;
+        }
+        int semicolon = line.indexOf(";");
+        nameEnd = semicolon != NO_INDEX && semicolon < colon ? semicolon : colon;
+        valueStart = colon + 1;
+        return nameEnd > 0;
+    }
+
+    private int indexOutsideQuotes(char wanted, int from, int to) {
+        boolean quoted = false;
+        for (int i = from; i < to; i++) {
+            char character = line.charAt(i);
+            if (character == '"') {
+                quoted = !quoted;
+            } else if (character == wanted && !quoted) {
+                return i;
+            }
+        }
+        return NO_INDEX;
+    }
+
+    private boolean readUnfoldedLine() throws IOException {
+        line.setLength(0);
+        boolean readAnything = false;
+        while (ensureBuffered()) {
+            char character = buffer[position++];
+            readAnything = true;
+            if (character == '\r') {
+                continue;
+            }
+            if (character != '\n') {
+                line.append(character);
+                continue;
+            }
+            if (ensureBuffered() && isFoldingSpace(buffer[position])) {
+                position++;
+                continue;
+            }
+            return true;
+        }
+        return readAnything;
+    }
+
+    private static boolean isFoldingSpace(char character) {
+        return character == ' ' || character == '\t';
+    }
+
+    private boolean ensureBuffered() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -4,7 +4,7 @@ import com.alexstyl.specialdates.contact.Contact;
 import com.alexstyl.specialdates.date.ContactEvent;
 import com.alexstyl.specialdates.date.TimePeriod;
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider;
-import com.alexstyl.specialdates.util.HashMapList;
+import com.alexstyl.specialdates.util.LongHashMap;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,26 +25,45 @@ final class PeopleEventsSearch {
         }
 
         searchQuery = searchQuery.trim();
-        HashMapList<Contact, ContactEvent> events = new HashMapList<>();
+        List<ContactWithEvents> contactWithEvents = new ArrayList<>();
+        LongHashMap<ContactWithEvents> contactsById = new LongHashMap<>();
         TimePeriod between = TimePeriod.Companion.aYearFromNow();
         List<ContactEvent> contactEventsOnDate = peopleEventsProvider.fetchEventsBetween(between);
         int size = 0;
         for (ContactEvent contactEvent : contactEventsOnDate) {
             Contact contact = contactEvent.getContact();
             if (nameMatcher.match(contact.getDisplayName(), searchQuery)) {
-                events.addValue(contact, contactEvent);
+                ContactWithEvents entry = findEntryOf(contact, contactsById, contactWithEvents);
+                if (entry == null) {
+                    entry = new ContactWithEvents(contact, new ArrayList<ContactEvent>());
+                    contactWithEvents.add(entry);
+                    contactsById.put(contact.getContactID(), entry);
+                }
+                entry.getEvents().add(contactEvent);
                 size++;
             }
             if (size >= counter) {
                 break;
             }
         }
+        return contactWithEvents;
+    }
 
-        List<ContactWithEvents> contactWithEvents = new ArrayList<>();
-        for (Contact contact : events.keys()) {
-            List<ContactEvent> list = events.get(contact);
-            contactWithEvents.add(new ContactWithEvents(contact, list));
+    /**
+     * Contact ids are only unique within a single source, so the id lookup is confirmed against the actual contact
+     */
+    private static ContactWithEvents findEntryOf(Contact contact,
+                                                 LongHashMap<ContactWithEvents> contactsById,
+                                                 List<ContactWithEvents> entries) {
+        ContactWithEvents indexed = contactsById.get(contact.getContactID());
+        if (indexed == null || indexed.getContact().equals(contact)) {
+            return indexed;
         }
-        return contactWithEvents;
+        for (ContactWithEvents entry : entries) {
+            if (entry.getContact().equals(contact)) {
+                return entry;
+            }
+        }
+        return null;
     }
 }
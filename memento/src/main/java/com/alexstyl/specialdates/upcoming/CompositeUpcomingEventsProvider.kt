@@ -1,5 +1,6 @@
 package com.alexstyl.specialdates.upcoming
 
+import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.DateComparator
 import com.alexstyl.specialdates.date.TimePeriod
 import com.alexstyl.specialdates.events.bankholidays.BankHolidayProvider
@@ -7,7 +8,9 @@ import com.alexstyl.specialdates.events.bankholidays.BankHolidaysUserSettings
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
 import com.alexstyl.specialdates.events.namedays.NamesInADate
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider
+import com.alexstyl.specialdates.events.peopleevents.AnnualDayOrder
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
+import io.reactivex.Flowable
 
 class CompositeUpcomingEventsProvider(private val peopleEventsProvider: PeopleEventsProvider,
                                       private val namedayPreferences: NamedayUserSettings,
@@ -16,8 +19,47 @@ class CompositeUpcomingEventsProvider(private val peopleEventsProvider: PeopleEv
                                       private val bankHolidayProvider: BankHolidayProvider,
                                       private val upcomingRowViewModelFactory: UpcomingEventRowViewModelFactory) : UpcomingEventsProvider {
 
-    override fun calculateEventsBetween(timePeriod: TimePeriod): List<UpcomingRowViewModel> {
-        val contactEvents = peopleEventsProvider.fetchEventsBetween(timePeriod)
+    override fun calculateEventsBetween(timePeriod: TimePeriod): List<UpcomingRowViewModel> =
+            rowsBetween(timePeriod, peopleEventsProvider.fetchEventsBetween(timePeriod))
+
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<List<UpcomingRowViewModel>> = Flowable.defer {
+        val loadedEvents = ArrayList<ContactEvent>()
+        peopleEventsProvider.streamEventsBetween(timePeriod)
+                .buffer(EVENTS_OF_FIRST_ROWS)
+                .concatMap { contactEvents ->
+                    val isFirstBatch = loadedEvents.isEmpty()
+                    loadedEvents.addAll(contactEvents)
+                    val firstDays = if (isFirstBatch && contactEvents.size == EVENTS_OF_FIRST_ROWS) {
+                        completeDaysOf(timePeriod, contactEvents.last())
+                    } else {
+                        null
+                    }
+                    if (firstDays == null) {
+                        Flowable.empty()
+                    } else {
+                        Flowable.just(rowsBetween(firstDays, loadedEvents))
+                    }
+                }
+                .concatWith(Flowable.fromCallable { rowsBetween(timePeriod, loadedEvents) })
+    }
+
+    /*
+     * The days before the one of the last loaded event, as more events of that day might still be loading
+     */
+    private fun completeDaysOf(timePeriod: TimePeriod, lastLoadedEvent: ContactEvent): TimePeriod? {
+        val order = AnnualDayOrder(timePeriod.startingDate)
+        val positionOfLastEvent = order.positionOf(lastLoadedEvent.date)
+        if (positionOfLastEvent == 0) {
+            return null
+        }
+        var lastCompleteDay = timePeriod.startingDate
+        while (order.positionOf(lastCompleteDay.addDay(1)) < positionOfLastEvent) {
+            lastCompleteDay = lastCompleteDay.addDay(1)
+        }
+        return TimePeriod.between(timePeriod.startingDate, lastCompleteDay)
+    }
+
+    private fun rowsBetween(timePeriod: TimePeriod, contactEvents: List<ContactEvent>): List<UpcomingRowViewModel> {
         val upcomingRowViewModelsBuilder = UpcomingRowViewModelsBuilder(
                 timePeriod,
                 upcomingRowViewModelFactory
@@ -63,6 +105,7 @@ class CompositeUpcomingEventsProvider(private val peopleEventsProvider: PeopleEv
     }
 
     companion object {
+        private const val EVENTS_OF_FIRST_ROWS = 20
         private val COMPARATOR = DateComparator.INSTANCE
     }
 }
@@ -2,7 +2,10 @@ package com.alexstyl.specialdates.upcoming
 
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarSnapshot
 import com.alexstyl.specialdates.permissions.MementoPermissions
+import io.reactivex.Flowable
+import io.reactivex.Observable
 import io.reactivex.Scheduler
 import io.reactivex.disposables.Disposable
 import io.reactivex.subjects.PublishSubject
@@ -11,7 +14,8 @@ class UpcomingEventsPresenter(private val firstDay: Date,
                               private val permissions: MementoPermissions,
                               private val providerUpcoming: UpcomingEventsProvider,
                               private val workScheduler: Scheduler,
-                              private val resultScheduler: Scheduler) {
+                              private val resultScheduler: Scheduler,
+                              private val eventCalendarUpdates: Observable<EventCalendarSnapshot> = Observable.never()) {
 
     companion object {
         private const val TRIGGER = 1
@@ -19,27 +23,31 @@ class UpcomingEventsPresenter(private val firstDay: Date,
 
     private val subject = PublishSubject.create<Int>()
     private var disposable: Disposable? = null
+    private var displayedRows: List<UpcomingRowViewModel>? = null
 
     fun startPresentingInto(view: UpcomingListMVPView) {
         disposable =
                 subject
+                        .mergeWith(newerEventCalendars())
                         .doOnSubscribe { _ ->
                             if (view.isShowingNoEvents) {
                                 view.showLoading()
                             }
                         }
                         .observeOn(workScheduler)
-                        .map { _ ->
-                            val timePeriod = TimePeriod.aYearFrom(firstDay)
-                            providerUpcoming.calculateEventsBetween(timePeriod)
-                        }
+                        .switchMap { _ -> rowsToDisplay().toObservable() }
+                        .map { upcomingRowViewModels -> updateTo(upcomingRowViewModels) }
                         .observeOn(resultScheduler)
                         .onErrorReturn { error ->
                             error.printStackTrace()
-                            emptyList()
+                            RowsUpdate(emptyList(), null)
                         }
-                        .subscribe { upcomingRowViewModels ->
-                            view.display(upcomingRowViewModels)
+                        .subscribe { update ->
+                            if (update.changes == null) {
+                                view.display(update.rows)
+                            } else {
+                                view.display(update.rows, update.changes)
+                            }
                         }
         if (permissions.canReadAndWriteContacts()) {
             refreshEvents()
@@ -47,11 +55,43 @@ class UpcomingEventsPresenter(private val firstDay: Date,
     }
 
 
+    /*
+     * The first calendar is the one that is already around when presenting starts, so it is loaded anyway
+     */
+    private fun newerEventCalendars() = eventCalendarUpdates
+            .skip(1)
+            .map { _ -> TRIGGER }
+
+    /*
+     * The rows of the first days are only worth showing while nothing is displayed. Once the list is showing,
+     * diffing them against it would remove every later day, only for the complete rows to insert them all back.
+     */
+    private fun rowsToDisplay(): Flowable<List<UpcomingRowViewModel>> {
+        val rows = providerUpcoming.streamEventsBetween(TimePeriod.aYearFrom(firstDay))
+        return if (displayedRows == null) rows else rows.takeLast(1)
+    }
+
+    /*
+     * Diffs the new rows against the displayed ones, on the work thread, whenever both can be diffed
+     */
+    private fun updateTo(rows: List<UpcomingRowViewModel>): RowsUpdate {
+        val previousRows = displayedRows
+        displayedRows = rows
+        return if (previousRows is UpcomingRows && rows is UpcomingRows) {
+            RowsUpdate(rows, previousRows.changesInto(rows))
+        } else {
+            RowsUpdate(rows, null)
+        }
+    }
+
+    private class RowsUpdate(val rows: List<UpcomingRowViewModel>, val changes: List<UpcomingRowsChange>?)
+
     fun refreshEvents() {
         subject.onNext(TRIGGER)
     }
 
     fun stopPresenting() {
         disposable?.dispose()
+        displayedRows = null
     }
 }
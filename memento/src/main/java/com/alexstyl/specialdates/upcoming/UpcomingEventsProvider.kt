@@ -1,7 +1,15 @@
 package com.alexstyl.specialdates.upcoming
 
 import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
 
 interface UpcomingEventsProvider {
     fun calculateEventsBetween(timePeriod: TimePeriod): List<UpcomingRowViewModel>
+
+    /**
+     * Emits the rows of the first days of the time period as soon as their events are loaded,
+     * followed by the rows of the whole time period once all of its events are.
+     * The rows of the first days are only emitted when there are enough events to fill the first screen.
+     */
+    fun streamEventsBetween(timePeriod: TimePeriod): Flowable<List<UpcomingRowViewModel>>
 }
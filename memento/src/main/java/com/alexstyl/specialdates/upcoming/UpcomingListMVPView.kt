@@ -5,4 +5,9 @@ interface UpcomingListMVPView {
     val isShowingNoEvents: Boolean
     fun showLoading()
     fun display(events: List<UpcomingRowViewModel>)
+
+    /**
+     * Displays the given rows, of which only the given changes differ from the ones that are displayed already.
+     */
+    fun display(events: List<UpcomingRowViewModel>, changes: List<UpcomingRowsChange>)
 }
@@ -3,6 +3,7 @@ package com.alexstyl.specialdates.upcoming
 import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.DateComparator
+import com.alexstyl.specialdates.date.Months
 import com.alexstyl.specialdates.date.TimePeriod
 import com.alexstyl.specialdates.events.bankholidays.BankHoliday
 import com.alexstyl.specialdates.events.namedays.NamesInADate
@@ -43,36 +44,39 @@ class UpcomingRowViewModelsBuilder(private val duration: TimePeriod,
         return this
     }
 
+    /**
+     * Indexes the days of the period that have events. Their rows are only created once they are read.
+     */
     fun build(): List<UpcomingRowViewModel> {
         if (noEventsArePresent()) {
             return NO_CELEBRATIONS
         }
 
-        val rowsViewModels = ArrayList<UpcomingRowViewModel>()
-        var indexDate = duration.startingDate
-        val lastDate = duration.endingDate
-
-        var index = 0
-        while (dateComparator.compare(indexDate, lastDate) <= 0) {
-            val annualDate = indexDate.toAnnualDate()
-            if (containsAnyEventsOn(annualDate)) {
-
-                rowsViewModels.add(viewModelFactory.createDateHeader(indexDate))
-
-                if (bankHolidays[annualDate] != null) {
-                    rowsViewModels.add(viewModelFactory.createViewModelFor(bankHolidays[annualDate]!!))
-                }
-                if (namedays[annualDate] != null) {
-                    rowsViewModels.add(viewModelFactory.createViewModelFor(namedays[annualDate]!!))
-                }
-                getPeopleEventsOn(annualDate).forEach {
-                    rowsViewModels.add(viewModelFactory.createViewModelFor(it))
-                }
-                index++
-            }
-            indexDate = indexDate.addDay(1)
+        val days = daysWithEvents()
+        return UpcomingRows(
+                days,
+                days.map { getPeopleEventsOn(it.toAnnualDate()) },
+                days.map { bankHolidays[it.toAnnualDate()] },
+                days.map { namedays[it.toAnnualDate()] },
+                viewModelFactory
+        )
+    }
+
+    private fun daysWithEvents(): List<Date> {
+        val annualDates = HashSet<AnnualDate>()
+        annualDates.addAll(contactEvents.keys())
+        annualDates.addAll(namedays.keys)
+        annualDates.addAll(bankHolidays.keys)
+
+        val days = ArrayList<Date>(annualDates.size)
+        for (year in duration.startingDate.year..duration.endingDate.year) {
+            annualDates
+                    .filter { it.existsIn(year) }
+                    .map { Date.on(it.dayOfMonth, it.month, year) }
+                    .filterTo(days) { duration.containsDate(it) }
         }
-        return rowsViewModels
+        days.sortWith(dateComparator)
+        return days
     }
 
     private fun getPeopleEventsOn(indexDate: AnnualDate): List<ContactEvent> {
@@ -86,8 +90,8 @@ class UpcomingRowViewModelsBuilder(private val duration: TimePeriod,
 
     private fun noEventsArePresent(): Boolean = contactEvents.isEmpty && namedays.isEmpty() && bankHolidays.isEmpty()
 
-    private fun containsAnyEventsOn(date: AnnualDate): Boolean =
-            getPeopleEventsOn(date).isNotEmpty() || namedays.containsKey(date) || bankHolidays.containsKey(date)
+    private fun AnnualDate.existsIn(year: Int): Boolean =
+            month != Months.FEBRUARY || dayOfMonth != 29 || (year % 4 == 0 && year % 100 != 0) || year % 400 == 0
 
     companion object {
 
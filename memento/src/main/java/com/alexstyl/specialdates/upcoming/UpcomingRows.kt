@@ -0,0 +1,239 @@
+package com.alexstyl.specialdates.upcoming
+
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.DateComparator
+import com.alexstyl.specialdates.events.bankholidays.BankHoliday
+import com.alexstyl.specialdates.events.namedays.NamesInADate
+import com.alexstyl.specialdates.events.peopleevents.EventType
+import com.alexstyl.specialdates.upcoming.UpcomingRowsChange.Type.CHANGED
+import com.alexstyl.specialdates.upcoming.UpcomingRowsChange.Type.INSERTED
+import com.alexstyl.specialdates.upcoming.UpcomingRowsChange.Type.REMOVED
+import java.util.RandomAccess
+
+/**
+ * The rows of the upcoming events, created a window of days at a time.
+ *
+ * Only the days that have events are indexed, along with the row each of them starts from, so the size of the list
+ * and the day of any row are known before any row is created. Reading a row creates the rows of the days around it,
+ * and the window of created days follows the reads as the list is scrolled.
+ *
+ * The rows are created on the thread that reads them, so a list must only be read by one thread at a time.
+ */
+class UpcomingRows internal constructor(private val days: List<Date>,
+                                        private val contactEvents: List<List<ContactEvent>>,
+                                        private val bankHolidays: List<BankHoliday?>,
+                                        private val namedays: List<NamesInADate?>,
+                                        private val viewModelFactory: UpcomingEventRowViewModelFactory)
+    : AbstractList<UpcomingRowViewModel>(), RandomAccess {
+
+    private val firstRowOfDay = IntArray(days.size + 1)
+    private val window = ArrayList<List<UpcomingRowViewModel>>()
+    private var windowStart = 0
+
+    init {
+        for (day in days.indices) {
+            firstRowOfDay[day + 1] = firstRowOfDay[day] + rowCountOf(day)
+        }
+    }
+
+    override val size: Int
+        get() = firstRowOfDay[days.size]
+
+    val dayCount: Int
+        get() = days.size
+
+    override fun get(index: Int): UpcomingRowViewModel {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index $index is out of $size rows")
+        }
+        val day = dayOfRow(index)
+        moveWindowTo(day)
+        return window[day - windowStart][index - firstRowOfDay[day]]
+    }
+
+    /**
+     * Returns the changes that turn these rows into the given ones, without creating the rows of either list.
+     *
+     * Days are matched by their date and rows within a day by the event they show. A day that shows the same events
+     * keeps its rows, and only the ones whose event changed are marked as changed. Otherwise the rows below the
+     * header of the day are removed and inserted again.
+     */
+    fun changesInto(newRows: UpcomingRows): List<UpcomingRowsChange> {
+        val changes = ChangesBuilder()
+        var position = 0
+        var oldDay = 0
+        var newDay = 0
+        while (oldDay < days.size || newDay < newRows.days.size) {
+            val comparison = when {
+                oldDay == days.size -> 1
+                newDay == newRows.days.size -> -1
+                else -> DateComparator.INSTANCE.compare(days[oldDay], newRows.days[newDay])
+            }
+            when {
+                comparison < 0 -> {
+                    changes.add(REMOVED, position, rowCountOf(oldDay))
+                    oldDay++
+                }
+                comparison > 0 -> {
+                    val count = newRows.rowCountOf(newDay)
+                    changes.add(INSERTED, position, count)
+                    position += count
+                    newDay++
+                }
+                else -> {
+                    position = addChangesOfDay(oldDay, newRows, newDay, position + 1, changes)
+                    oldDay++
+                    newDay++
+                }
+            }
+        }
+        return changes.build()
+    }
+
+    private fun addChangesOfDay(oldDay: Int,
+                                newRows: UpcomingRows,
+                                newDay: Int,
+                                firstEventPosition: Int,
+                                changes: ChangesBuilder): Int {
+        val oldEvents = eventsOf(oldDay)
+        val newEvents = newRows.eventsOf(newDay)
+        if (oldEvents.map { keyOf(it) } != newEvents.map { keyOf(it) }) {
+            changes.add(REMOVED, firstEventPosition, oldEvents.size)
+            changes.add(INSERTED, firstEventPosition, newEvents.size)
+            return firstEventPosition + newEvents.size
+        }
+        for (i in oldEvents.indices) {
+            if (contentOf(oldEvents[i]) != contentOf(newEvents[i])) {
+                changes.add(CHANGED, firstEventPosition + i, 1)
+            }
+        }
+        return firstEventPosition + oldEvents.size
+    }
+
+    /*
+     * What each row of a day below its header shows, in the order of the rows
+     */
+    private fun eventsOf(day: Int): List<Any> {
+        val events = ArrayList<Any>(rowCountOf(day) - 1)
+        bankHolidays[day]?.let { events.add(it) }
+        namedays[day]?.let { events.add(it) }
+        events.addAll(contactEvents[day])
+        return events
+    }
+
+    private fun keyOf(event: Any): Any = when (event) {
+        is ContactEvent -> ContactEventKey(event.contact.contactID, event.contact.source, event.type)
+        else -> event.javaClass
+    }
+
+    private fun contentOf(event: Any): Any = when (event) {
+        is NamesInADate -> event.getNames()
+        else -> event
+    }
+
+    private data class ContactEventKey(val contactId: Long, val source: Int, val type: EventType)
+
+    /*
+     * Joins each change with the previous one when they are of the same type and their rows are next to each other
+     */
+    private class ChangesBuilder {
+
+        private val changes = ArrayList<UpcomingRowsChange>()
+
+        fun add(type: UpcomingRowsChange.Type, position: Int, count: Int) {
+            if (count == 0) {
+                return
+            }
+            val last = changes.lastOrNull()
+            if (last != null && last.type == type && continues(last, position)) {
+                changes[changes.size - 1] = last.copy(count = last.count + count)
+            } else {
+                changes.add(UpcomingRowsChange(type, position, count))
+            }
+        }
+
+        private fun continues(change: UpcomingRowsChange, position: Int): Boolean =
+                if (change.type == REMOVED) change.position == position else change.position + change.count == position
+
+        fun build(): List<UpcomingRowsChange> = changes
+    }
+
+    private fun rowCountOf(day: Int): Int {
+        var rows = 1 + contactEvents[day].size
+        if (bankHolidays[day] != null) {
+            rows++
+        }
+        if (namedays[day] != null) {
+            rows++
+        }
+        return rows
+    }
+
+    private fun dayOfRow(row: Int): Int {
+        var low = 0
+        var high = days.size - 1
+        while (low < high) {
+            val middle = (low + high + 1) ushr 1
+            if (firstRowOfDay[middle] <= row) {
+                low = middle
+            } else {
+                high = middle - 1
+            }
+        }
+        return low
+    }
+
+    /*
+     * Days next to the window extend it; days further away start a new window around them.
+     * The window never holds more than MAX_WINDOW_DAYS days, dropping the ones furthest from the read day.
+     */
+    private fun moveWindowTo(day: Int) {
+        val windowEnd = windowStart + window.size
+        if (day >= windowStart && day < windowEnd) {
+            return
+        }
+        if (window.isEmpty() || day < windowStart - WINDOW_STEP_DAYS || day >= windowEnd + WINDOW_STEP_DAYS) {
+            window.clear()
+            windowStart = Math.max(0, day - WINDOW_STEP_DAYS / 2)
+            val end = Math.min(days.size, day + WINDOW_STEP_DAYS / 2 + 1)
+            for (newDay in windowStart until end) {
+                window.add(rowsOf(newDay))
+            }
+            return
+        }
+        if (day < windowStart) {
+            val newStart = Math.max(0, day - WINDOW_STEP_DAYS / 2)
+            window.addAll(0, (newStart until windowStart).map { rowsOf(it) })
+            windowStart = newStart
+            while (window.size > MAX_WINDOW_DAYS) {
+                window.removeAt(window.size - 1)
+            }
+        } else {
+            val newEnd = Math.min(days.size, day + WINDOW_STEP_DAYS / 2 + 1)
+            for (newDay in windowEnd until newEnd) {
+                window.add(rowsOf(newDay))
+            }
+            val excess = window.size - MAX_WINDOW_DAYS
+            if (excess > 0) {
+                window.subList(0, excess).clear()
+                windowStart += excess
+            }
+        }
+    }
+
+    private fun rowsOf(day: Int): List<UpcomingRowViewModel> {
+        val rows = ArrayList<UpcomingRowViewModel>(rowCountOf(day))
+        rows.add(viewModelFactory.createDateHeader(days[day]))
+        bankHolidays[day]?.let { rows.add(viewModelFactory.createViewModelFor(it)) }
+        namedays[day]?.let { rows.add(viewModelFactory.createViewModelFor(it)) }
+        contactEvents[day].forEach { rows.add(viewModelFactory.createViewModelFor(it)) }
+        return rows
+    }
+
+    companion object {
+
+        private const val WINDOW_STEP_DAYS = 30
+        private const val MAX_WINDOW_DAYS = 90
+    }
+}
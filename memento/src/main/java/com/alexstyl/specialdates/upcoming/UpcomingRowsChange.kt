@@ -0,0 +1,14 @@
+package com.alexstyl.specialdates.upcoming
+
+/**
+ * A range of rows that was inserted, removed or changed, at its position in the list
+ * as it is once all the changes before it have been applied.
+ */
+data class UpcomingRowsChange(val type: Type, val position: Int, val count: Int) {
+
+    enum class Type {
+        INSERTED,
+        REMOVED,
+        CHANGED
+    }
+}
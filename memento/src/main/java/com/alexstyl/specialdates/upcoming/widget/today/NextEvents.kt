@@ -0,0 +1,9 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.Date
+
+/**
+ * The next date that people celebrate something on, and the contacts celebrating.
+ */
+data class NextEvents(val date: Date, val contacts: List<Contact>)
@@ -0,0 +1,23 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.events.peopleevents.ContactEventsOnADate
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarSnapshot
+
+/**
+ * What the today widget shows, as worked out from the calendar of the given [version] on the day [computedOn].
+ *
+ * [nextEvents] is null when there are no events within the calendar.
+ */
+data class NextEventsPayload(val version: Long, val computedOn: Date, val nextEvents: NextEvents?) {
+
+    companion object {
+
+        fun from(snapshot: EventCalendarSnapshot): NextEventsPayload {
+            val date = snapshot.eventDatesOnOrAfter(snapshot.startDate, 1).firstOrNull()
+                    ?: return NextEventsPayload(snapshot.version, snapshot.startDate, null)
+            val contacts = ContactEventsOnADate.createFrom(date, snapshot.eventsOn(date)).contacts
+            return NextEventsPayload(snapshot.version, snapshot.startDate, NextEvents(date, contacts))
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.contact.DisplayName
+import com.alexstyl.specialdates.date.Date
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.net.URI
+
+/**
+ * Keeps the [NextEventsPayload] in a small binary file, so that the today widget can be updated without
+ * looking up any events.
+ *
+ * The file starts with the version of its format. Files of any other format are treated as missing.
+ */
+class NextEventsPayloadStore(private val file: File) {
+
+    /**
+     * Returns the stored payload, or null if there is none that can be read.
+     */
+    fun read(): NextEventsPayload? {
+        if (!file.exists()) {
+            return null
+        }
+        return try {
+            DataInputStream(BufferedInputStream(FileInputStream(file))).use { input ->
+                if (input.readInt() != FORMAT_VERSION) null else input.readPayload()
+            }
+        } catch (e: IOException) {
+            null
+        } catch (e: IllegalArgumentException) {
+            null
+        }
+    }
+
+    /**
+     * Replaces the stored payload. The payload is written to a temporary file first, so that readers
+     * only ever see a complete one.
+     *
+     * @throws IOException if the payload could not be written
+     */
+    fun write(payload: NextEventsPayload) {
+        val temporaryFile = File(file.path + ".tmp")
+        try {
+            DataOutputStream(BufferedOutputStream(FileOutputStream(temporaryFile))).use { output ->
+                output.writeInt(FORMAT_VERSION)
+                output.writePayload(payload)
+            }
+            if (!temporaryFile.renameTo(file)) {
+                throw IOException("Could not replace $file")
+            }
+        } finally {
+            temporaryFile.delete()
+        }
+    }
+
+    /**
+     * Deletes the stored payload.
+     *
+     * @throws IOException if the payload could not be deleted
+     */
+    fun clear() {
+        if (file.exists() && !file.delete()) {
+            throw IOException("Could not delete $file")
+        }
+    }
+
+    private fun DataOutputStream.writePayload(payload: NextEventsPayload) {
+        writeLong(payload.version)
+        writeDate(payload.computedOn)
+        val nextEvents = payload.nextEvents
+        writeBoolean(nextEvents != null)
+        if (nextEvents != null) {
+            writeDate(nextEvents.date)
+            writeInt(nextEvents.contacts.size)
+            for (contact in nextEvents.contacts) {
+                writeLong(contact.contactID)
+                writeInt(contact.source)
+                writeUTF(contact.displayName.toString())
+                writeUTF(contact.imagePath.toString())
+            }
+        }
+    }
+
+    private fun DataInputStream.readPayload(): NextEventsPayload {
+        val version = readLong()
+        val computedOn = readDate()
+        if (!readBoolean()) {
+            return NextEventsPayload(version, computedOn, null)
+        }
+        val date = readDate()
+        val count = readInt()
+        val contacts = ArrayList<Contact>(count)
+        for (i in 0 until count) {
+            val contactId = readLong()
+            val source = readInt()
+            val displayName = DisplayName.from(readUTF())
+            val imagePath = URI.create(readUTF())
+            contacts.add(Contact(contactId, displayName, imagePath, source))
+        }
+        return NextEventsPayload(version, computedOn, NextEvents(date, contacts))
+    }
+
+    private fun DataOutputStream.writeDate(date: Date) {
+        writeInt(if (date.hasYear()) date.year else NO_YEAR)
+        writeByte(date.month)
+        writeByte(date.dayOfMonth)
+    }
+
+    private fun DataInputStream.readDate(): Date {
+        val year = readInt()
+        val month = readByte().toInt()
+        val dayOfMonth = readByte().toInt()
+        return if (year == NO_YEAR) Date.on(dayOfMonth, month) else Date.on(dayOfMonth, month, year)
+    }
+
+    companion object {
+
+        private const val FORMAT_VERSION = 1
+        private const val NO_YEAR = -1
+    }
+}
@@ -0,0 +1,46 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.CrashAndErrorTracker
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
+import io.reactivex.Scheduler
+import io.reactivex.disposables.Disposable
+
+/**
+ * Stores what the today widget needs to show every time a new calendar of events is built,
+ * which happens when the events change and when the day changes.
+ *
+ * The stored payload is only trusted while a writer keeps it up to date, so it is [discard]ed when the writer is
+ * not started.
+ */
+class NextEventsPayloadWriter(private val eventCalendar: EventCalendarRepository,
+                              private val store: NextEventsPayloadStore,
+                              private val tracker: CrashAndErrorTracker,
+                              private val workScheduler: Scheduler) {
+
+    private var disposable: Disposable? = null
+
+    fun start() {
+        if (disposable != null) {
+            return
+        }
+        disposable = eventCalendar.snapshots()
+                .observeOn(workScheduler)
+                .subscribe { snapshot ->
+                    try {
+                        store.write(NextEventsPayload.from(snapshot))
+                    } catch (e: Exception) {
+                        tracker.track(e)
+                    }
+                }
+    }
+
+    fun discard() {
+        workScheduler.scheduleDirect {
+            try {
+                store.clear()
+            } catch (e: Exception) {
+                tracker.track(e)
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.alexstyl.specialdates.upcoming.widget.today
 
 import com.alexstyl.specialdates.Optional
 import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
 import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
 import com.alexstyl.specialdates.permissions.MementoPermissions
 import io.reactivex.Observable
@@ -10,8 +11,11 @@ import io.reactivex.disposables.Disposable
 
 class RecentPeopleEventsPresenter(private val eventsProvider: PeopleEventsProvider,
                                   private val permissions: MementoPermissions,
+                                  private val eventCalendar: EventCalendarRepository,
+                                  private val payloadStore: NextEventsPayloadStore,
                                   private val workScheduler: Scheduler,
-                                  private val resultScheduler: Scheduler) {
+                                  private val resultScheduler: Scheduler,
+                                  private val today: () -> Date = { Date.today() }) {
 
     private var disposable: Disposable? = null
 
@@ -19,20 +23,14 @@ class RecentPeopleEventsPresenter(private val eventsProvider: PeopleEventsProvid
         if (permissions.canReadContacts()) {
             disposable =
                     Observable.fromCallable {
-                        val today = Date.today()
-                        val date = eventsProvider.findClosestEventDateOnOrAfter(today)
-                        if (date != null) {
-                            val contactEventsOnADate = eventsProvider.fetchEventsOn(date)
-                            Optional(contactEventsOnADate)
-                        } else {
-                            Optional.absent()
-                        }
+                        val nextEvents = findNextEvents()
+                        if (nextEvents != null) Optional(nextEvents) else Optional.absent()
                     }
                             .subscribeOn(workScheduler)
                             .observeOn(resultScheduler)
-                            .subscribe { viewModels ->
-                                if (viewModels.isPresent) {
-                                    view.onNextDateLoaded(viewModels.get())
+                            .subscribe { nextEvents ->
+                                if (nextEvents.isPresent) {
+                                    view.onNextDateLoaded(nextEvents.get())
                                 } else {
                                     view.onNoEventsFound()
                                 }
@@ -42,6 +40,25 @@ class RecentPeopleEventsPresenter(private val eventsProvider: PeopleEventsProvid
         }
     }
 
+    /*
+     * The stored payload is used as long as it was worked out today and no newer calendar has been built since.
+     * Without a calendar of this process it can still be used, as it is discarded whenever no writer keeps it current.
+     * Otherwise the latest calendar is used if it starts today, and the events are only looked up as a last resort.
+     */
+    private fun findNextEvents(): NextEvents? {
+        val today = today()
+        val payload = payloadStore.read()
+        val latest = eventCalendar.latestSnapshot()
+        if (payload != null && payload.computedOn == today && (latest == null || latest.version == payload.version)) {
+            return payload.nextEvents
+        }
+        if (latest != null && latest.startDate == today) {
+            return NextEventsPayload.from(latest).nextEvents
+        }
+        val date = eventsProvider.findClosestEventDateOnOrAfter(today) ?: return null
+        return NextEvents(date, eventsProvider.fetchEventsOn(date).contacts)
+    }
+
     fun stopPresenting() {
         disposable?.dispose()
     }
@@ -1,9 +1,7 @@
 package com.alexstyl.specialdates.upcoming.widget.today
 
-import com.alexstyl.specialdates.events.peopleevents.ContactEventsOnADate
-
 interface RecentPeopleEventsView {
-    fun onNextDateLoaded(events: ContactEventsOnADate)
+    fun onNextDateLoaded(nextEvents: NextEvents)
     fun onNoEventsFound()
     fun askForContactPermission()
 }
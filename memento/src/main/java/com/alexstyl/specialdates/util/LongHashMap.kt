@@ -0,0 +1,169 @@
+package com.alexstyl.specialdates.util
+
+/*
+ * An open-addressing hash map keyed by primitive longs.
+ * Keys are never boxed, which keeps lookups by contact id cheap when joining large cursors against contacts.
+ */
+class LongHashMap<V : Any> @JvmOverloads constructor(expectedSize: Int = DEFAULT_EXPECTED_SIZE) {
+
+    private var keys: LongArray
+    private var values: Array<Any?>
+    private var mask: Int
+
+    var size: Int = 0
+        private set
+
+    init {
+        val capacity = capacityFor(expectedSize)
+        keys = LongArray(capacity)
+        values = arrayOfNulls(capacity)
+        mask = capacity - 1
+    }
+
+    val isEmpty: Boolean
+        get() = size == 0
+
+    operator fun get(key: Long): V? {
+        val slot = slotOf(key)
+        return if (slot == NOT_FOUND) null else valueAt(slot)
+    }
+
+    fun containsKey(key: Long): Boolean = slotOf(key) != NOT_FOUND
+
+    /**
+     * Associates the given value with the key, returning the value previously associated with it, if any.
+     */
+    fun put(key: Long, value: V): V? {
+        var index = indexFor(key)
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                val previous = valueAt(index)
+                values[index] = value
+                return previous
+            }
+            index = (index + 1) and mask
+        }
+        keys[index] = key
+        values[index] = value
+        size++
+        if (size > keys.size * MAX_LOAD_FACTOR_PERCENT / 100) {
+            resize(keys.size * 2)
+        }
+        return null
+    }
+
+    fun remove(key: Long): V? {
+        val slot = slotOf(key)
+        if (slot == NOT_FOUND) {
+            return null
+        }
+        val removed = valueAt(slot)
+        shiftEntriesBackInto(slot)
+        size--
+        return removed
+    }
+
+    fun clear() {
+        values.fill(null)
+        size = 0
+    }
+
+    fun forEach(action: (Long, V) -> Unit) {
+        for (i in values.indices) {
+            if (values[i] != null) {
+                action(keys[i], valueAt(i))
+            }
+        }
+    }
+
+    fun values(): List<V> {
+        val list = ArrayList<V>(size)
+        forEach { _, value -> list.add(value) }
+        return list
+    }
+
+    private fun slotOf(key: Long): Int {
+        var index = indexFor(key)
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index
+            }
+            index = (index + 1) and mask
+        }
+        return NOT_FOUND
+    }
+
+    /*
+     * Backward-shift deletion: moves any entries of the probe chain that follow the removed slot,
+     * so that lookups never need tombstones.
+     */
+    private fun shiftEntriesBackInto(removedSlot: Int) {
+        var gap = removedSlot
+        var index = (gap + 1) and mask
+        while (values[index] != null) {
+            val home = indexFor(keys[index])
+            if (isCyclicallyBetween(home, gap, index)) {
+                index = (index + 1) and mask
+                continue
+            }
+            keys[gap] = keys[index]
+            values[gap] = values[index]
+            gap = index
+            index = (index + 1) and mask
+        }
+        values[gap] = null
+    }
+
+    /*
+     * Whether the home slot lies cyclically within (gap, index], in which case the entry cannot move to gap.
+     */
+    private fun isCyclicallyBetween(home: Int, gap: Int, index: Int): Boolean {
+        return if (gap <= index) {
+            home in (gap + 1)..index
+        } else {
+            home > gap || home <= index
+        }
+    }
+
+    private fun resize(newCapacity: Int) {
+        val oldKeys = keys
+        val oldValues = values
+        keys = LongArray(newCapacity)
+        values = arrayOfNulls(newCapacity)
+        mask = newCapacity - 1
+        for (i in oldValues.indices) {
+            val value = oldValues[i] ?: continue
+            var index = indexFor(oldKeys[i])
+            while (values[index] != null) {
+                index = (index + 1) and mask
+            }
+            keys[index] = oldKeys[i]
+            values[index] = value
+        }
+    }
+
+    private fun indexFor(key: Long): Int {
+        val hash = (key xor (key ushr 32)) * GOLDEN_RATIO
+        return (hash xor (hash ushr 32)).toInt() and mask
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun valueAt(index: Int): V = values[index] as V
+
+    companion object {
+
+        private const val DEFAULT_EXPECTED_SIZE = 16
+        private const val MAX_LOAD_FACTOR_PERCENT = 70
+        private const val NOT_FOUND = -1
+        private const val GOLDEN_RATIO = -0x61c8864680b583ebL
+
+        private fun capacityFor(expectedSize: Int): Int {
+            val minimum = Math.max(expectedSize, 1) * 100 / MAX_LOAD_FACTOR_PERCENT + 1
+            var capacity = 2
+            while (capacity < minimum) {
+                capacity = capacity shl 1
+            }
+            return capacity
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.alexstyl.specialdates.wear
+
+/**
+ * The part of the wearable data layer that the phone syncs the upcoming events through.
+ */
+interface WearDataApi {
+
+    /**
+     * Replaces the events payload that the watch reads.
+     *
+     * @return whether the data layer accepted the payload
+     */
+    fun putEventsPayload(payload: ByteArray): Boolean
+}
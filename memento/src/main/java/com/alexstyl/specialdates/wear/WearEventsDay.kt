@@ -0,0 +1,5 @@
+package com.alexstyl.specialdates.wear
+
+import com.alexstyl.specialdates.date.Date
+
+data class WearEventsDay(val date: Date, val contactNames: List<String>)
@@ -0,0 +1,107 @@
+package com.alexstyl.specialdates.wear
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.peopleevents.ContactEventsOnADate
+import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+
+/**
+ * The events of the days that start on [startDate] that are synced to the watch. Only the days with events are kept,
+ * along with the first day with events after them, so that the watch always has an upcoming day to show.
+ *
+ * The payload is encoded into a few bytes per contact: each day is stored as its distance from the [startDate],
+ * followed by the names of its contacts.
+ */
+data class WearEventsPayload(val startDate: Date, val days: List<WearEventsDay>) {
+
+    /**
+     * Returns the first day with events on or after the given date, if the payload has one.
+     */
+    fun nextDayOnOrAfter(date: Date): WearEventsDay? = days.firstOrNull { it.date >= date }
+
+    fun encode(): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { output ->
+            output.writeByte(FORMAT_VERSION)
+            output.writeInt(startDate.year)
+            output.writeByte(startDate.month)
+            output.writeByte(startDate.dayOfMonth)
+            output.writeByte(days.size)
+            for (day in days) {
+                output.writeShort(startDate.daysUntil(day.date))
+                output.writeShort(day.contactNames.size)
+                day.contactNames.forEach { output.writeUTF(it) }
+            }
+        }
+        return bytes.toByteArray()
+    }
+
+    companion object {
+
+        const val DAYS = 14
+        private const val FORMAT_VERSION = 2
+        private const val MAX_DAYS_FROM_START = Short.MAX_VALUE.toInt()
+
+        /**
+         * Collects the events of the [DAYS] days that start on the given date with a single query,
+         * and the events of the first day with events after them, unless that day is too far away to be encoded.
+         */
+        fun from(startDate: Date, peopleEventsProvider: PeopleEventsProvider): WearEventsPayload {
+            val lastDate = startDate.addDay(DAYS - 1)
+            val events = peopleEventsProvider.fetchEventsBetween(TimePeriod.between(startDate, lastDate))
+            val days = (0 until DAYS)
+                    .map { startDate.addDay(it) }
+                    .mapNotNull { date ->
+                        val eventsOnDate = events.filter { it.date.month == date.month && it.date.dayOfMonth == date.dayOfMonth }
+                        if (eventsOnDate.isEmpty()) {
+                            null
+                        } else {
+                            dayOf(ContactEventsOnADate.createFrom(date, eventsOnDate))
+                        }
+                    }
+            val nextDate = peopleEventsProvider.findClosestEventDateOnOrAfter(lastDate.addDay(1))
+            return if (nextDate == null || startDate.daysUntil(nextDate) > MAX_DAYS_FROM_START) {
+                WearEventsPayload(startDate, days)
+            } else {
+                WearEventsPayload(startDate, days + dayOf(peopleEventsProvider.fetchEventsOn(nextDate)))
+            }
+        }
+
+        private fun dayOf(events: ContactEventsOnADate) =
+                WearEventsDay(events.date, events.contacts.map { it.displayName.toString() })
+
+        /**
+         * @throws IOException if the bytes are not a payload of the current format
+         */
+        @Throws(IOException::class)
+        fun decode(bytes: ByteArray): WearEventsPayload {
+            DataInputStream(ByteArrayInputStream(bytes)).use { input ->
+                val formatVersion = input.readByte().toInt()
+                if (formatVersion != FORMAT_VERSION) {
+                    throw IOException("Unsupported payload format $formatVersion")
+                }
+                val year = input.readInt()
+                val month = input.readByte().toInt()
+                val dayOfMonth = input.readByte().toInt()
+                val startDate = try {
+                    Date.on(dayOfMonth, month, year)
+                } catch (e: IllegalArgumentException) {
+                    throw IOException(e)
+                }
+                val dayCount = input.readByte().toInt()
+                val days = ArrayList<WearEventsDay>(dayCount)
+                for (i in 0 until dayCount) {
+                    val date = startDate.addDay(input.readShort().toInt())
+                    val nameCount = input.readShort().toInt()
+                    days.add(WearEventsDay(date, (0 until nameCount).map { input.readUTF() }))
+                }
+                return WearEventsPayload(startDate, days)
+            }
+        }
+    }
+}
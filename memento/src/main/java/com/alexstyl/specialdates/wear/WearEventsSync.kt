@@ -0,0 +1,37 @@
+package com.alexstyl.specialdates.wear
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.events.peopleevents.PeopleEventsProvider
+import java.util.zip.CRC32
+
+/**
+ * Syncs the events of the next [WearEventsPayload.DAYS] days, and of the first day with events after them,
+ * to the watch, only when they differ from the ones that were synced last.
+ */
+class WearEventsSync(private val peopleEventsProvider: PeopleEventsProvider,
+                     private val dataApi: WearDataApi,
+                     private val preferences: WearSyncPreferences,
+                     private val today: () -> Date = { Date.today() }) {
+
+    /**
+     * @return whether a new payload was handed over to the data layer
+     */
+    fun sync(): Boolean {
+        val payload = WearEventsPayload.from(today(), peopleEventsProvider).encode()
+        val hash = hashOf(payload)
+        if (hash == preferences.lastSyncedPayloadHash()) {
+            return false
+        }
+        if (!dataApi.putEventsPayload(payload)) {
+            return false
+        }
+        preferences.setLastSyncedPayloadHash(hash)
+        return true
+    }
+
+    private fun hashOf(payload: ByteArray): Long {
+        val crc = CRC32()
+        crc.update(payload)
+        return crc.value
+    }
+}
@@ -0,0 +1,11 @@
+package com.alexstyl.specialdates.wear
+
+interface WearSyncPreferences {
+
+    /**
+     * Returns the hash of the last payload that was synced to the watch, or null if none was synced yet.
+     */
+    fun lastSyncedPayloadHash(): Long?
+
+    fun setLastSyncedPayloadHash(hash: Long)
+}
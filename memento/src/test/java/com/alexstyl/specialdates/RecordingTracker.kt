@@ -0,0 +1,20 @@
+package com.alexstyl.specialdates
+
+import com.alexstyl.specialdates.events.namedays.NamedayLocale
+
+class RecordingTracker : CrashAndErrorTracker {
+
+    val tracked = ArrayList<Throwable>()
+
+    override fun track(e: Throwable) {
+        tracked.add(e)
+    }
+
+    override fun startTracking() = Unit
+
+    override fun onNamedayLocaleChanged(locale: NamedayLocale) = Unit
+
+    override fun updateLocaleUsed() = Unit
+
+    override fun log(message: String) = Unit
+}
@@ -3,6 +3,7 @@ package com.alexstyl.specialdates.addevent.ui
 import com.alexstyl.specialdates.addevent.ContactsSearch
 import com.alexstyl.specialdates.contact.ContactsProvider
 import com.alexstyl.specialdates.contact.ContactsProviderSource
+import com.alexstyl.specialdates.facebook.friendimport.SystemLogTracker
 import com.alexstyl.specialdates.search.NameMatcher
 import org.fest.assertions.api.Assertions.assertThat
 import org.junit.Before
@@ -21,7 +22,7 @@ class ContactsSearchTest {
 
     @Before
     fun setUp() {
-        contactsProvider = ContactsProvider(mapOf(Pair(1, mockSource)))
+        contactsProvider = ContactsProvider(mapOf(Pair(1, mockSource)), SystemLogTracker())
 
     }
 
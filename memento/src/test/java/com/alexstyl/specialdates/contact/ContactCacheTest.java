@@ -1,5 +1,9 @@
 package com.alexstyl.specialdates.contact;
 
+import com.alexstyl.specialdates.util.LongHashMap;
+
+import java.util.Arrays;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -40,4 +44,80 @@ public class ContactCacheTest {
 
     }
 
+    @Test
+    public void givenTheCacheIsFull_thenTheFirstAddedContactIsEvicted() {
+        ContactCache cache = new ContactCache(2);
+
+        cache.addContact(ContactFixture.with(1, "Alex"));
+        cache.addContact(ContactFixture.with(2, "Maria"));
+        cache.addContact(ContactFixture.with(3, "Mimoza"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getContact(1)).isNull();
+        assertThat(cache.getContact(3)).isEqualTo(ContactFixture.with(3, "Mimoza"));
+    }
+
+    @Test
+    public void givenTheCacheIsFull_thenTheLeastRecentlyUsedContactIsEvicted() {
+        ContactCache cache = new ContactCache(2);
+        cache.addContact(ContactFixture.with(1, "Alex"));
+        cache.addContact(ContactFixture.with(2, "Maria"));
+
+        cache.getContact(1);
+        cache.addContact(ContactFixture.with(3, "Mimoza"));
+
+        assertThat(cache.getContact(1)).isEqualTo(ContactFixture.with(1, "Alex"));
+        assertThat(cache.getContact(2)).isNull();
+    }
+
+    @Test
+    public void givenASizedCache_whenShrunk_thenTheRecentlyUsedContactsAreKept() {
+        ContactCache cache = new ContactCache(new ContactCacheSizing(256));
+        cache.resizeFor(5000);
+        for (int id = 0; id < 5000; id++) {
+            cache.addContact(ContactFixture.with(id, "Contact " + id));
+        }
+        cache.getContact(0);
+
+        cache.resizeFor(0);
+
+        assertThat(cache.getContact(0)).isEqualTo(ContactFixture.with(0, "Contact 0"));
+    }
+
+    @Test
+    public void hitsAndMissesAreCounted() {
+        contactCache.addContact(ContactFixture.with(1, "Alex"));
+
+        contactCache.getContact(1);
+        contactCache.getContact(2);
+        contactCache.getContact(3);
+
+        assertThat(contactCache.getHitCount()).isEqualTo(1);
+        assertThat(contactCache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getAllReturnsOnlyTheCachedContacts() {
+        contactCache.addContact(ContactFixture.with(1, "Alex"));
+        contactCache.addContact(ContactFixture.with(2, "Maria"));
+
+        LongHashMap<Contact> found = contactCache.getAll(Arrays.asList(1L, 3L));
+
+        assertThat(found.getSize()).isEqualTo(1);
+        assertThat(found.get(1L)).isEqualTo(ContactFixture.with(1, "Alex"));
+    }
+
+    @Test
+    public void givenASizedCache_whenResizedForFewerContacts_thenExtraContactsAreEvicted() {
+        ContactCache cache = new ContactCache(new ContactCacheSizing(256));
+        cache.resizeFor(10000);
+        for (int id = 0; id < 10000; id++) {
+            cache.addContact(ContactFixture.with(id, "Contact " + id));
+        }
+
+        cache.resizeFor(0);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(cache.getMaxSize());
+        assertThat(cache.getEvictionCount()).isGreaterThan(0);
+    }
 }
@@ -0,0 +1,33 @@
+package com.alexstyl.specialdates.contact
+
+import com.alexstyl.specialdates.facebook.friendimport.SystemLogTracker
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.BDDMockito.given
+import org.mockito.Mock
+import org.mockito.Mockito.verify
+import org.mockito.runners.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner::class)
+class ContactsProviderTest {
+
+    @Mock
+    private lateinit var deviceSource: ContactsProviderSource
+    @Mock
+    private lateinit var facebookSource: ContactsProviderSource
+
+    @Test
+    fun invalidatingTheContactsEvictsTheCachedContactsOfEverySource() {
+        given(deviceSource.allContacts).willReturn(Contacts(ContactSource.SOURCE_DEVICE, emptyList()))
+        given(facebookSource.allContacts).willReturn(Contacts(ContactSource.SOURCE_FACEBOOK, emptyList()))
+        val provider = ContactsProvider(mapOf(
+                Pair(ContactSource.SOURCE_DEVICE, deviceSource),
+                Pair(ContactSource.SOURCE_FACEBOOK, facebookSource)
+        ), SystemLogTracker())
+
+        provider.invalidateContacts()
+
+        verify(deviceSource).evictCachedContacts()
+        verify(facebookSource).evictCachedContacts()
+    }
+}
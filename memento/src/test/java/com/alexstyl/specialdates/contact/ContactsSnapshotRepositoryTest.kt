@@ -0,0 +1,122 @@
+package com.alexstyl.specialdates.contact
+
+import com.alexstyl.specialdates.RecordingTracker
+import io.reactivex.schedulers.TestScheduler
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.TimeUnit
+
+class ContactsSnapshotRepositoryTest {
+
+    private val scheduler = TestScheduler()
+    private var storedContacts = listOf(ContactFixture.with(1, "Alex Styl"))
+    private var loads = 0
+    private var failure: RuntimeException? = null
+    private val tracker = RecordingTracker()
+
+    private lateinit var repository: ContactsSnapshotRepository
+
+    @Before
+    fun setUp() {
+        repository = repositoryWithTimeToLive(TimeUnit.HOURS.toMillis(1))
+    }
+
+    @Test
+    fun repeatedReadsLoadTheContactsOnlyOnce() {
+        repository.current()
+        repository.current()
+        scheduler.triggerActions()
+
+        assertThat(repository.current().contacts).isEqualTo(storedContacts)
+        assertThat(loads).isEqualTo(1)
+    }
+
+    @Test
+    fun invalidatingReloadsTheContactsInTheBackground() {
+        val first = repository.current()
+        storedContacts = listOf(ContactFixture.with(2, "Maria Papadopoulou"))
+
+        repository.invalidate()
+        assertThat(repository.current()).isEqualTo(first)
+
+        scheduler.triggerActions()
+        val second = repository.current()
+        assertThat(second.contacts).isEqualTo(storedContacts)
+        assertThat(second.version).isGreaterThan(first.version)
+    }
+
+    @Test
+    fun expiredSnapshotsAreReloaded() {
+        repository.current()
+
+        scheduler.advanceTimeBy(2, TimeUnit.HOURS)
+        repository.current()
+        scheduler.triggerActions()
+
+        assertThat(loads).isEqualTo(2)
+    }
+
+    @Test
+    fun aFailedReloadKeepsThePreviousSnapshotAndIsTracked() {
+        val first = repository.current()
+        failure = SecurityException("The contacts permission was revoked")
+
+        repository.invalidate()
+        scheduler.triggerActions()
+
+        assertThat(repository.current()).isEqualTo(first)
+        assertThat(tracker.tracked).containsExactly(failure)
+    }
+
+    @Test
+    fun aReloadCanBeRequestedAgainAfterOneFailed() {
+        repository.current()
+        failure = SecurityException("The contacts permission was revoked")
+        repository.invalidate()
+        scheduler.triggerActions()
+
+        failure = null
+        storedContacts = listOf(ContactFixture.with(2, "Maria Papadopoulou"))
+        repository.invalidate()
+        scheduler.triggerActions()
+
+        assertThat(repository.current().contacts).isEqualTo(storedContacts)
+    }
+
+    @Test
+    fun aRefreshRequestedWhileReloadingIsNotLost() {
+        var requestWhileLoading = false
+        repository = ContactsSnapshotRepository({
+            loads++
+            if (requestWhileLoading) {
+                requestWhileLoading = false
+                repository.invalidate()
+            }
+            storedContacts
+        }, TimeUnit.HOURS.toMillis(1), scheduler, tracker)
+        repository.current()
+        requestWhileLoading = true
+
+        repository.invalidate()
+        scheduler.triggerActions()
+
+        assertThat(loads).isEqualTo(3)
+    }
+
+    @Test
+    fun withoutATimeToLiveEveryReadLoadsTheLatestContacts() {
+        repository = repositoryWithTimeToLive(0)
+        repository.current()
+        storedContacts = listOf(ContactFixture.with(2, "Maria Papadopoulou"))
+
+        assertThat(repository.current().contacts).isEqualTo(storedContacts)
+        assertThat(loads).isEqualTo(2)
+    }
+
+    private fun repositoryWithTimeToLive(timeToLiveMillis: Long) = ContactsSnapshotRepository({
+        loads++
+        failure?.let { throw it }
+        storedContacts
+    }, timeToLiveMillis, scheduler, tracker)
+}
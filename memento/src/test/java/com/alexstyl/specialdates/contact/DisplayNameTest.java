@@ -90,6 +90,22 @@ public class DisplayNameTest {
         assertThat(nameRaw).isEqualTo(toString);
     }
 
+    @Test
+    public void givenSymbolsAroundTheLastName_thenFirstNamesStopAtTheLastSpace() {
+        DisplayName displayName = DisplayName.Companion.from("Άννα-Μαρία (Πέτρου)");
+
+        assertThat(asList(displayName.getFirstNames())).containsExactly("Άννα", "Μαρία");
+        assertThat(displayName.getLastName()).isEqualTo("(Πέτρου)");
+    }
+
+    @Test
+    public void sameDisplayNameIsParsedOnlyOnce() {
+        DisplayName first = DisplayName.Companion.from("Alex Styl");
+        DisplayName second = DisplayName.Companion.from(new String("Alex Styl"));
+
+        assertThat(second).isSameAs(first);
+    }
+
     private static List<String> asList(Names names) {
         List<String> namesList = new ArrayList<>();
         for (String name : names) {
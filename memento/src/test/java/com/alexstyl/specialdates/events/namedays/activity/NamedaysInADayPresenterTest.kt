@@ -10,6 +10,7 @@ import com.alexstyl.specialdates.date.Months.JANUARY
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
 import com.alexstyl.specialdates.events.namedays.NamesInADate
 import com.alexstyl.specialdates.events.namedays.calendar.NamedayCalendar
+import com.alexstyl.specialdates.facebook.friendimport.SystemLogTracker
 import com.alexstyl.specialdates.ui.widget.LetterPainter
 import io.reactivex.schedulers.Schedulers
 import org.junit.Before
@@ -42,7 +43,7 @@ class NamedaysInADayPresenterTest {
         presenter = NamedaysInADayPresenter(
                 mockNamedayCalendar,
                 NamedaysViewModelFactory(mockLetterPainter),
-                ContactsProvider(mapOf(Pair(0, mockSource))), mockUserSettings, workScheduler, resultScheduler)
+                ContactsProvider(mapOf(Pair(0, mockSource)), SystemLogTracker()), mockUserSettings, workScheduler, resultScheduler)
         given(mockLetterPainter.getVariant(Mockito.anyInt())).willReturn(LETTER_VARIANT)
         given(mockSource.allContacts).willReturnNoContact()
     }
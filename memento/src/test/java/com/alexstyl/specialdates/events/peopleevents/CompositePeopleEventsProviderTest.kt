@@ -110,6 +110,19 @@ class CompositePeopleEventsProviderTest {
 
         assertThat(peopleEventsProvider.findClosestEventDateOnOrAfter(date)).isEqualTo(Date.on(6, JANUARY, 2018))
     }
+
+    @Test
+    fun findNextEventDatesMergesTheDatesOfAllProviders() {
+        val date = Date.on(20, DECEMBER, 2018)
+
+        given(mockDeviceEvents.findNextEventDates(date, 3))
+                .willReturn(listOf(Date.on(24, DECEMBER, 2018), Date.on(2, JANUARY, 2019), Date.on(5, JANUARY, 2019)))
+        given(mockPeopleDynamicNamedaysProvider.findNextEventDates(date, 3))
+                .willReturn(listOf(Date.on(2, JANUARY, 2019), Date.on(3, JANUARY, 2019)))
+
+        assertThat(peopleEventsProvider.findNextEventDates(date, 3))
+                .containsExactly(Date.on(24, DECEMBER, 2018), Date.on(2, JANUARY, 2019), Date.on(3, JANUARY, 2019))
+    }
 }
 
 
@@ -0,0 +1,49 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import java.util.Random
+
+class ContactEventTableMemoryTest {
+
+    @Test
+    fun aTableTakesLessThanHalfTheHeapOfTheListOfItsEvents() {
+        val random = Random(EVENT_COUNT.toLong())
+        val contacts = (0 until CONTACT_COUNT).map { ContactFixture.with(it.toLong(), "Contact $it") }
+        val rawEvents = (0 until EVENT_COUNT).map { intArrayOf(random.nextInt(CONTACT_COUNT), random.nextInt(12) + 1, random.nextInt(28) + 1) }
+
+        // the contacts are shared by both and are not counted
+        val before = usedMemory()
+        val list = ArrayList<ContactEvent>(EVENT_COUNT)
+        for ((index, event) in rawEvents.withIndex()) {
+            list.add(ContactEvent(Optional(index.toLong()), TYPES[index % TYPES.size], Date.on(event[2], event[1], 1990), contacts[event[0]]))
+        }
+        val listBytes = usedMemory() - before
+
+        val table = ContactEventTable.from(list)
+        val tableBytes = usedMemory() - before - listBytes
+
+        assertThat(table.size).isEqualTo(list.size)
+        assertThat(tableBytes * 2).isLessThan(listBytes)
+    }
+
+    private fun usedMemory(): Long {
+        val runtime = Runtime.getRuntime()
+        for (i in 0 until 5) {
+            System.gc()
+            Thread.sleep(50)
+        }
+        return runtime.totalMemory() - runtime.freeMemory()
+    }
+
+    companion object {
+
+        private const val EVENT_COUNT = 50000
+        private const val CONTACT_COUNT = 10000
+        private val TYPES = arrayOf(StandardEventType.BIRTHDAY, StandardEventType.NAMEDAY, StandardEventType.ANNIVERSARY)
+    }
+}
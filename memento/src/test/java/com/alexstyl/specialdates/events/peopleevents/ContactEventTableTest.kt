@@ -0,0 +1,71 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.DECEMBER
+import com.alexstyl.specialdates.date.Months.FEBRUARY
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class ContactEventTableTest {
+
+    private val birthday = ContactEvent(Optional(42L), StandardEventType.BIRTHDAY, Date.on(3, MARCH, 1990), ALEX)
+    private val nameday = ContactEvent(Optional.absent(), StandardEventType.NAMEDAY, Date.on(1, JANUARY), MARIA)
+    private val custom = ContactEvent(Optional(7L), CustomEventType("Graduation"), Date.on(24, DECEMBER, 2010), MARIA)
+
+    @Test
+    fun eventsReadBackAsTheyWereStored() {
+        val table = ContactEventTable.from(listOf(birthday, nameday, custom))
+
+        assertThat(table.eventsOn(Date.on(3, MARCH, 2019))).containsExactly(birthday)
+        assertThat(table.eventsOn(Date.on(1, JANUARY, 2019))).containsExactly(nameday)
+        assertThat(table.eventsOn(Date.on(24, DECEMBER, 2019))).containsExactly(custom)
+    }
+
+    @Test
+    fun eventsAreSortedByDayOfTheYear() {
+        val table = ContactEventTable.from(listOf(custom, birthday, nameday))
+
+        assertThat(table.eventsBetween(Date.on(1, JANUARY, 2019), Date.on(31, DECEMBER, 2019)))
+                .containsExactly(nameday, birthday, custom)
+    }
+
+    @Test
+    fun eventsOfTheSameDayKeepTheirOrder() {
+        val events = TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(29, FEBRUARY, 1992))
+                .addNamedayFor(MARIA, Date.on(29, FEBRUARY))
+                .build()
+
+        val table = ContactEventTable.from(events)
+
+        assertThat(table.eventsOn(Date.on(29, FEBRUARY, 2020))).isEqualTo(events)
+    }
+
+    @Test
+    fun slicesCarryOnIntoTheNextYear() {
+        val table = ContactEventTable.from(listOf(birthday, nameday, custom))
+
+        val slice = table.eventsBetween(Date.on(20, DECEMBER, 2019), Date.on(3, MARCH, 2020))
+
+        assertThat(slice).containsExactly(custom, nameday, birthday)
+    }
+
+    @Test
+    fun tablesOfTheSameEventsHaveTheSameEvents() {
+        val events = listOf(birthday, nameday)
+
+        assertThat(ContactEventTable.from(events).hasSameEventsAs(ContactEventTable.from(events))).isTrue()
+        assertThat(ContactEventTable.from(events).hasSameEventsAs(ContactEventTable.from(listOf(birthday)))).isFalse()
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.aContactCalled("Alex Styl")
+        private val MARIA = ContactFixture.aContactCalled("Maria Papadopoulou")
+    }
+}
@@ -0,0 +1,144 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import io.reactivex.schedulers.TestScheduler
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+
+class EventCalendarRepositoryTest {
+
+    private val scheduler = TestScheduler()
+    private val provider = InMemoryPeopleEventsProvider(
+            TestContactEventsBuilder().addBirthdayFor(ALEX, Date.on(3, MARCH, 1990)).build()
+    )
+    private var today = Date.on(1, JANUARY, 2019)
+    private var failure: Throwable? = null
+
+    private lateinit var repository: EventCalendarRepository
+
+    @Before
+    fun setUp() {
+        repository = EventCalendarRepository(provider, scheduler, {
+            failure?.let { throw it }
+            today
+        })
+    }
+
+    @Test
+    fun subscribingBuildsTheFirstCalendar() {
+        val observer = repository.snapshots().test()
+        scheduler.triggerActions()
+
+        observer.assertValueCount(1)
+        assertThat(observer.values()[0].eventsOn(Date.on(3, MARCH, 2019))).isEqualTo(provider.events)
+    }
+
+    @Test
+    fun noCalendarIsReturnedUntilItIsBuilt() {
+        assertThat(repository.currentSnapshot()).isNull()
+
+        scheduler.triggerActions()
+
+        assertThat(repository.currentSnapshot()!!.startDate).isEqualTo(today)
+    }
+
+    @Test
+    fun readsDoNotQueryTheProviderAgain() {
+        repository.currentSnapshot()
+        scheduler.triggerActions()
+        val queries = provider.queries
+
+        repository.currentSnapshot()
+        repository.currentSnapshot()
+        scheduler.triggerActions()
+
+        assertThat(provider.queries).isEqualTo(queries)
+    }
+
+    @Test
+    fun invalidatingWithChangedEventsEmitsANewerVersion() {
+        val observer = repository.snapshots().test()
+        scheduler.triggerActions()
+
+        provider.events = TestContactEventsBuilder().addBirthdayFor(ALEX, Date.on(4, MARCH, 1990)).build()
+        repository.invalidate()
+        assertThat(repository.currentSnapshot()).isNull()
+        scheduler.triggerActions()
+
+        observer.assertValueCount(2)
+        assertThat(observer.values()[1].version).isGreaterThan(observer.values()[0].version)
+        assertThat(repository.currentSnapshot()).isSameAs(observer.values()[1])
+    }
+
+    @Test
+    fun invalidatingWithoutChangesKeepsTheSameCalendar() {
+        val observer = repository.snapshots().test()
+        scheduler.triggerActions()
+
+        repository.invalidate()
+        scheduler.triggerActions()
+
+        observer.assertValueCount(1)
+        assertThat(repository.currentSnapshot()).isSameAs(observer.values()[0])
+    }
+
+    @Test
+    fun aNewDayBuildsACalendarThatStartsOnIt() {
+        repository.currentSnapshot()
+        scheduler.triggerActions()
+
+        today = Date.on(2, JANUARY, 2019)
+        assertThat(repository.currentSnapshot()).isNull()
+        scheduler.triggerActions()
+
+        assertThat(repository.currentSnapshot()!!.startDate).isEqualTo(today)
+    }
+
+    @Test
+    fun anErrorWhileBuildingDoesNotStopLaterBuilds() {
+        failure = StackOverflowError()
+        repository.invalidate()
+        try {
+            scheduler.triggerActions()
+        } catch (e: StackOverflowError) {
+            // the error reaches the scheduler
+        }
+
+        failure = null
+        assertThat(repository.currentSnapshot()).isNull()
+        scheduler.triggerActions()
+
+        assertThat(repository.currentSnapshot()!!.startDate).isEqualTo(today)
+    }
+
+    @Test
+    fun theCallbackOfAnInvalidationRunsOnceTheCalendarContainsIt() {
+        var built: EventCalendarSnapshot? = null
+        repository.invalidate { built = repository.currentSnapshot() }
+        assertThat(built).isNull()
+
+        scheduler.triggerActions()
+
+        assertThat(built!!.startDate).isEqualTo(today)
+    }
+
+    @Test
+    fun theCallbackOfAnInvalidationRunsEvenIfBuildingFailed() {
+        failure = IllegalStateException()
+        var calls = 0
+        repository.invalidate { calls++ }
+
+        scheduler.triggerActions()
+
+        assertThat(calls).isEqualTo(1)
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.aContactCalled("Alex Styl")
+    }
+}
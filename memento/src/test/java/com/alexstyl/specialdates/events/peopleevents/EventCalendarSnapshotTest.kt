@@ -0,0 +1,71 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.DECEMBER
+import com.alexstyl.specialdates.date.Months.FEBRUARY
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import com.alexstyl.specialdates.date.TimePeriod
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class EventCalendarSnapshotTest {
+
+    private val events = TestContactEventsBuilder()
+            .addBirthdayFor(ALEX, Date.on(1, JANUARY, 1990))
+            .addNamedayFor(MARIA, Date.on(3, MARCH))
+            .addAnniversaryFor(MARIA, Date.on(24, DECEMBER, 2010))
+            .build()
+    private val provider = InMemoryPeopleEventsProvider(events)
+
+    @Test
+    fun eventsAreLookedUpByDay() {
+        val snapshot = EventCalendarSnapshot.build(1, Date.on(2, JANUARY, 2019), provider)
+
+        assertThat(snapshot.eventsOn(Date.on(3, MARCH, 2019))).containsExactly(events[1])
+        assertThat(snapshot.eventsOn(Date.on(4, MARCH, 2019))).isEmpty()
+    }
+
+    @Test
+    fun eventsBetweenCarryOnIntoTheNextYear() {
+        val snapshot = EventCalendarSnapshot.build(1, Date.on(2, JANUARY, 2019), provider)
+
+        val eventsBetween = snapshot.eventsBetween(TimePeriod.between(Date.on(20, DECEMBER, 2019), Date.on(1, JANUARY, 2020)))
+
+        assertThat(eventsBetween).containsExactly(events[2], events[0])
+    }
+
+    @Test
+    fun theLastDayIsKeptApartFromTheFirstOneOnYearsWithoutTheTwentyNinthOfFebruary() {
+        val snapshot = EventCalendarSnapshot.build(1, Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(snapshot.lastDate).isEqualTo(Date.on(1, JANUARY, 2020))
+        assertThat(snapshot.eventsOn(Date.on(1, JANUARY, 2019))).containsExactly(events[0])
+        assertThat(snapshot.eventsOn(Date.on(1, JANUARY, 2020))).containsExactly(events[0])
+        assertThat(snapshot.eventsBetween(TimePeriod.between(snapshot.startDate, snapshot.lastDate))).hasSize(4)
+    }
+
+    @Test
+    fun coversOnlyTheDaysOfTheCalendar() {
+        val snapshot = EventCalendarSnapshot.build(1, Date.on(1, MARCH, 2019), provider)
+
+        assertThat(snapshot.covers(Date.on(29, FEBRUARY, 2020))).isTrue()
+        assertThat(snapshot.covers(Date.on(1, MARCH, 2020))).isFalse()
+        assertThat(snapshot.covers(Date.on(28, FEBRUARY, 2019))).isFalse()
+    }
+
+    @Test
+    fun findsTheNextEventDatesWithinTheCalendar() {
+        val snapshot = EventCalendarSnapshot.build(1, Date.on(2, JANUARY, 2019), provider)
+
+        assertThat(snapshot.eventDatesOnOrAfter(Date.on(4, MARCH, 2019), 5))
+                .containsExactly(Date.on(24, DECEMBER, 2019), Date.on(1, JANUARY, 2020))
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.aContactCalled("Alex Styl")
+        private val MARIA = ContactFixture.aContactCalled("Maria Papadopoulou")
+    }
+}
@@ -0,0 +1,50 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
+
+/**
+ * Returns annual events by their month and day of month, the way the events database does.
+ */
+class InMemoryPeopleEventsProvider(var events: List<ContactEvent>) : PeopleEventsProvider {
+
+    var queries = 0
+        private set
+
+    override fun fetchEventsOn(date: Date): ContactEventsOnADate =
+            ContactEventsOnADate.createFrom(date, fetchEventsBetween(TimePeriod.between(date, date)))
+
+    override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> {
+        queries++
+        val from = monthDayOf(timePeriod.startingDate)
+        val to = monthDayOf(timePeriod.endingDate)
+        return events.filter {
+            val monthDay = monthDayOf(it.date)
+            if (timePeriod.startingDate.year == timePeriod.endingDate.year) {
+                monthDay in from..to
+            } else {
+                monthDay >= from || monthDay <= to
+            }
+        }
+    }
+
+    override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> = Flowable.defer {
+        Flowable.fromIterable(fetchEventsBetween(timePeriod).sortedWith(AnnualDayOrder(timePeriod.startingDate)))
+    }
+
+    override fun fetchEventsFor(contact: Contact): List<ContactEvent> = events.filter { it.contact == contact }
+
+    override fun findClosestEventDateOnOrAfter(date: Date): Date? = findNextEventDates(date, 1).firstOrNull()
+
+    override fun findNextEventDates(from: Date, count: Int): List<Date> =
+            NextEventDates.collect(from, count) { start, limit ->
+                val days = EventDaysOfYear(start.year)
+                events.forEach { days.add(it.date) }
+                days.datesOnOrAfter(start, limit)
+            }
+
+    private fun monthDayOf(date: Date) = date.month * 100 + date.dayOfMonth
+}
@@ -0,0 +1,53 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.DECEMBER
+import com.alexstyl.specialdates.date.Months.FEBRUARY
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class NextEventDatesTest {
+
+    @Test
+    fun collectsTheDatesOfTheSameYearFirst() {
+        val dates = NextEventDates.collect(Date.on(1, JANUARY, 2018), 2, eventsOn(Date.on(3, MARCH), Date.on(24, DECEMBER)))
+
+        assertThat(dates).containsExactly(Date.on(3, MARCH, 2018), Date.on(24, DECEMBER, 2018))
+    }
+
+    @Test
+    fun carriesOnIntoTheNextYearAfterTheLastEventOfTheYear() {
+        val dates = NextEventDates.collect(Date.on(25, DECEMBER, 2018), 3, eventsOn(Date.on(3, MARCH), Date.on(24, DECEMBER)))
+
+        assertThat(dates).containsExactly(Date.on(3, MARCH, 2019), Date.on(24, DECEMBER, 2019), Date.on(3, MARCH, 2020))
+    }
+
+    @Test
+    fun includesTheDateItStartsFrom() {
+        val dates = NextEventDates.collect(Date.on(24, DECEMBER, 2018), 1, eventsOn(Date.on(24, DECEMBER)))
+
+        assertThat(dates).containsExactly(Date.on(24, DECEMBER, 2018))
+    }
+
+    @Test
+    fun skipsTheTwentyNinthOfFebruaryOnNonLeapYears() {
+        val dates = NextEventDates.collect(Date.on(1, MARCH, 2016), 1, eventsOn(Date.on(29, FEBRUARY)))
+
+        assertThat(dates).containsExactly(Date.on(29, FEBRUARY, 2020))
+    }
+
+    @Test
+    fun returnsNoDatesWhenThereAreNoEvents() {
+        val dates = NextEventDates.collect(Date.on(1, JANUARY, 2018), 5, eventsOn())
+
+        assertThat(dates).isEmpty()
+    }
+
+    private fun eventsOn(vararg days: Date): (Date, Int) -> List<Date> = { start, limit ->
+        val eventDays = EventDaysOfYear(start.year)
+        days.forEach { eventDays.add(it) }
+        eventDays.datesOnOrAfter(start, limit)
+    }
+}
@@ -0,0 +1,49 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import io.reactivex.Flowable
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class OrderedMergeTest {
+
+    private val byNumber = Comparator<Pair<Int, String>> { one, other -> one.first - other.first }
+
+    @Test
+    fun mergesOrderedStreamsInOrder() {
+        val merged = OrderedMerge.of(listOf(Flowable.just(1, 4, 7), Flowable.just(2, 3, 9), Flowable.just(5)), naturalOrder())
+
+        assertThat(merged.toList().blockingGet()).containsExactly(1, 2, 3, 4, 5, 7, 9)
+    }
+
+    @Test
+    fun equalElementsKeepTheOrderOfTheirSources() {
+        val merged = OrderedMerge.of(listOf(
+                Flowable.just(1 to "first", 2 to "first"),
+                Flowable.just(1 to "second", 2 to "second")
+        ), byNumber)
+
+        assertThat(merged.toList().blockingGet())
+                .containsExactly(1 to "first", 1 to "second", 2 to "first", 2 to "second")
+    }
+
+    @Test
+    fun sourcesAreNotReadFurtherThanNeeded() {
+        val emitted = AtomicInteger()
+        val source = Flowable.range(1, 10000).doOnNext { emitted.incrementAndGet() }
+
+        val firstElements = OrderedMerge.of(listOf(source, Flowable.empty()), naturalOrder()).take(5).toList().blockingGet()
+
+        assertThat(firstElements).containsExactly(1, 2, 3, 4, 5)
+        assertThat(emitted.get()).isLessThan(100)
+    }
+
+    @Test
+    fun errorsOfASourceAreEmitted() {
+        val failing = Flowable.error<Int>(IllegalStateException("No events"))
+
+        OrderedMerge.of(listOf(Flowable.just(1), failing), naturalOrder())
+                .test()
+                .assertError(IllegalStateException::class.java)
+    }
+}
@@ -0,0 +1,192 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.Contact
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.*
+import com.alexstyl.specialdates.date.TimePeriod
+import io.reactivex.Flowable
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.util.Random
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ParallelCompositePeopleEventsProviderTest {
+
+    private lateinit var executor: ExecutorService
+
+    @Before
+    fun setUp() {
+        executor = Executors.newFixedThreadPool(2)
+    }
+
+    @After
+    fun tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun eventsBetweenAreTheSameAsTheSequentialOnesOrderedByDay() {
+        val providers = listOf(
+                InMemoryPeopleEventsProvider(randomEvents(seed = 1, count = 300)),
+                InMemoryPeopleEventsProvider(randomEvents(seed = 2, count = 300)),
+                InMemoryPeopleEventsProvider(randomEvents(seed = 3, count = 300))
+        )
+        val sequential = CompositePeopleEventsProvider(providers)
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+        val timePeriod = TimePeriod.between(Date.on(1, OCTOBER, 2017), Date.on(31, MARCH, 2018))
+
+        val events = parallel.fetchEventsBetween(timePeriod)
+
+        assertThat(events).isEqualTo(sequential.fetchEventsBetween(timePeriod).sortedBy { dayOf(it, timePeriod) })
+    }
+
+    @Test
+    fun eventsOfTheSameDayKeepTheOrderOfTheProviders() {
+        val date = Date.on(5, MAY, 2017)
+        val namedays = TestContactEventsBuilder().addNamedayFor(PETER, date).build()
+        val birthdays = TestContactEventsBuilder().addBirthdayFor(ALEX, date).build()
+        val parallel = ParallelCompositePeopleEventsProvider(
+                listOf(InMemoryPeopleEventsProvider(namedays), InMemoryPeopleEventsProvider(birthdays)),
+                executor
+        )
+
+        val events = parallel.fetchEventsBetween(TimePeriod.between(Date.on(1, MAY, 2017), Date.on(31, MAY, 2017)))
+
+        assertThat(events).isEqualTo(namedays + birthdays)
+    }
+
+    @Test
+    fun eventsOnADateAreTheSameAsTheSequentialOnes() {
+        val providers = listOf(
+                InMemoryPeopleEventsProvider(randomEvents(seed = 4, count = 1000)),
+                InMemoryPeopleEventsProvider(randomEvents(seed = 5, count = 1000))
+        )
+        val sequential = CompositePeopleEventsProvider(providers)
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+        val date = Date.on(14, FEBRUARY, 2018)
+
+        assertThat(parallel.fetchEventsOn(date).events).isEqualTo(sequential.fetchEventsOn(date).events)
+    }
+
+    @Test
+    fun nextEventDatesAreTheSameAsTheSequentialOnes() {
+        val providers = listOf(
+                InMemoryPeopleEventsProvider(randomEvents(seed = 6, count = 20)),
+                InMemoryPeopleEventsProvider(randomEvents(seed = 7, count = 20))
+        )
+        val sequential = CompositePeopleEventsProvider(providers)
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+        val from = Date.on(20, NOVEMBER, 2017)
+
+        assertThat(parallel.findNextEventDates(from, 10)).isEqualTo(sequential.findNextEventDates(from, 10))
+        assertThat(parallel.findClosestEventDateOnOrAfter(from)).isEqualTo(sequential.findClosestEventDateOnOrAfter(from))
+    }
+
+    @Test
+    fun streamedEventsAreTheSameAsTheFetchedOnes() {
+        val providers = listOf(
+                InMemoryPeopleEventsProvider(randomEvents(seed = 10, count = 300)),
+                InMemoryPeopleEventsProvider(randomEvents(seed = 11, count = 300))
+        )
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+        val timePeriod = TimePeriod.between(Date.on(15, AUGUST, 2017), Date.on(14, AUGUST, 2018))
+
+        val streamedEvents = parallel.streamEventsBetween(timePeriod).toList().blockingGet()
+
+        assertThat(streamedEvents).isEqualTo(parallel.fetchEventsBetween(timePeriod))
+        assertThat(streamedEvents).isEqualTo(CompositePeopleEventsProvider(providers).streamEventsBetween(timePeriod).toList().blockingGet())
+    }
+
+    @Test
+    fun providersAreAskedAtTheSameTime() {
+        val allAsked = CountDownLatch(2)
+        val providers = listOf(
+                RendezvousPeopleEventsProvider(InMemoryPeopleEventsProvider(randomEvents(seed = 8, count = 100)), allAsked),
+                RendezvousPeopleEventsProvider(InMemoryPeopleEventsProvider(randomEvents(seed = 9, count = 100)), allAsked)
+        )
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+
+        parallel.fetchEventsBetween(TimePeriod.between(Date.on(1, JANUARY, 2017), Date.on(31, DECEMBER, 2017)))
+
+        assertThat(providers.map { it.metTheOthers }).containsOnly(true)
+    }
+
+    @Test
+    fun providersAreStreamedAtTheSameTime() {
+        val allAsked = CountDownLatch(2)
+        val providers = listOf(
+                RendezvousPeopleEventsProvider(InMemoryPeopleEventsProvider(randomEvents(seed = 12, count = 100)), allAsked),
+                RendezvousPeopleEventsProvider(InMemoryPeopleEventsProvider(randomEvents(seed = 13, count = 100)), allAsked)
+        )
+        val parallel = ParallelCompositePeopleEventsProvider(providers, executor)
+
+        parallel.streamEventsBetween(TimePeriod.between(Date.on(1, JANUARY, 2017), Date.on(31, DECEMBER, 2017))).blockingSubscribe()
+
+        assertThat(providers.map { it.metTheOthers }).containsOnly(true)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun failuresOfAProviderAreThrownToTheCaller() {
+        val failing = object : PeopleEventsProvider by InMemoryPeopleEventsProvider(emptyList()) {
+            override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> =
+                    throw IllegalStateException("No events")
+        }
+        val parallel = ParallelCompositePeopleEventsProvider(
+                listOf(InMemoryPeopleEventsProvider(emptyList()), failing),
+                executor
+        )
+
+        parallel.fetchEventsBetween(TimePeriod.between(Date.on(1, JANUARY, 2017), Date.on(31, JANUARY, 2017)))
+    }
+
+    private fun randomEvents(seed: Long, count: Int): List<ContactEvent> {
+        val random = Random(seed)
+        val builder = TestContactEventsBuilder()
+        for (i in 0 until count) {
+            val contact = ContactFixture.with(seed * 10000 + i, "Contact $i")
+            val date = Date.on(random.nextInt(28) + 1, random.nextInt(12) + 1, 1990 + random.nextInt(20))
+            builder.addBirthdayFor(contact, date)
+        }
+        return builder.build()
+    }
+
+    private fun dayOf(event: ContactEvent, timePeriod: TimePeriod): Int {
+        val slot = { date: Date -> (date.month - 1) * 31 + date.dayOfMonth - 1 }
+        return (slot(event.date) - slot(timePeriod.startingDate) + 12 * 31) % (12 * 31)
+    }
+
+    /*
+     * Waits for every other provider to be asked before returning, which only happens in time if they are asked at once
+     */
+    private class RendezvousPeopleEventsProvider(private val provider: PeopleEventsProvider,
+                                                 private val allAsked: CountDownLatch) : PeopleEventsProvider by provider {
+
+        @Volatile var metTheOthers = false
+
+        override fun fetchEventsBetween(timePeriod: TimePeriod): List<ContactEvent> {
+            allAsked.countDown()
+            metTheOthers = allAsked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            return provider.fetchEventsBetween(timePeriod)
+        }
+
+        override fun streamEventsBetween(timePeriod: TimePeriod): Flowable<ContactEvent> =
+                Flowable.defer { Flowable.fromIterable(fetchEventsBetween(timePeriod)) }
+
+        companion object {
+            const val TIMEOUT_SECONDS = 5L
+        }
+    }
+
+    companion object {
+        private val PETER: Contact = ContactFixture.aContactCalled("Peter")
+        private val ALEX: Contact = ContactFixture.with(2, "Alex")
+    }
+}
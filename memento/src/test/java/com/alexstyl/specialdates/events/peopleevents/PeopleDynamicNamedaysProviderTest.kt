@@ -5,12 +5,14 @@ import com.alexstyl.specialdates.contact.ContactFixture
 import com.alexstyl.specialdates.contact.Contacts
 import com.alexstyl.specialdates.contact.ContactsProvider
 import com.alexstyl.specialdates.contact.ContactsProviderSource
+import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.TimePeriod
 import com.alexstyl.specialdates.events.namedays.NamedayLocale
 import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
 import com.alexstyl.specialdates.events.namedays.calendar.OrthodoxEasterCalculator
 import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider
 import com.alexstyl.specialdates.events.namedays.calendar.resource.TestNamedayCalendarBuilder
+import com.alexstyl.specialdates.facebook.friendimport.SystemLogTracker
 import org.fest.assertions.api.Assertions.assertThat
 import org.junit.Before
 import org.junit.Test
@@ -18,6 +20,8 @@ import org.junit.runner.RunWith
 import org.mockito.BDDMockito.given
 import org.mockito.Matchers.any
 import org.mockito.Mock
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
 import org.mockito.runners.MockitoJUnitRunner
 
 @RunWith(MockitoJUnitRunner::class)
@@ -43,7 +47,7 @@ class PeopleDynamicNamedaysProviderTest {
         given(mockSettings.selectedLanguage).willReturn(LOCALE)
         given(mockSettings.isEnabled).willReturn(true)
         calculator = PeopleDynamicNamedaysProvider(mockSettings, namedayCalendarProvider,
-                ContactsProvider(mapOf(Pair(1, mockSource)))
+                ContactsProvider(mapOf(Pair(1, mockSource)), SystemLogTracker())
         )
 
     }
@@ -61,6 +65,44 @@ class PeopleDynamicNamedaysProviderTest {
         assertThat(contactEvents[0].contact).isEqualTo(EASTER_CELEBRATING_CONTACT)
     }
 
+    @Test
+    fun findingTheNextEventDatesAfterTheLastEventOfTheYearCarriesOnIntoTheNextYear() {
+        given(namedayCalendarProvider.loadNamedayCalendarForLocale(LOCALE, YEAR + 1)).willReturn(
+                TestNamedayCalendarBuilder()
+                        .forLocale(LOCALE)
+                        .forYear(YEAR + 1)
+                        .build()
+        )
+        given(mockSource.allContacts).willReturn(Contacts(1, listOf(EASTER_CELEBRATING_CONTACT)))
+        val easterOfNextYear = OrthodoxEasterCalculator().calculateEasterForYear(YEAR + 1)
+
+        val dates = calculator.findNextEventDates(Date.endOfYear(YEAR), 1)
+
+        assertThat(dates).containsExactly(easterOfNextYear)
+    }
+
+    @Test
+    fun findingTheNextEventDatesAcrossTheEndOfTheYearAgainDoesNotReloadEitherYear() {
+        given(mockSource.allContacts).willReturn(Contacts(1, listOf(EASTER_CELEBRATING_CONTACT)))
+        val calculator = PeopleDynamicNamedaysProvider(mockSettings, namedayCalendarProvider,
+                ContactsProvider(mapOf(Pair(1, mockSource)), SystemLogTracker(), snapshotTimeToLiveMillis = Long.MAX_VALUE)
+        )
+
+        calculator.findNextEventDates(Date.endOfYear(YEAR), 1)
+        calculator.findNextEventDates(Date.endOfYear(YEAR), 1)
+
+        verify(namedayCalendarProvider, times(1)).loadNamedayCalendarForLocale(LOCALE, YEAR)
+        verify(namedayCalendarProvider, times(1)).loadNamedayCalendarForLocale(LOCALE, YEAR + 1)
+    }
+
+    @Test
+    fun findingTheNextEventDatesWhenNamedaysAreDisabledReturnsNoDates() {
+        given(mockSettings.isEnabled).willReturn(false)
+        given(mockSource.allContacts).willReturn(Contacts(1, listOf(EASTER_CELEBRATING_CONTACT)))
+
+        assertThat(calculator.findNextEventDates(Date.startOfYear(YEAR), 1)).isEmpty()
+    }
+
     private fun createSomeContacts(): MutableList<Contact> = arrayListOf(
             ContactFixture.aContactCalled("Αβδηρος"),
             ContactFixture.aContactCalled("Αγις")
@@ -0,0 +1,122 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import io.reactivex.schedulers.TestScheduler
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class PeopleEventsRefreshCoordinatorTest {
+
+    private val scheduler = TestScheduler()
+    private var firstStepRuns = 0
+    private var lastStepRuns = 0
+
+    @Test
+    fun requestsMadeBeforeTheRunStartsAreMergedIntoOne() {
+        val coordinator = coordinatorWith({ firstStepRuns++ }, { lastStepRuns++ })
+
+        val first = coordinator.refresh().test()
+        val second = coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        first.assertComplete()
+        second.assertComplete()
+        assertThat(lastStepRuns).isEqualTo(1)
+        assertThat(coordinator.requestCount).isEqualTo(2)
+        assertThat(coordinator.completedRunCount).isEqualTo(1)
+    }
+
+    @Test
+    fun aNewerRequestCancelsTheRunningOneAndStartsAnother() {
+        lateinit var coordinator: PeopleEventsRefreshCoordinator
+        coordinator = coordinatorWith({
+            firstStepRuns++
+            if (firstStepRuns == 1) {
+                coordinator.refresh().subscribe()
+            }
+        }, { lastStepRuns++ })
+
+        val observer = coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        observer.assertComplete()
+        assertThat(firstStepRuns).isEqualTo(2)
+        assertThat(lastStepRuns).isEqualTo(1)
+        assertThat(coordinator.cancelledRunCount).isEqualTo(1)
+        assertThat(coordinator.completedRunCount).isEqualTo(1)
+    }
+
+    @Test
+    fun failuresAreReportedToTheRequestersOfTheFailedRun() {
+        val failure = IllegalStateException("failed")
+        val coordinator = coordinatorWith({ throw failure })
+
+        val observer = coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        observer.assertError(failure)
+        assertThat(coordinator.failedRunCount).isEqualTo(1)
+    }
+
+    @Test
+    fun requestsAfterARunThatThrewAnErrorStartANewRun() {
+        val coordinator = coordinatorWith({
+            firstStepRuns++
+            if (firstStepRuns == 1) {
+                throw StackOverflowError()
+            }
+        }, { lastStepRuns++ })
+
+        coordinator.refresh().test()
+        try {
+            scheduler.triggerActions()
+        } catch (e: StackOverflowError) {
+            // the error is let through to the scheduler
+        }
+        val observer = coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        observer.assertComplete()
+        assertThat(lastStepRuns).isEqualTo(1)
+    }
+
+    @Test
+    fun requestsAfterACompletedRunStartANewRun() {
+        val coordinator = coordinatorWith({ lastStepRuns++ })
+
+        coordinator.refresh().test()
+        scheduler.triggerActions()
+        coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        assertThat(lastStepRuns).isEqualTo(2)
+    }
+
+    @Test
+    fun aStepThatStopsOnceCancelledEndsItsRun() {
+        lateinit var coordinator: PeopleEventsRefreshCoordinator
+        var storedRuns = 0
+        coordinator = PeopleEventsRefreshCoordinator(listOf<RefreshStep>(
+                { isCancelled ->
+                    firstStepRuns++
+                    if (firstStepRuns == 1) {
+                        coordinator.refresh().subscribe()
+                    }
+                    if (!isCancelled()) {
+                        storedRuns++
+                    }
+                },
+                { _ -> lastStepRuns++ }
+        ), scheduler)
+
+        val observer = coordinator.refresh().test()
+        scheduler.triggerActions()
+
+        observer.assertComplete()
+        assertThat(storedRuns).isEqualTo(1)
+        assertThat(lastStepRuns).isEqualTo(1)
+        assertThat(coordinator.cancelledRunCount).isEqualTo(1)
+    }
+
+    private fun coordinatorWith(vararg steps: () -> Unit) =
+            PeopleEventsRefreshCoordinator(steps.map { step -> { _: () -> Boolean -> step() } }, scheduler)
+}
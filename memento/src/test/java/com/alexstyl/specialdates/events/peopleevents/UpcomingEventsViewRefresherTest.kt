@@ -0,0 +1,60 @@
+package com.alexstyl.specialdates.events.peopleevents
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.UpcomingEventsView
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import io.reactivex.schedulers.TestScheduler
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class UpcomingEventsViewRefresherTest {
+
+    private val scheduler = TestScheduler()
+    private val provider = InMemoryPeopleEventsProvider(
+            TestContactEventsBuilder().addBirthdayFor(ContactFixture.aContactCalled("Alex Styl"), Date.on(3, MARCH, 1990)).build()
+    )
+    private val today = Date.on(1, JANUARY, 2019)
+    private val eventCalendar = EventCalendarRepository(provider, scheduler, { today })
+    private val view = CalendarReadingView(eventCalendar)
+    private val refresher = UpcomingEventsViewRefresher(mutableSetOf<UpcomingEventsView>(view), eventCalendar)
+
+    @Test
+    fun viewsAreNotReloadedWhileTheCalendarIsBeingBuilt() {
+        refresher.refreshViews()
+
+        assertThat(view.reloadedSnapshots).isEmpty()
+    }
+
+    @Test
+    fun viewsAreReloadedWithTheNewCalendar() {
+        refresher.refreshViews()
+        scheduler.triggerActions()
+
+        assertThat(view.reloadedSnapshots).hasSize(1)
+        assertThat(view.reloadedSnapshots[0]).isNotNull()
+    }
+
+    @Test
+    fun viewsAreReloadedEvenIfTheEventsDidNotChange() {
+        refresher.refreshViews()
+        scheduler.triggerActions()
+
+        refresher.refreshViews()
+        scheduler.triggerActions()
+
+        assertThat(view.reloadedSnapshots).hasSize(2)
+        assertThat(view.reloadedSnapshots[1]).isSameAs(view.reloadedSnapshots[0])
+    }
+
+    private class CalendarReadingView(private val eventCalendar: EventCalendarRepository) : UpcomingEventsView {
+
+        val reloadedSnapshots = ArrayList<EventCalendarSnapshot?>()
+
+        override fun reloadUpcomingEventsView() {
+            reloadedSnapshots.add(eventCalendar.currentSnapshot())
+        }
+    }
+}
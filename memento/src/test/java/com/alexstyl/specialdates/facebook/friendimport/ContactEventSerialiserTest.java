@@ -0,0 +1,143 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import com.alexstyl.specialdates.contact.Contact;
+import com.alexstyl.specialdates.contact.DisplayName;
+import com.alexstyl.specialdates.date.ContactEvent;
+import com.alexstyl.specialdates.date.Date;
+import com.alexstyl.specialdates.date.DateParser;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import static com.alexstyl.specialdates.date.Months.DECEMBER;
+import static com.alexstyl.specialdates.date.Months.JUNE;
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class ContactEventSerialiserTest {
+
+    private final ContactEventSerialiser serialiser = new ContactEventSerialiser(
+            new FacebookContactFactory(new DateParser(new SystemLogTracker())),
+            new SystemLogTracker()
+    );
+
+    @Test
+    public void aBirthdayIsReadFromItsEvent() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addFriend(1358181263, "Alexandros Stylianidis", DECEMBER, 19)
+                .build());
+
+        assertThat(events).hasSize(1);
+        ContactEvent event = events.get(0);
+        assertThat(event.getDate()).isEqualTo(Date.Companion.on(19, DECEMBER));
+        assertThat(event.getContact().getContactID()).isEqualTo(1358181263);
+        assertThat(event.getContact().getDisplayName()).isEqualTo(DisplayName.Companion.from("Alexandros Stylianidis"));
+    }
+
+    @Test
+    public void theContactIsReadFromTheUidAndSummaryOfItsEvent() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addEvent("20180612", "Thanasis Thomopoulos's birthday", "b123124@facebook.com")
+                .build());
+
+        Contact contact = events.get(0).getContact();
+        assertThat(contact.getDisplayName()).isEqualTo(DisplayName.Companion.from("Thanasis Thomopoulos"));
+        assertThat(contact.getContactID()).isEqualTo(123124);
+    }
+
+    @Test
+    public void foldedSummariesAreReadInFull() throws IOException {
+        String name = "Alexandros Stylianidis Papadopoulos Konstantinopoulos Georgiadis";
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addFriend(1, name, JUNE, 12)
+                .build());
+
+        assertThat(events.get(0).getContact().getDisplayName()).isEqualTo(DisplayName.Companion.from(name));
+    }
+
+    @Test
+    public void escapedSummariesAreUnescaped() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addEvent("20170612", "Smith\\, John's birthday", "b1@facebook.com")
+                .build());
+
+        assertThat(events.get(0).getContact().getDisplayName()).isEqualTo(DisplayName.Companion.from("Smith, John"));
+    }
+
+    @Test
+    public void datesWithParametersOrTimesAreRead() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addRawLines("BEGIN:VEVENT\r\nDTSTART;VALUE=DATE:20170612\r\nSUMMARY:Alex's birthday\r\nUID:b1@facebook.com\r\nEND:VEVENT\r\n")
+                .addEvent("20171219T000000Z", "Maria's birthday", "b2@facebook.com")
+                .build());
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getDate()).isEqualTo(Date.Companion.on(12, JUNE));
+        assertThat(events.get(1).getDate()).isEqualTo(Date.Companion.on(19, DECEMBER));
+    }
+
+    @Test
+    public void datesOfOtherFormatsAreParsed() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addEvent("2017-06-12", "Alex's birthday", "b1@facebook.com")
+                .build());
+
+        assertThat(events.get(0).getDate()).isEqualTo(Date.Companion.on(12, JUNE));
+    }
+
+    @Test
+    public void invalidEventsAreSkipped() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addEvent("20171332", "Alex's birthday", "b1@facebook.com")
+                .addEvent("20170612", "Not a birthday", "b2@facebook.com")
+                .addEvent("20170612", "Maria's birthday", "not a facebook uid")
+                .addRawLines("BEGIN:VEVENT\r\nSUMMARY:Peter's birthday\r\nUID:b4@facebook.com\r\nEND:VEVENT\r\n")
+                .addFriend(5, "John", JUNE, 12)
+                .build());
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getContact().getContactID()).isEqualTo(5);
+    }
+
+    @Test
+    public void propertiesOfNestedComponentsAreIgnored() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addRawLines("BEGIN:VEVENT\r\nDTSTART:20170612\r\nSUMMARY:Alex's birthday\r\n"
+                                     + "BEGIN:VALARM\r\nDTSTART:20171219\r\nSUMMARY:Reminder\r\nEND:VALARM\r\n"
+                                     + "UID:b1@facebook.com\r\nEND:VEVENT\r\n")
+                .build());
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getDate()).isEqualTo(Date.Companion.on(12, JUNE));
+        assertThat(events.get(0).getContact().getDisplayName()).isEqualTo(DisplayName.Companion.from("Alex"));
+    }
+
+    @Test
+    public void thousandsOfFriendsAreRead() throws IOException {
+        List<ContactEvent> events = serialiser.createEventsFrom(new FacebookCalendarFixture()
+                .addFriends(5000)
+                .build());
+
+        assertThat(events).hasSize(5000);
+        ContactEvent last = events.get(4999);
+        assertThat(last.getContact().getContactID()).isEqualTo(5000);
+        assertThat(last.getContact().getDisplayName().toString())
+                .isEqualTo("Friend number 5000 with a name that is long enough to be folded");
+        assertThat(last.getDate()).isEqualTo(Date.Companion.on(5000 % 28 + 1, 5000 % 12 + 1));
+    }
+
+    @Test
+    public void eventsArePassedOnAsTheyAreRead() throws IOException {
+        final int[] count = {0};
+        serialiser.readEventsFrom(new FacebookCalendarFixture().addFriends(3).build(), new ContactEventSerialiser.Callback() {
+            @Override
+            public void onEventRead(ContactEvent event) {
+                count[0]++;
+                assertThat(event.getContact().getContactID()).isEqualTo(count[0]);
+            }
+        });
+
+        assertThat(count[0]).isEqualTo(3);
+    }
+}
@@ -0,0 +1,68 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Creates birthday calendars the way Facebook exports them, with as many friends as needed.
+ * Summaries that are longer than 75 octets are folded.
+ */
+final class FacebookCalendarFixture {
+
+    private static final int MAX_LINE_LENGTH = 75;
+
+    private final StringBuilder calendar = new StringBuilder();
+
+    FacebookCalendarFixture() {
+        calendar.append("BEGIN:VCALENDAR\r\n")
+                .append("PRODID:-//Facebook//NONSGML Facebook Events V1.0//EN\r\n")
+                .append("X-WR-CALNAME:Friends' Birthdays\r\n")
+                .append("VERSION:2.0\r\n")
+                .append("CALSCALE:GREGORIAN\r\n")
+                .append("METHOD:PUBLISH\r\n");
+    }
+
+    FacebookCalendarFixture addFriend(long uid, String name, int month, int dayOfMonth) {
+        return addEvent(
+                String.format(Locale.US, "2017%02d%02d", month, dayOfMonth),
+                name + "'s birthday",
+                "b" + uid + "@facebook.com"
+        );
+    }
+
+    FacebookCalendarFixture addFriends(int count) {
+        for (int i = 1; i <= count; i++) {
+            addFriend(i, "Friend number " + i + " with a name that is long enough to be folded", i % 12 + 1, i % 28 + 1);
+        }
+        return this;
+    }
+
+    FacebookCalendarFixture addEvent(String dtStart, String summary, String uid) {
+        calendar.append("BEGIN:VEVENT\r\n")
+                .append("DTSTART:").append(dtStart).append("\r\n");
+        appendFolded("SUMMARY:" + summary);
+        calendar.append("RRULE:FREQ=YEARLY\r\n")
+                .append("DURATION:P1D\r\n")
+                .append("UID:").append(uid).append("\r\n")
+                .append("END:VEVENT\r\n");
+        return this;
+    }
+
+    FacebookCalendarFixture addRawLines(String lines) {
+        calendar.append(lines);
+        return this;
+    }
+
+    InputStream build() {
+        return new ByteArrayInputStream(calendar.append("END:VCALENDAR\r\n").toString().getBytes(Charset.forName("UTF-8")));
+    }
+
+    private void appendFolded(String line) {
+        calendar.append(line, 0, Math.min(line.length(), MAX_LINE_LENGTH)).append("\r\n");
+        for (int start = MAX_LINE_LENGTH; start < line.length(); start += MAX_LINE_LENGTH - 1) {
+            calendar.append(' ').append(line, start, Math.min(line.length(), start + MAX_LINE_LENGTH - 1)).append("\r\n");
+        }
+    }
+}
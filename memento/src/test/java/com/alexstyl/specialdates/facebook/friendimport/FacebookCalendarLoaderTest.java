@@ -0,0 +1,183 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import com.alexstyl.specialdates.date.DateParser;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class FacebookCalendarLoaderTest {
+
+    private static final int FRIENDS = 500;
+    private static final String ETAG = "\"calendar-v1\"";
+    private static final String LAST_MODIFIED = "Thu, 19 Oct 2017 10:00:00 GMT";
+
+    private final FacebookBirthdaysProvider provider = new FacebookBirthdaysProvider(
+            new FacebookCalendarLoader(),
+            new ContactEventSerialiser(new FacebookContactFactory(new DateParser(new SystemLogTracker())), new SystemLogTracker())
+    );
+
+    private CalendarServerStandIn server;
+    private URL calendarUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new CalendarServerStandIn(bytesOf(new FacebookCalendarFixture().addFriends(FRIENDS).build()));
+        calendarUrl = server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void theCalendarIsRequestedAndReceivedCompressed() throws CalendarFetcherException {
+        FetchedCalendar calendar = provider.fetchCalendarIfModifiedFrom(calendarUrl, CalendarValidators.NONE);
+
+        assertThat(server.lastRequestHeaders.getFirst("Accept-Encoding")).contains("gzip");
+        assertThat(calendar.getEvents()).hasSize(FRIENDS);
+        assertThat(server.bytesSent).isGreaterThan(0);
+        assertThat(server.bytesSent).isLessThan(server.calendar.length / 4);
+    }
+
+    @Test
+    public void theValidatorsOfTheResponseAreReturned() throws CalendarFetcherException {
+        FetchedCalendar calendar = provider.fetchCalendarIfModifiedFrom(calendarUrl, CalendarValidators.NONE);
+
+        assertThat(calendar.getValidators()).isEqualTo(new CalendarValidators(calendarUrl.toString(), ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    public void noValidatorsAreSentTheFirstTime() throws CalendarFetcherException {
+        provider.fetchCalendarIfModifiedFrom(calendarUrl, CalendarValidators.NONE);
+
+        assertThat(server.lastRequestHeaders.containsKey("If-None-Match")).isFalse();
+        assertThat(server.lastRequestHeaders.containsKey("If-Modified-Since")).isFalse();
+    }
+
+    @Test
+    public void anUnchangedCalendarIsNeitherDownloadedNorParsed() throws CalendarFetcherException {
+        CalendarValidators validators = provider.fetchCalendarIfModifiedFrom(calendarUrl, CalendarValidators.NONE).getValidators();
+
+        FetchedCalendar calendar = provider.fetchCalendarIfModifiedFrom(calendarUrl, validators);
+
+        assertThat(server.lastRequestHeaders.getFirst("If-None-Match")).isEqualTo(ETAG);
+        assertThat(server.lastRequestHeaders.getFirst("If-Modified-Since")).isEqualTo(LAST_MODIFIED);
+        assertThat(calendar.isModified()).isFalse();
+        assertThat(server.bytesSent).isEqualTo(0);
+    }
+
+    @Test
+    public void aChangedCalendarIsDownloadedAgain() throws CalendarFetcherException {
+        CalendarValidators outdated = new CalendarValidators(calendarUrl.toString(), "\"calendar-v0\"", null);
+
+        FetchedCalendar calendar = provider.fetchCalendarIfModifiedFrom(calendarUrl, outdated);
+
+        assertThat(calendar.isModified()).isTrue();
+        assertThat(calendar.getEvents()).hasSize(FRIENDS);
+    }
+
+    @Test
+    public void theValidatorsOfAnotherCalendarAreNotSent() throws CalendarFetcherException {
+        CalendarValidators ofAnotherUser = new CalendarValidators("https://www.facebook.com/ical/b.php?uid=1", ETAG, LAST_MODIFIED);
+
+        FetchedCalendar calendar = provider.fetchCalendarIfModifiedFrom(calendarUrl, ofAnotherUser);
+
+        assertThat(server.lastRequestHeaders.containsKey("If-None-Match")).isFalse();
+        assertThat(calendar.getEvents()).hasSize(FRIENDS);
+    }
+
+    @Test(expected = CalendarFetcherException.class)
+    public void anErrorResponseIsReported() throws Exception {
+        provider.fetchCalendarIfModifiedFrom(new URL(calendarUrl, "/missing.ics"), CalendarValidators.NONE);
+    }
+
+    private static byte[] bytesOf(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serves the calendar the way Facebook does, compressing it when asked to and answering conditional requests.
+     */
+    private static class CalendarServerStandIn implements HttpHandler {
+
+        private final byte[] calendar;
+        private HttpServer server;
+        private Headers lastRequestHeaders;
+        private int bytesSent;
+
+        CalendarServerStandIn(byte[] calendar) {
+            this.calendar = calendar;
+        }
+
+        URL start() throws IOException {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/ical/b.php", this);
+            server.start();
+            return new URL("http", "127.0.0.1", server.getAddress().getPort(), "/ical/b.php?uid=100&key=abc");
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            lastRequestHeaders = exchange.getRequestHeaders();
+            bytesSent = 0;
+            if (!"/ical/b.php".equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            if (ETAG.equals(lastRequestHeaders.getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = calendar;
+            String acceptEncoding = lastRequestHeaders.getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzipped(calendar);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream responseBody = exchange.getResponseBody();
+            responseBody.write(body);
+            responseBody.close();
+            bytesSent = body.length;
+        }
+
+        private static byte[] gzipped(byte[] bytes) throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+            gzip.write(bytes);
+            gzip.close();
+            return compressed.toByteArray();
+        }
+    }
+}
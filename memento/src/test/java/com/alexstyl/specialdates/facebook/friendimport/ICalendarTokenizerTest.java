@@ -0,0 +1,104 @@
+package com.alexstyl.specialdates.facebook.friendimport;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class ICalendarTokenizerTest {
+
+    @Test
+    public void propertiesAreReadInOrder() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("BEGIN:VEVENT\r\nUID:b1@facebook.com\r\nEND:VEVENT\r\n");
+
+        assertThat(tokenizer.nextProperty()).isTrue();
+        assertThat(tokenizer.isProperty("BEGIN")).isTrue();
+        assertThat(tokenizer.valueIs("VEVENT")).isTrue();
+        assertThat(tokenizer.nextProperty()).isTrue();
+        assertThat(tokenizer.isProperty("UID")).isTrue();
+        assertThat(tokenizer.value()).isEqualTo("b1@facebook.com");
+        assertThat(tokenizer.nextProperty()).isTrue();
+        assertThat(tokenizer.isProperty("END")).isTrue();
+        assertThat(tokenizer.nextProperty()).isFalse();
+    }
+
+    @Test
+    public void namesAndValuesAreComparedRegardlessOfCase() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("begin:vevent");
+
+        tokenizer.nextProperty();
+
+        assertThat(tokenizer.isProperty("BEGIN")).isTrue();
+        assertThat(tokenizer.isProperty("BEGINS")).isFalse();
+        assertThat(tokenizer.valueIs("VEVENT")).isTrue();
+    }
+
+    @Test
+    public void foldedLinesAreJoined() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("SUMMARY:Alexandros Sty\r\n lianidis's bi\r\n\trthday\r\nUID:b1@facebook.com\r\n");
+
+        tokenizer.nextProperty();
+
+        assertThat(tokenizer.value()).isEqualTo("Alexandros Stylianidis's birthday");
+        assertThat(tokenizer.nextProperty()).isTrue();
+        assertThat(tokenizer.value()).isEqualTo("b1@facebook.com");
+    }
+
+    @Test
+    public void linesThatEndWithoutCarriageReturnAreRead() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("DTSTART:20171219\nSUMMARY:Alex's birth\n day");
+
+        tokenizer.nextProperty();
+        assertThat(tokenizer.value()).isEqualTo("20171219");
+        tokenizer.nextProperty();
+        assertThat(tokenizer.value()).isEqualTo("Alex's birthday");
+        assertThat(tokenizer.nextProperty()).isFalse();
+    }
+
+    @Test
+    public void emptyAndMalformedLinesAreSkipped() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("\r\nnot a property\r\n:no name\r\nUID:b1@facebook.com\r\n");
+
+        assertThat(tokenizer.nextProperty()).isTrue();
+        assertThat(tokenizer.isProperty("UID")).isTrue();
+    }
+
+    @Test
+    public void parametersAreSkippedUpToTheValue() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("DTSTART;VALUE=DATE;X-NOTE=\"at: home; late\":20171219");
+
+        tokenizer.nextProperty();
+
+        assertThat(tokenizer.isProperty("DTSTART")).isTrue();
+        assertThat(tokenizer.value()).isEqualTo("20171219");
+    }
+
+    @Test
+    public void escapedTextIsUnescaped() throws IOException {
+        ICalendarTokenizer tokenizer = tokenizerOf("SUMMARY:Smith\\, John\\; Jr.\\nline\\\\");
+
+        tokenizer.nextProperty();
+
+        assertThat(tokenizer.textValue()).isEqualTo("Smith, John; Jr.\nline\\");
+    }
+
+    @Test
+    public void linesLongerThanTheBufferAreRead() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            name.append('a');
+        }
+        ICalendarTokenizer tokenizer = tokenizerOf("SUMMARY:" + name + "\r\nUID:b1@facebook.com\r\n");
+
+        tokenizer.nextProperty();
+
+        assertThat(tokenizer.value()).isEqualTo(name.toString());
+        assertThat(tokenizer.nextProperty()).isTrue();
+    }
+
+    private static ICalendarTokenizer tokenizerOf(String calendar) {
+        return new ICalendarTokenizer(new StringReader(calendar));
+    }
+}
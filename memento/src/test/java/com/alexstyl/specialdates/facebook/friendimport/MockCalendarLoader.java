@@ -4,15 +4,14 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
 
 class MockCalendarLoader implements CalendarLoader {
 
     @Override
-    public InputStream loadFrom(URL url) throws IOException {
+    public CalendarResponse loadFrom(URL url, CalendarValidators validators) throws IOException {
         FileInputStream stream = new FileInputStream(pathToMock());
-        return new BufferedInputStream(stream);
+        return CalendarResponse.modified(new BufferedInputStream(stream), CalendarValidators.NONE);
     }
 
     private static String pathToMock() {
@@ -0,0 +1,78 @@
+package com.alexstyl.specialdates.upcoming
+
+import com.alexstyl.TestColors
+import com.alexstyl.specialdates.JavaStrings
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.APRIL
+import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.bankholidays.BankHolidayProvider
+import com.alexstyl.specialdates.events.bankholidays.BankHolidaysUserSettings
+import com.alexstyl.specialdates.events.bankholidays.GreekBankHolidaysCalculator
+import com.alexstyl.specialdates.events.namedays.calendar.OrthodoxEasterCalculator
+import com.alexstyl.specialdates.events.namedays.NamedayUserSettings
+import com.alexstyl.specialdates.events.namedays.calendar.resource.NamedayCalendarProvider
+import com.alexstyl.specialdates.events.peopleevents.InMemoryPeopleEventsProvider
+import com.alexstyl.specialdates.events.peopleevents.StandardEventType
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.Mockito
+
+class CompositeUpcomingEventsProviderTest {
+
+    private val startingDate = Date.on(1, APRIL, 2017)
+    private val period = TimePeriod.aYearFrom(startingDate)
+
+    @Test
+    fun theRowsOfTheDaysBeforeTheLastOfTheFirstEventsAreEmittedFirst() {
+        val provider = providerOf(birthdaysOnTheFirstDaysOfApril(25))
+
+        val emissions = provider.streamEventsBetween(period).toList().blockingGet()
+
+        assertThat(emissions).hasSize(2)
+        assertThat(emissions[0]).isEqualTo(provider.calculateEventsBetween(TimePeriod.between(startingDate, Date.on(19, APRIL, 2017))))
+        assertThat(emissions[1]).isEqualTo(provider.calculateEventsBetween(period))
+    }
+
+    @Test
+    fun givenTooFewEventsToFillTheFirstRows_thenOnlyTheRowsOfTheWholePeriodAreEmitted() {
+        val provider = providerOf(birthdaysOnTheFirstDaysOfApril(10))
+
+        val emissions = provider.streamEventsBetween(period).toList().blockingGet()
+
+        assertThat(emissions).containsExactly(provider.calculateEventsBetween(period))
+    }
+
+    @Test
+    fun givenTheFirstEventsAllFallOnTheFirstDay_thenOnlyTheRowsOfTheWholePeriodAreEmitted() {
+        val events = (1..25L).map { birthdayOn(startingDate, it) }
+        val provider = providerOf(events)
+
+        val emissions = provider.streamEventsBetween(period).toList().blockingGet()
+
+        assertThat(emissions).containsExactly(provider.calculateEventsBetween(period))
+    }
+
+    private fun providerOf(events: List<ContactEvent>): CompositeUpcomingEventsProvider {
+        val colors = TestColors()
+        val namedaySettings = Mockito.mock(NamedayUserSettings::class.java)
+        return CompositeUpcomingEventsProvider(
+                InMemoryPeopleEventsProvider(events),
+                namedaySettings,
+                Mockito.mock(NamedayCalendarProvider::class.java),
+                object : BankHolidaysUserSettings {
+                    override val isEnabled = false
+                },
+                BankHolidayProvider(GreekBankHolidaysCalculator(OrthodoxEasterCalculator())),
+                UpcomingEventRowViewModelFactory(startingDate, colors, DateStringCreator(), ContactViewModelFactory(colors, JavaStrings()))
+        )
+    }
+
+    private fun birthdaysOnTheFirstDaysOfApril(count: Int): List<ContactEvent> =
+            (1..count).map { birthdayOn(Date.on(it, APRIL, 1990), it.toLong()) }
+
+    private fun birthdayOn(date: Date, contactId: Long) =
+            ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, date, ContactFixture.with(contactId, "Contact $contactId"))
+}
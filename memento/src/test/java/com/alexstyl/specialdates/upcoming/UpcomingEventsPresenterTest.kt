@@ -1,10 +1,17 @@
 package com.alexstyl.specialdates.upcoming
 
+import com.alexstyl.TestColors
+import com.alexstyl.specialdates.JavaStrings
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
 import com.alexstyl.specialdates.date.Date
 import com.alexstyl.specialdates.date.Months
 import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.peopleevents.StandardEventType
 import com.alexstyl.specialdates.events.peopleevents.UpcomingEventsSettings
 import com.alexstyl.specialdates.permissions.MementoPermissions
+import io.reactivex.Flowable
 import io.reactivex.schedulers.Schedulers
 import org.junit.Before
 import org.junit.Test
@@ -65,7 +72,7 @@ class UpcomingEventsPresenterTest {
     fun whenStartPresentingWithPermission_showEventsAfterDoneLoading() {
         val theDate = Date.on(1, Months.MARCH, 2017)
         val expectedEvents = arrayListOf<UpcomingRowViewModel>()
-        given(mockProvider.calculateEventsBetween(TimePeriod.aYearFrom(theDate))).willReturn(expectedEvents)
+        given(mockProvider.streamEventsBetween(TimePeriod.aYearFrom(theDate))).willReturn(Flowable.just(expectedEvents))
 
         upcomingEventsPresenter.startPresentingInto(mockView)
 
@@ -76,17 +83,75 @@ class UpcomingEventsPresenterTest {
     @Test
     fun givenEventsWereUpdated_whenAskedToUpdate_thenNewEventsArePushedToTheView() {
         val initialEvents = arrayListOf<UpcomingRowViewModel>()
-        given(mockProvider.calculateEventsBetween(TimePeriod.aYearFrom(STARTING_DATE))).willReturn(initialEvents)
+        given(mockProvider.streamEventsBetween(TimePeriod.aYearFrom(STARTING_DATE))).willReturn(Flowable.just(initialEvents))
 
         upcomingEventsPresenter.startPresentingInto(mockView)
 
         val updatedEvents = arrayListOf<UpcomingRowViewModel>(DateHeaderViewModel("February 2017", 2))
-        given(mockProvider.calculateEventsBetween(TimePeriod.aYearFrom(STARTING_DATE))).willReturn(updatedEvents)
+        given(mockProvider.streamEventsBetween(TimePeriod.aYearFrom(STARTING_DATE))).willReturn(Flowable.just(updatedEvents))
         upcomingEventsPresenter.refreshEvents()
 
         Mockito.verify(mockView, Times(1)).display(initialEvents)
         Mockito.verify(mockView, Times(1)).display(updatedEvents)
     }
-}
 
+    @Test
+    fun givenTheFirstDaysLoadBeforeTheRest_thenTheyAreDisplayedFirst() {
+        val firstRows = arrayListOf<UpcomingRowViewModel>(DateHeaderViewModel("April 2017", 1))
+        val allRows = arrayListOf<UpcomingRowViewModel>(DateHeaderViewModel("April 2017", 1), DateHeaderViewModel("May 2017", 2))
+        given(mockProvider.streamEventsBetween(TimePeriod.aYearFrom(STARTING_DATE))).willReturn(Flowable.just(firstRows, allRows))
+
+        upcomingEventsPresenter.startPresentingInto(mockView)
+
+        val inOrder = Mockito.inOrder(mockView)
+        inOrder.verify(mockView).display(firstRows)
+        inOrder.verify(mockView).display(allRows)
+    }
+
+    @Test
+    fun givenTheRowsCanBeDiffed_thenOnlyTheirChangesAreDisplayed() {
+        val colors = TestColors()
+        val factory = UpcomingEventRowViewModelFactory(STARTING_DATE, colors, DateStringCreator(), ContactViewModelFactory(colors, JavaStrings()))
+        val period = TimePeriod.aYearFrom(STARTING_DATE)
+        val peter = ContactFixture.with(1, "Peter")
+        val firstRows = UpcomingRowViewModelsBuilder(period, factory)
+                .withContactEvents(listOf(ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, Date.on(2, Months.MAY, 1990), peter)))
+                .build()
+        val allRows = UpcomingRowViewModelsBuilder(period, factory)
+                .withContactEvents(listOf(
+                        ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, Date.on(2, Months.MAY, 1990), peter),
+                        ContactEvent(Optional.absent(), StandardEventType.NAMEDAY, Date.on(9, Months.JUNE, 2017), peter)
+                ))
+                .build()
+        given(mockProvider.streamEventsBetween(period)).willReturn(Flowable.just(firstRows, allRows))
+
+        upcomingEventsPresenter.startPresentingInto(mockView)
 
+        Mockito.verify(mockView).display(firstRows)
+        Mockito.verify(mockView).display(allRows, listOf(UpcomingRowsChange(UpcomingRowsChange.Type.INSERTED, 2, 2)))
+    }
+
+    @Test
+    fun givenRowsAreDisplayed_whenRefreshed_thenOnlyTheRowsOfTheWholePeriodAreDiffed() {
+        val colors = TestColors()
+        val factory = UpcomingEventRowViewModelFactory(STARTING_DATE, colors, DateStringCreator(), ContactViewModelFactory(colors, JavaStrings()))
+        val period = TimePeriod.aYearFrom(STARTING_DATE)
+        val peter = ContactFixture.with(1, "Peter")
+        val firstRows = UpcomingRowViewModelsBuilder(period, factory)
+                .withContactEvents(listOf(ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, Date.on(2, Months.MAY, 1990), peter)))
+                .build()
+        val allRows = UpcomingRowViewModelsBuilder(period, factory)
+                .withContactEvents(listOf(
+                        ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, Date.on(2, Months.MAY, 1990), peter),
+                        ContactEvent(Optional.absent(), StandardEventType.NAMEDAY, Date.on(9, Months.JUNE, 2017), peter)
+                ))
+                .build()
+        given(mockProvider.streamEventsBetween(period)).willReturn(Flowable.just(firstRows, allRows))
+        upcomingEventsPresenter.startPresentingInto(mockView)
+
+        upcomingEventsPresenter.refreshEvents()
+
+        Mockito.verify(mockView, Times(1)).display(firstRows)
+        Mockito.verify(mockView).display(allRows, emptyList())
+    }
+}
@@ -0,0 +1,190 @@
+package com.alexstyl.specialdates.upcoming
+
+import com.alexstyl.TestColors
+import com.alexstyl.specialdates.JavaStrings
+import com.alexstyl.specialdates.Optional
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.ContactEvent
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.*
+import com.alexstyl.specialdates.date.TimePeriod
+import com.alexstyl.specialdates.events.bankholidays.BankHoliday
+import com.alexstyl.specialdates.events.namedays.NamesInADate
+import com.alexstyl.specialdates.events.peopleevents.StandardEventType
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import java.util.Random
+
+class UpcomingRowsTest {
+
+    private val headerLabels = RecordingDateStringCreator()
+    private val colors = TestColors()
+    private val viewModelFactory = UpcomingEventRowViewModelFactory(
+            Date.on(1, JANUARY, 2017),
+            colors,
+            headerLabels,
+            ContactViewModelFactory(colors, JavaStrings())
+    )
+
+    @Test
+    fun noRowIsCreatedBeforeOneIsRead() {
+        val rows = rowsFor(entireYear(2017), randomEventsOf(2017, count = 500))
+
+        assertThat(rows.size).isGreaterThan(500)
+        assertThat(headerLabels.createdLabels).isEmpty()
+    }
+
+    @Test
+    fun readingARowCreatesOnlyTheDaysAroundIt() {
+        val rows = rowsFor(entireYear(2017), randomEventsOf(2017, count = 500))
+
+        rows[rows.size / 2]
+
+        assertThat(headerLabels.createdLabels.size).isLessThanOrEqualTo(31)
+    }
+
+    @Test
+    fun rowsAreTheSameInWhicheverOrderTheyAreRead() {
+        val events = randomEventsOf(2017, count = 500)
+        val forwards = rowsFor(entireYear(2017), events).let { rows -> (0 until rows.size).map { rows[it] } }
+
+        val backwards = rowsFor(entireYear(2017), events).let { rows -> (rows.size - 1 downTo 0).map { rows[it] } }
+        val jumping = rowsFor(entireYear(2017), events).let { rows ->
+            val order = (0 until rows.size).shuffled(Random(3))
+            val read = arrayOfNulls<UpcomingRowViewModel>(rows.size)
+            order.forEach { read[it] = rows[it] }
+            read.toList()
+        }
+
+        assertThat(backwards.reversed()).isEqualTo(forwards)
+        assertThat(jumping).isEqualTo(forwards)
+    }
+
+    @Test
+    fun eachDayWithEventsTakesAHeaderFollowedByItsEvents() {
+        val timePeriod = entireYear(2017)
+        val events = listOf(
+                birthdayOn(Date.on(3, MARCH, 1980), 1),
+                birthdayOn(Date.on(3, MARCH, 1985), 2),
+                birthdayOn(Date.on(10, JULY, 1990), 3)
+        )
+        val rows = UpcomingRowViewModelsBuilder(timePeriod, viewModelFactory)
+                .withContactEvents(events)
+                .withBankHolidays(listOf(BankHoliday("A bank holiday", Date.on(10, JULY, 2017))))
+                .withNamedays(listOf(NamesInADate(Date.on(3, MARCH, 2017), arrayListOf("Maria"))))
+                .build()
+
+        assertThat(rows.map { it.viewType }).containsExactly(
+                UpcomingRowViewType.DATE_HEADER,
+                UpcomingRowViewType.NAMEDAY_CARD,
+                UpcomingRowViewType.CONTACT_EVENT,
+                UpcomingRowViewType.CONTACT_EVENT,
+                UpcomingRowViewType.DATE_HEADER,
+                UpcomingRowViewType.BANKHOLIDAY,
+                UpcomingRowViewType.CONTACT_EVENT
+        )
+    }
+
+    @Test
+    fun daysOfTheNextYearComeAfterTheOnesOfTheFirstYear() {
+        val timePeriod = TimePeriod.between(Date.on(1, OCTOBER, 2017), Date.on(30, SEPTEMBER, 2018))
+        val rows = rowsFor(timePeriod, listOf(birthdayOn(Date.on(5, JANUARY, 1990), 1), birthdayOn(Date.on(5, NOVEMBER, 1990), 2)))
+
+        rows.forEach { _ -> }
+
+        assertThat(headerLabels.createdLabels).containsExactly(
+                Date.on(5, NOVEMBER, 2017).toString(),
+                Date.on(5, JANUARY, 2018).toString()
+        )
+    }
+
+    @Test
+    fun leapDayEventsAreSkippedInYearsWithoutOne() {
+        val rows = rowsFor(entireYear(2017), listOf(birthdayOn(Date.on(29, FEBRUARY, 1996), 1)))
+
+        assertThat(rows).isEmpty()
+    }
+
+    @Test
+    fun applyingTheChangesToTheOldRowsGivesTheNewRows() {
+        val random = Random(7)
+        val oldEvents = randomEventsOf(2017, count = 300)
+        val newEvents = oldEvents
+                .filter { random.nextInt(10) > 0 }
+                .map { if (random.nextInt(10) == 0) it.copy(type = StandardEventType.ANNIVERSARY) else it } +
+                randomEventsOf(2018, count = 30).map { it.copy(date = Date.on(it.date.dayOfMonth, it.date.month, 2017)) }
+        val oldRows = rowsFor(entireYear(2017), oldEvents) as UpcomingRows
+        val newRows = rowsFor(entireYear(2017), newEvents) as UpcomingRows
+
+        val changes = oldRows.changesInto(newRows)
+
+        assertThat(applying(changes, oldRows, newRows)).isEqualTo(newRows.toList())
+    }
+
+    @Test
+    fun aContactWithANewNameOnlyChangesItsOwnRow() {
+        val events = randomEventsOf(2017, count = 100)
+        val renamed = events[40].let { it.copy(contact = ContactFixture.with(it.contact.contactID, "Renamed")) }
+        val oldRows = rowsFor(entireYear(2017), events) as UpcomingRows
+        val newRows = rowsFor(entireYear(2017), events.map { if (it == events[40]) renamed else it }) as UpcomingRows
+
+        val changes = oldRows.changesInto(newRows)
+
+        assertThat(changes).hasSize(1)
+        assertThat(changes[0].type).isEqualTo(UpcomingRowsChange.Type.CHANGED)
+        assertThat(newRows[changes[0].position]).isEqualTo(viewModelFactory.createViewModelFor(renamed))
+    }
+
+    @Test
+    fun sameRowsHaveNoChanges() {
+        val events = randomEventsOf(2017, count = 100)
+        val oldRows = rowsFor(entireYear(2017), events) as UpcomingRows
+        val newRows = rowsFor(entireYear(2017), events) as UpcomingRows
+
+        assertThat(oldRows.changesInto(newRows)).isEmpty()
+    }
+
+    private fun applying(changes: List<UpcomingRowsChange>,
+                         oldRows: List<UpcomingRowViewModel>,
+                         newRows: List<UpcomingRowViewModel>): List<UpcomingRowViewModel> {
+        val rows = ArrayList(oldRows)
+        for ((type, position, count) in changes) {
+            when (type) {
+                UpcomingRowsChange.Type.REMOVED -> rows.subList(position, position + count).clear()
+                UpcomingRowsChange.Type.INSERTED -> rows.addAll(position, newRows.subList(position, position + count))
+                UpcomingRowsChange.Type.CHANGED -> for (i in position until position + count) {
+                    rows[i] = newRows[i]
+                }
+            }
+        }
+        return rows
+    }
+
+    private fun rowsFor(timePeriod: TimePeriod, events: List<ContactEvent>): List<UpcomingRowViewModel> =
+            UpcomingRowViewModelsBuilder(timePeriod, viewModelFactory)
+                    .withContactEvents(events)
+                    .build()
+
+    private fun randomEventsOf(year: Int, count: Int): List<ContactEvent> {
+        val random = Random(year.toLong())
+        return (0 until count).map {
+            birthdayOn(Date.on(random.nextInt(28) + 1, random.nextInt(12) + 1, year), it.toLong())
+        }
+    }
+
+    private fun birthdayOn(date: Date, contactId: Long): ContactEvent =
+            ContactEvent(Optional.absent(), StandardEventType.BIRTHDAY, date, ContactFixture.with(contactId, "Contact $contactId"))
+
+    private fun entireYear(year: Int): TimePeriod = TimePeriod.between(Date.startOfYear(year), Date.endOfYear(year))
+
+    private class RecordingDateStringCreator : UpcomingDateStringCreator {
+
+        val createdLabels = ArrayList<String>()
+
+        override fun createLabelFor(date: Date): String {
+            val label = date.toString()
+            createdLabels.add(label)
+            return label
+        }
+    }
+}
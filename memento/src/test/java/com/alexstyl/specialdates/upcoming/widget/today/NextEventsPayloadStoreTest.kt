@@ -0,0 +1,107 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+
+class NextEventsPayloadStoreTest {
+
+    private lateinit var file: File
+    private lateinit var store: NextEventsPayloadStore
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("next_events", null)
+        file.delete()
+        store = NextEventsPayloadStore(file)
+    }
+
+    @After
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun nothingIsReadBeforeAnythingIsWritten() {
+        assertThat(store.read()).isNull()
+    }
+
+    @Test
+    fun theWrittenPayloadIsReadBack() {
+        val payload = NextEventsPayload(
+                3,
+                Date.on(1, JANUARY, 2019),
+                NextEvents(Date.on(3, MARCH, 2019), listOf(ContactFixture.with(1, "Alex Styl"), ContactFixture.with(2, "Maria")))
+        )
+
+        store.write(payload)
+
+        assertThat(store.read()).isEqualTo(payload)
+    }
+
+    @Test
+    fun aPayloadWithoutEventsIsReadBack() {
+        val payload = NextEventsPayload(1, Date.on(1, JANUARY, 2019), null)
+
+        store.write(payload)
+
+        assertThat(store.read()).isEqualTo(payload)
+    }
+
+    @Test
+    fun aDateWithoutYearIsReadBack() {
+        val payload = NextEventsPayload(
+                1,
+                Date.on(1, JANUARY, 2019),
+                NextEvents(Date.on(3, MARCH), listOf(ContactFixture.with(1, "Alex Styl")))
+        )
+
+        store.write(payload)
+
+        assertThat(store.read()).isEqualTo(payload)
+    }
+
+    @Test
+    fun theLatestPayloadReplacesThePreviousOne() {
+        store.write(NextEventsPayload(1, Date.on(1, JANUARY, 2019), null))
+        val latest = NextEventsPayload(2, Date.on(2, JANUARY, 2019), null)
+
+        store.write(latest)
+
+        assertThat(store.read()).isEqualTo(latest)
+    }
+
+    @Test
+    fun aFileOfAnotherFormatIsNotRead() {
+        file.writeBytes(byteArrayOf(0, 0, 0, 42, 1, 2, 3))
+
+        assertThat(store.read()).isNull()
+    }
+
+    @Test
+    fun aTruncatedFileIsNotRead() {
+        store.write(NextEventsPayload(
+                1,
+                Date.on(1, JANUARY, 2019),
+                NextEvents(Date.on(3, MARCH, 2019), listOf(ContactFixture.with(1, "Alex Styl")))
+        ))
+        file.writeBytes(file.readBytes().copyOf(12))
+
+        assertThat(store.read()).isNull()
+    }
+
+    @Test
+    fun nothingIsReadAfterClearing() {
+        store.write(NextEventsPayload(1, Date.on(1, JANUARY, 2019), null))
+
+        store.clear()
+
+        assertThat(store.read()).isNull()
+    }
+}
@@ -0,0 +1,76 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.RecordingTracker
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
+import com.alexstyl.specialdates.events.peopleevents.InMemoryPeopleEventsProvider
+import io.reactivex.schedulers.Schedulers
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+
+class NextEventsPayloadWriterTest {
+
+    private val provider = InMemoryPeopleEventsProvider(
+            TestContactEventsBuilder().addBirthdayFor(ALEX, Date.on(3, MARCH, 1990)).build()
+    )
+    private val today = Date.on(1, JANUARY, 2019)
+    private val eventCalendar = EventCalendarRepository(provider, Schedulers.trampoline(), { today })
+    private val tracker = RecordingTracker()
+
+    private lateinit var file: File
+    private lateinit var store: NextEventsPayloadStore
+    private lateinit var writer: NextEventsPayloadWriter
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("next_events", null)
+        file.delete()
+        store = NextEventsPayloadStore(file)
+        writer = NextEventsPayloadWriter(eventCalendar, store, tracker, Schedulers.trampoline())
+    }
+
+    @After
+    fun tearDown() {
+        file.deleteRecursively()
+    }
+
+    @Test
+    fun thePayloadOfTheLatestCalendarIsStored() {
+        writer.start()
+
+        assertThat(store.read()).isEqualTo(NextEventsPayload.from(eventCalendar.latestSnapshot()!!))
+    }
+
+    @Test
+    fun aFailedWriteIsTrackedAndDoesNotStopLaterWrites() {
+        file.mkdir()
+        writer.start()
+        assertThat(tracker.tracked).hasSize(1)
+
+        file.delete()
+        provider.events = TestContactEventsBuilder().addBirthdayFor(ALEX, Date.on(4, MARCH, 1990)).build()
+        eventCalendar.invalidate()
+
+        assertThat(store.read()!!.nextEvents).isEqualTo(NextEvents(Date.on(4, MARCH, 2019), listOf(ALEX)))
+    }
+
+    @Test
+    fun discardingDeletesTheStoredPayload() {
+        store.write(NextEventsPayload(1, today, null))
+
+        writer.discard()
+
+        assertThat(store.read()).isNull()
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.with(1, "Alex Styl")
+    }
+}
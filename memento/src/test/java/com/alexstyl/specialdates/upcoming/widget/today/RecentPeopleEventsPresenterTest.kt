@@ -0,0 +1,139 @@
+package com.alexstyl.specialdates.upcoming.widget.today
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.DECEMBER
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import com.alexstyl.specialdates.events.peopleevents.EventCalendarRepository
+import com.alexstyl.specialdates.events.peopleevents.InMemoryPeopleEventsProvider
+import com.alexstyl.specialdates.permissions.MementoPermissions
+import io.reactivex.schedulers.Schedulers
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+import org.mockito.runners.MockitoJUnitRunner
+import java.io.File
+
+@RunWith(MockitoJUnitRunner::class)
+class RecentPeopleEventsPresenterTest {
+
+    @Mock
+    private lateinit var permissions: MementoPermissions
+
+    private val provider = InMemoryPeopleEventsProvider(
+            TestContactEventsBuilder().addBirthdayFor(ALEX, Date.on(3, MARCH, 1990)).build()
+    )
+    private val today = Date.on(1, JANUARY, 2019)
+    private val eventCalendar = EventCalendarRepository(provider, Schedulers.trampoline(), { today })
+
+    private lateinit var file: File
+    private lateinit var store: NextEventsPayloadStore
+    private lateinit var presenter: RecentPeopleEventsPresenter
+
+    @Before
+    fun setUp() {
+        `when`(permissions.canReadContacts()).thenReturn(true)
+        file = File.createTempFile("next_events", null)
+        file.delete()
+        store = NextEventsPayloadStore(file)
+        presenter = RecentPeopleEventsPresenter(
+                provider, permissions, eventCalendar, store, Schedulers.trampoline(), Schedulers.trampoline(), { today }
+        )
+    }
+
+    @After
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun theStoredPayloadOfTodayIsShownWithoutLookingUpAnyEvents() {
+        val stored = NextEvents(Date.on(5, MARCH, 2019), listOf(MARIA))
+        store.write(NextEventsPayload(1, today, stored))
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNextDateLoaded(stored)
+        assertThat(provider.queries).isEqualTo(0)
+    }
+
+    @Test
+    fun aPayloadOfAnotherDayIsNotShown() {
+        store.write(NextEventsPayload(1, Date.on(31, DECEMBER, 2018), NextEvents(Date.on(5, MARCH, 2019), listOf(MARIA))))
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNextDateLoaded(NextEvents(Date.on(3, MARCH, 2019), listOf(ALEX)))
+    }
+
+    @Test
+    fun aPayloadOfAnOlderCalendarIsNotShown() {
+        eventCalendar.currentSnapshot()
+        store.write(NextEventsPayload(1, today, NextEvents(Date.on(3, MARCH, 2019), listOf(ALEX))))
+        provider.events = TestContactEventsBuilder().addBirthdayFor(MARIA, Date.on(2, MARCH, 1990)).build()
+        eventCalendar.invalidate()
+        eventCalendar.currentSnapshot()
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNextDateLoaded(NextEvents(Date.on(2, MARCH, 2019), listOf(MARIA)))
+    }
+
+    @Test
+    fun aPayloadOfAnEarlierProcessIsNotShownOnceACalendarIsBuilt() {
+        store.write(NextEventsPayload(1, today, NextEvents(Date.on(5, MARCH, 2019), listOf(MARIA))))
+        eventCalendar.currentSnapshot()
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNextDateLoaded(NextEvents(Date.on(3, MARCH, 2019), listOf(ALEX)))
+    }
+
+    @Test
+    fun theEventsAreLookedUpWhenThereIsNoPayload() {
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNextDateLoaded(NextEvents(Date.on(3, MARCH, 2019), listOf(ALEX)))
+    }
+
+    @Test
+    fun noEventsAreShownWhenThePayloadHasNone() {
+        store.write(NextEventsPayload(1, today, null))
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).onNoEventsFound()
+    }
+
+    @Test
+    fun permissionIsAskedForWhenContactsCannotBeRead() {
+        `when`(permissions.canReadContacts()).thenReturn(false)
+        val view = mock(RecentPeopleEventsView::class.java)
+
+        presenter.startPresentingInto(view)
+
+        verify(view).askForContactPermission()
+        verify(view, never()).onNoEventsFound()
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.with(1, "Alex Styl")
+        private val MARIA = ContactFixture.with(2, "Maria")
+    }
+}
@@ -0,0 +1,68 @@
+package com.alexstyl.specialdates.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class LongHashMapTest {
+
+    @Test
+    public void givenAValueIsPut_thenItIsReturnedForTheSameKey() {
+        LongHashMap<String> map = new LongHashMap<>();
+
+        map.put(5L, "five");
+
+        assertThat(map.get(5L)).isEqualTo("five");
+        assertThat(map.get(6L)).isNull();
+    }
+
+    @Test
+    public void puttingAnExistingKeyReplacesTheValue() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(-1L, "old");
+
+        String previous = map.put(-1L, "new");
+
+        assertThat(previous).isEqualTo("old");
+        assertThat(map.get(-1L)).isEqualTo("new");
+        assertThat(map.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void removedKeysAreNoLongerContained() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(1L, "one");
+        map.put(2L, "two");
+
+        map.remove(1L);
+
+        assertThat(map.containsKey(1L)).isFalse();
+        assertThat(map.get(2L)).isEqualTo("two");
+        assertThat(map.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void behavesLikeAHashMapUnderRandomOperations() {
+        LongHashMap<Long> map = new LongHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, (long) i)).isEqualTo(expected.put(key, (long) i));
+            }
+        }
+
+        assertThat(map.getSize()).isEqualTo(expected.size());
+        for (long key = 0; key < 500; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.alexstyl.specialdates.wear
+
+/**
+ * Keeps the payloads that are put into it, the way the data layer keeps the latest data item of a path.
+ */
+class InMemoryWearDataApi : WearDataApi {
+
+    var accepting = true
+    var puts = 0
+        private set
+    var payload: ByteArray? = null
+        private set
+
+    override fun putEventsPayload(payload: ByteArray): Boolean {
+        puts++
+        if (!accepting) {
+            return false
+        }
+        this.payload = payload
+        return true
+    }
+}
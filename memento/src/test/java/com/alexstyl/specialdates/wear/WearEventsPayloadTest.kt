@@ -0,0 +1,149 @@
+package com.alexstyl.specialdates.wear
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.DECEMBER
+import com.alexstyl.specialdates.date.Months.FEBRUARY
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.date.Months.MARCH
+import com.alexstyl.specialdates.events.peopleevents.InMemoryPeopleEventsProvider
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+import java.io.IOException
+
+class WearEventsPayloadTest {
+
+    @Test
+    fun onlyTheDaysWithEventsAreKept() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(3, JANUARY, 1990))
+                .addNamedayFor(MARIA, Date.on(3, JANUARY))
+                .addBirthdayFor(PETER, Date.on(10, JANUARY, 1985))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(payload.days).containsExactly(
+                WearEventsDay(Date.on(3, JANUARY, 2019), listOf("Alex Styl", "Maria")),
+                WearEventsDay(Date.on(10, JANUARY, 2019), listOf("Peter")),
+                WearEventsDay(Date.on(3, JANUARY, 2020), listOf("Alex Styl", "Maria"))
+        )
+    }
+
+    @Test
+    fun onlyTheFirstDayWithEventsAfterTheLastDayIsKept() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(14, JANUARY, 1990))
+                .addBirthdayFor(PETER, Date.on(20, JANUARY, 1985))
+                .addNamedayFor(MARIA, Date.on(20, JANUARY))
+                .addBirthdayFor(ALEX, Date.on(21, JANUARY, 1990))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(payload.days).containsExactly(
+                WearEventsDay(Date.on(14, JANUARY, 2019), listOf("Alex Styl")),
+                WearEventsDay(Date.on(20, JANUARY, 2019), listOf("Peter", "Maria"))
+        )
+    }
+
+    @Test
+    fun theFirstDayWithEventsIsKeptWhenThereAreNoEventsInTheNextDays() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(PETER, Date.on(3, MARCH, 1985))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(payload.days).containsExactly(WearEventsDay(Date.on(3, MARCH, 2019), listOf("Peter")))
+    }
+
+    @Test
+    fun theFirstDayWithEventsAfterTheLastDayCanBeInTheNextYear() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(3, JANUARY, 1990))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(payload.days).containsExactly(
+                WearEventsDay(Date.on(3, JANUARY, 2019), listOf("Alex Styl")),
+                WearEventsDay(Date.on(3, JANUARY, 2020), listOf("Alex Styl"))
+        )
+    }
+
+    @Test
+    fun theFirstDayWithEventsAfterTheLastDayCanBeYearsAway() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(29, FEBRUARY, 1992))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(1, MARCH, 2020), provider)
+
+        val leapDay = WearEventsDay(Date.on(29, FEBRUARY, 2024), listOf("Alex Styl"))
+        assertThat(payload.days).containsExactly(leapDay)
+        assertThat(WearEventsPayload.decode(payload.encode()).days).containsExactly(leapDay)
+    }
+
+    @Test
+    fun noDaysAreKeptWithoutAnyEvents() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder().build())
+
+        val payload = WearEventsPayload.from(Date.on(1, JANUARY, 2019), provider)
+
+        assertThat(payload.days).isEmpty()
+    }
+
+    @Test
+    fun theDaysCarryOnIntoTheNextYear() {
+        val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(2, JANUARY, 1990))
+                .build())
+
+        val payload = WearEventsPayload.from(Date.on(25, DECEMBER, 2020), provider)
+
+        assertThat(payload.days.first()).isEqualTo(WearEventsDay(Date.on(2, JANUARY, 2021), listOf("Alex Styl")))
+    }
+
+    @Test
+    fun theEncodedPayloadIsDecodedBack() {
+        val payload = WearEventsPayload(Date.on(25, DECEMBER, 2020), listOf(
+                WearEventsDay(Date.on(25, DECEMBER, 2020), listOf("Alex Styl", "Maria")),
+                WearEventsDay(Date.on(7, JANUARY, 2021), listOf("Peter")),
+                WearEventsDay(Date.on(20, DECEMBER, 2021), listOf("Alex Styl"))
+        ))
+
+        assertThat(WearEventsPayload.decode(payload.encode())).isEqualTo(payload)
+    }
+
+    @Test
+    fun aPayloadWithoutDaysIsDecodedBack() {
+        val payload = WearEventsPayload(Date.on(3, MARCH, 2019), emptyList())
+
+        assertThat(WearEventsPayload.decode(payload.encode())).isEqualTo(payload)
+    }
+
+    @Test
+    fun theNextDayIsTheFirstOneOnOrAfterTheGivenDate() {
+        val payload = WearEventsPayload(Date.on(1, JANUARY, 2019), listOf(
+                WearEventsDay(Date.on(3, JANUARY, 2019), listOf("Alex Styl")),
+                WearEventsDay(Date.on(10, JANUARY, 2019), listOf("Peter"))
+        ))
+
+        assertThat(payload.nextDayOnOrAfter(Date.on(3, JANUARY, 2019))).isEqualTo(payload.days[0])
+        assertThat(payload.nextDayOnOrAfter(Date.on(4, JANUARY, 2019))).isEqualTo(payload.days[1])
+        assertThat(payload.nextDayOnOrAfter(Date.on(11, JANUARY, 2019))).isNull()
+    }
+
+    @Test(expected = IOException::class)
+    fun aPayloadOfAnotherFormatIsNotDecoded() {
+        WearEventsPayload.decode(byteArrayOf(42, 0, 0, 7, -29, 3, 3, 0))
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.with(1, "Alex Styl")
+        private val MARIA = ContactFixture.with(2, "Maria")
+        private val PETER = ContactFixture.with(3, "Peter")
+    }
+}
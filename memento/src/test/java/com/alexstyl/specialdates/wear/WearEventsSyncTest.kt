@@ -0,0 +1,83 @@
+package com.alexstyl.specialdates.wear
+
+import com.alexstyl.specialdates.TestContactEventsBuilder
+import com.alexstyl.specialdates.contact.ContactFixture
+import com.alexstyl.specialdates.date.Date
+import com.alexstyl.specialdates.date.Months.JANUARY
+import com.alexstyl.specialdates.events.peopleevents.InMemoryPeopleEventsProvider
+import org.fest.assertions.api.Assertions.assertThat
+import org.junit.Test
+
+class WearEventsSyncTest {
+
+    private val provider = InMemoryPeopleEventsProvider(TestContactEventsBuilder()
+            .addBirthdayFor(ALEX, Date.on(3, JANUARY, 1990))
+            .build())
+    private val dataApi = InMemoryWearDataApi()
+    private val preferences = InMemoryWearSyncPreferences()
+    private var today = Date.on(1, JANUARY, 2019)
+    private val sync = WearEventsSync(provider, dataApi, preferences, { today })
+
+    @Test
+    fun theEventsOfTheNextDaysAreSynced() {
+        assertThat(sync.sync()).isTrue()
+
+        assertThat(WearEventsPayload.decode(dataApi.payload!!).days.first())
+                .isEqualTo(WearEventsDay(Date.on(3, JANUARY, 2019), listOf("Alex Styl")))
+    }
+
+    @Test
+    fun nothingIsSyncedWhenTheEventsHaveNotChanged() {
+        sync.sync()
+
+        assertThat(sync.sync()).isFalse()
+        assertThat(dataApi.puts).isEqualTo(1)
+    }
+
+    @Test
+    fun theEventsAreSyncedAgainWhenTheyChange() {
+        sync.sync()
+        provider.events = TestContactEventsBuilder()
+                .addBirthdayFor(ALEX, Date.on(3, JANUARY, 1990))
+                .addBirthdayFor(MARIA, Date.on(5, JANUARY, 1990))
+                .build()
+
+        assertThat(sync.sync()).isTrue()
+        assertThat(dataApi.puts).isEqualTo(2)
+    }
+
+    @Test
+    fun theEventsAreSyncedAgainOnAnotherDay() {
+        sync.sync()
+        today = Date.on(2, JANUARY, 2019)
+
+        assertThat(sync.sync()).isTrue()
+        assertThat(dataApi.puts).isEqualTo(2)
+    }
+
+    @Test
+    fun aPayloadThatWasNotAcceptedIsSyncedAgain() {
+        dataApi.accepting = false
+        sync.sync()
+        dataApi.accepting = true
+
+        assertThat(sync.sync()).isTrue()
+        assertThat(dataApi.puts).isEqualTo(2)
+    }
+
+    private class InMemoryWearSyncPreferences : WearSyncPreferences {
+
+        private var hash: Long? = null
+
+        override fun lastSyncedPayloadHash(): Long? = hash
+
+        override fun setLastSyncedPayloadHash(hash: Long) {
+            this.hash = hash
+        }
+    }
+
+    companion object {
+        private val ALEX = ContactFixture.with(1, "Alex Styl")
+        private val MARIA = ContactFixture.with(2, "Maria")
+    }
+}